@@ -13,6 +13,18 @@ application {
     applicationDefaultJvmArgs += listOf("-Dvelocity.packet-decode-logging=true")
 }
 
+// Microbenchmarks live in src/jmh/java and run with `./gradlew :velocity-proxy:jmh`. Pass
+// -Pjmh.includes=<regex> to run a subset.
+val jmh: SourceSet = sourceSets.create("jmh") {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations {
+    named("jmhImplementation") { extendsFrom(implementation.get()) }
+    named("jmhRuntimeOnly") { extendsFrom(runtimeOnly.get()) }
+}
+
 tasks {
     withType<Checkstyle> {
         exclude("**/com/velocitypowered/proxy/protocol/packet/**")
@@ -99,6 +111,13 @@ tasks {
         workingDir = file("run").also(File::mkdirs)
         standardInput = System.`in`
     }
+    register<JavaExec>("jmh") {
+        group = "verification"
+        description = "Runs the JMH microbenchmarks."
+        classpath = jmh.runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+        args(project.findProperty("jmh.includes")?.toString() ?: ".*")
+    }
     named<JavaExec>("run") {
         workingDir = file("run").also(File::mkdirs)
         standardInput = System.`in` // Doesn't work?
@@ -119,6 +138,9 @@ dependencies {
     implementation(libs.netty.transport.native.epoll)
     implementation(variantOf(libs.netty.transport.native.epoll) { classifier("linux-x86_64") })
     implementation(variantOf(libs.netty.transport.native.epoll) { classifier("linux-aarch_64") })
+    implementation(libs.netty.transport.native.iouring)
+    implementation(variantOf(libs.netty.transport.native.iouring) { classifier("linux-x86_64") })
+    implementation(variantOf(libs.netty.transport.native.iouring) { classifier("linux-aarch_64") })
     implementation(libs.netty.transport.native.kqueue)
     implementation(variantOf(libs.netty.transport.native.kqueue) { classifier("osx-x86_64") })
     implementation(variantOf(libs.netty.transport.native.kqueue) { classifier("osx-aarch_64") })
@@ -140,6 +162,9 @@ dependencies {
     compileOnly(libs.spotbugs.annotations)
     compileOnly(libs.auto.service.annotations)
     testImplementation(libs.mockito)
+    "jmhImplementation"(libs.jmh.core)
+    "jmhImplementation"(libs.mockito)
+    "jmhAnnotationProcessor"(libs.jmh.generator)
 
     annotationProcessor(libs.auto.service)
 }
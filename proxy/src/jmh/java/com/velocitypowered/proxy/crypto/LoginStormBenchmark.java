@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.crypto;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Simulates a burst of logins arriving on one event loop. Each login decrypts the verify token
+ * and the shared secret, as {@code InitialLoginSessionHandler} does.
+ *
+ * <p>In {@code inline} mode the event loop does every decryption itself, as before
+ * {@link CryptoExecutor} existed, so the whole score is time the event loop could not serve
+ * other connections. In {@code pool} mode the event loop only hands the work over, and the score
+ * is the time until every login has been decrypted.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginStormBenchmark {
+
+  @Param({"inline", "pool"})
+  public String mode;
+
+  @Param({"256"})
+  public int logins;
+
+  private KeyPair keyPair;
+  private byte[][] encrypted;
+  private CryptoExecutor executor;
+
+  /**
+   * Creates the server key pair and the encrypted login payloads.
+   *
+   * @throws GeneralSecurityException if the payloads cannot be encrypted
+   */
+  @Setup
+  public void setup() throws GeneralSecurityException {
+    this.keyPair = EncryptionUtils.createRsaKeyPair(1024);
+    Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
+    cipher.init(Cipher.ENCRYPT_MODE, keyPair.getPublic());
+    this.encrypted = new byte[logins * 2][];
+    for (int i = 0; i < encrypted.length; i++) {
+      byte[] secret = new byte[16];
+      ThreadLocalRandom.current().nextBytes(secret);
+      encrypted[i] = cipher.doFinal(secret);
+    }
+    this.executor = new CryptoExecutor();
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.executor.shutdown();
+  }
+
+  /**
+   * Decrypts the payloads of every login in the burst.
+   *
+   * @return the total length of the decrypted payloads
+   * @throws Exception if a payload cannot be decrypted
+   */
+  @Benchmark
+  public int storm() throws Exception {
+    if (mode.equals("inline")) {
+      int total = 0;
+      for (byte[] payload : encrypted) {
+        total += EncryptionUtils.decryptRsa(keyPair, payload).length;
+      }
+      return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    CompletableFuture<byte[]>[] results = new CompletableFuture[encrypted.length];
+    for (int i = 0; i < encrypted.length; i++) {
+      byte[] payload = encrypted[i];
+      results[i] = executor.submit(() -> EncryptionUtils.decryptRsa(keyPair, payload));
+    }
+    int total = 0;
+    for (CompletableFuture<byte[]> result : results) {
+      total += result.join().length;
+    }
+    return total;
+  }
+}
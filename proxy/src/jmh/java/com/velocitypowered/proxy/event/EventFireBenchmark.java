@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.event;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.velocitypowered.api.event.PostOrder;
+import com.velocitypowered.api.plugin.PluginContainer;
+import com.velocitypowered.api.plugin.PluginManager;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures firing an event to {@code handlers} synchronous handlers. The {@code sync} benchmarks
+ * take the path that runs handlers on the calling thread; {@code alwaysAsync} registers the same
+ * handlers as always asynchronous, on an executor that runs tasks directly, so that firing goes
+ * through the general path with a future and continuations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventFireBenchmark {
+
+  static final class SyncEvent {
+
+  }
+
+  static final class AsyncEvent {
+
+  }
+
+  @Param({"1", "4"})
+  public int handlers;
+
+  private VelocityEventManager eventManager;
+  private final SyncEvent syncEvent = new SyncEvent();
+  private final AsyncEvent asyncEvent = new AsyncEvent();
+  private long handled;
+
+  /**
+   * Registers the handlers for a plugin whose executor runs tasks on the calling thread.
+   */
+  @Setup
+  public void setup() {
+    Object plugin = new Object();
+    PluginContainer container = mock(PluginContainer.class);
+    when(container.getExecutorService()).thenReturn(MoreExecutors.newDirectExecutorService());
+    PluginManager pluginManager = mock(PluginManager.class);
+    when(pluginManager.fromInstance(plugin)).thenReturn(Optional.of(container));
+    when(pluginManager.ensurePluginContainer(plugin)).thenReturn(container);
+
+    eventManager = new VelocityEventManager(pluginManager);
+    for (int i = 0; i < handlers; i++) {
+      eventManager.register(plugin, SyncEvent.class, (short) i, event -> handled++);
+      eventManager.register(plugin, AsyncEvent.class, PostOrder.NORMAL, event -> handled++);
+    }
+  }
+
+  @Benchmark
+  public CompletableFuture<SyncEvent> syncFire() {
+    return eventManager.fire(syncEvent);
+  }
+
+  @Benchmark
+  public long syncFireAndForget() {
+    eventManager.fireAndForget(syncEvent);
+    return handled;
+  }
+
+  @Benchmark
+  public CompletableFuture<AsyncEvent> alwaysAsyncFire() {
+    return eventManager.fire(asyncEvent);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares packet lookups through the compacted {@link StateRegistry} tables against the hash
+ * maps the registry used before, populated with the same play-state mappings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketRegistryBenchmark {
+
+  private StateRegistry.PacketRegistry.ProtocolRegistry registry;
+  private IntObjectMap<Class<? extends MinecraftPacket>> idToClass;
+  private Object2IntMap<Class<? extends MinecraftPacket>> classToId;
+  private MinecraftPacket[] packets;
+  private int[] ids;
+  private int index;
+
+  /**
+   * Collects every clientbound play packet for the latest version and builds the hash map
+   * baseline from it.
+   */
+  @Setup
+  public void setup() {
+    this.registry = StateRegistry.PLAY.getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND,
+        ProtocolVersion.MAXIMUM_VERSION);
+    this.idToClass = new IntObjectHashMap<>(16, 0.5f);
+    this.classToId = new Object2IntOpenHashMap<>(16, 0.5f);
+    this.classToId.defaultReturnValue(Integer.MIN_VALUE);
+
+    List<MinecraftPacket> found = new ArrayList<>();
+    for (int id = 0; id < 256; id++) {
+      MinecraftPacket packet = this.registry.createPacket(id);
+      if (packet != null) {
+        found.add(packet);
+        this.idToClass.put(id, packet.getClass());
+        this.classToId.put(packet.getClass(), id);
+      }
+    }
+    this.packets = found.toArray(new MinecraftPacket[0]);
+    this.ids = new int[this.packets.length];
+    for (int i = 0; i < this.packets.length; i++) {
+      this.ids[i] = this.registry.getPacketId(this.packets[i]);
+    }
+  }
+
+  private int next() {
+    int i = this.index + 1;
+    if (i == this.packets.length) {
+      i = 0;
+    }
+    this.index = i;
+    return i;
+  }
+
+  @Benchmark
+  public int packetIdCompacted() {
+    return this.registry.getPacketId(this.packets[next()]);
+  }
+
+  @Benchmark
+  public int packetIdHashMap() {
+    return this.classToId.getInt(this.packets[next()].getClass());
+  }
+
+  @Benchmark
+  public boolean containsPacketIdCompacted() {
+    return this.registry.containsPacketId(this.ids[next()]);
+  }
+
+  @Benchmark
+  public boolean containsPacketIdHashMap() {
+    return this.idToClass.containsKey(this.ids[next()]);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures framing a stream of reads with {@link MinecraftVarintFrameDecoder} against
+ * {@link LegacyVarintFrameDecoder}, the {@code ByteToMessageDecoder} it replaced.
+ *
+ * <p>The {@code small} workload delivers 64 frames of 48 bytes in every read, as a busy play
+ * connection does. The {@code large} workload delivers a single 1 MiB frame in 8 KiB reads, as a
+ * chunk or registry packet arrives.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameDecoderBenchmark {
+
+  private static final int READ_SIZE = 8192;
+
+  @Param({"current", "legacy"})
+  public String decoder;
+
+  @Param({"small", "large"})
+  public String workload;
+
+  private EmbeddedChannel channel;
+  private ByteBuf wire;
+
+  /**
+   * Builds the channel and the bytes it will be fed.
+   */
+  @Setup
+  public void setup() {
+    ChannelHandler handler = decoder.equals("legacy")
+        ? new LegacyVarintFrameDecoder()
+        : new MinecraftVarintFrameDecoder(ProtocolUtils.Direction.CLIENTBOUND);
+    this.channel = new EmbeddedChannel(handler);
+
+    this.wire = PooledByteBufAllocator.DEFAULT.directBuffer();
+    if (workload.equals("small")) {
+      for (int i = 0; i < 64; i++) {
+        writeFrame(this.wire, 48);
+      }
+    } else {
+      writeFrame(this.wire, 1 << 20);
+    }
+  }
+
+  private static void writeFrame(final ByteBuf buf, final int length) {
+    ProtocolUtils.writeVarInt(buf, length);
+    for (int i = 0; i < length; i++) {
+      buf.writeByte(i % 251 + 1);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.channel.finishAndReleaseAll();
+    this.wire.release();
+  }
+
+  /**
+   * Feeds the whole workload to the decoder and releases every frame it produces.
+   *
+   * @return the number of frames decoded
+   */
+  @Benchmark
+  public int decode() {
+    for (int offset = 0; offset < wire.writerIndex(); offset += READ_SIZE) {
+      int length = Math.min(READ_SIZE, wire.writerIndex() - offset);
+      channel.writeInbound(wire.retainedSlice(offset, length));
+    }
+
+    int frames = 0;
+    ByteBuf frame;
+    while ((frame = channel.readInbound()) != null) {
+      frame.release();
+      frames++;
+    }
+    return frames;
+  }
+}
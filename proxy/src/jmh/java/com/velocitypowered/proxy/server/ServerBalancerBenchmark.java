@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures picking a fallback server among {@code servers} backends holding {@code players}
+ * players between them. {@code copyingLeastConnections} is the selection as it was before
+ * {@link ServerBalancers}, which compared the sizes of copied player lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerBalancerBenchmark {
+
+  @Param({"50"})
+  public int servers;
+
+  @Param({"10000"})
+  public int players;
+
+  private List<RegisteredServer> candidates;
+
+  /**
+   * Registers the servers and spreads the players over them at random.
+   */
+  @Setup
+  public void setup() {
+    this.candidates = new ArrayList<>();
+    for (int i = 0; i < servers; i++) {
+      candidates.add(new VelocityRegisteredServer(null, new ServerInfo("server-" + i,
+          InetSocketAddress.createUnresolved("localhost", 25566 + i))));
+    }
+
+    // A server only needs a distinct unique ID per player, so one mock stands in for all of them.
+    AtomicLong ids = new AtomicLong();
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    when(player.getUniqueId()).thenAnswer(invocation -> new UUID(0, ids.incrementAndGet()));
+    Random random = new Random(42);
+    for (int i = 0; i < players; i++) {
+      ((VelocityRegisteredServer) candidates.get(random.nextInt(servers))).addPlayer(player);
+    }
+  }
+
+  @Benchmark
+  public RegisteredServer leastConnections() {
+    return ServerBalancers.LEAST_CONNECTIONS.select(candidates);
+  }
+
+  @Benchmark
+  public RegisteredServer powerOfTwoChoices() {
+    return ServerBalancers.POWER_OF_TWO_CHOICES.select(candidates);
+  }
+
+  @Benchmark
+  public RegisteredServer weighted() {
+    return ServerBalancers.WEIGHTED.select(candidates);
+  }
+
+  /**
+   * Selects the least populated server the way fallback selection used to.
+   *
+   * @return the selected server
+   */
+  @Benchmark
+  public RegisteredServer copyingLeastConnections() {
+    RegisteredServer selected = null;
+    for (RegisteredServer candidate : candidates) {
+      if (selected == null || candidate.getPlayersConnected().size()
+          < selected.getPlayersConnected().size()) {
+        selected = candidate;
+      }
+    }
+    return selected;
+  }
+}
@@ -38,6 +38,7 @@ import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.api.util.Favicon;
 import com.velocitypowered.api.util.GameProfile;
 import com.velocitypowered.api.util.ProxyVersion;
+import com.velocitypowered.proxy.adventure.BroadcastingAudience;
 import com.velocitypowered.proxy.command.VelocityCommandManager;
 import com.velocitypowered.proxy.command.builtin.AlertCommand;
 import com.velocitypowered.proxy.command.builtin.AlertRawCommand;
@@ -53,12 +54,15 @@ import com.velocitypowered.proxy.command.builtin.ShutdownCommand;
 import com.velocitypowered.proxy.command.builtin.VelocityCommand;
 import com.velocitypowered.proxy.config.VelocityConfiguration;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.connection.client.SessionServerClient;
 import com.velocitypowered.proxy.connection.player.resourcepack.VelocityResourcePackInfo;
 import com.velocitypowered.proxy.connection.util.ServerListPingHandler;
 import com.velocitypowered.proxy.console.VelocityConsole;
+import com.velocitypowered.proxy.crypto.CryptoExecutor;
 import com.velocitypowered.proxy.crypto.EncryptionUtils;
 import com.velocitypowered.proxy.event.VelocityEventManager;
 import com.velocitypowered.proxy.network.ConnectionManager;
+import com.velocitypowered.proxy.network.TransportType;
 import com.velocitypowered.proxy.plugin.VelocityPluginManager;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginContainer;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginDescription;
@@ -67,13 +71,16 @@ import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.util.FaviconSerializer;
 import com.velocitypowered.proxy.protocol.util.GameProfileSerializer;
 import com.velocitypowered.proxy.scheduler.VelocityScheduler;
+import com.velocitypowered.proxy.server.BackendConnectionPool;
+import com.velocitypowered.proxy.server.BackendStatusPoller;
+import com.velocitypowered.proxy.server.ServerBalancer;
+import com.velocitypowered.proxy.server.ServerBalancers;
 import com.velocitypowered.proxy.server.ServerMap;
 import com.velocitypowered.proxy.util.AddressUtil;
 import com.velocitypowered.proxy.util.ClosestLocaleMatcher;
 import com.velocitypowered.proxy.util.ResourceUtils;
 import com.velocitypowered.proxy.util.VelocityChannelRegistrar;
-import com.velocitypowered.proxy.util.ratelimit.Ratelimiter;
-import com.velocitypowered.proxy.util.ratelimit.Ratelimiters;
+import com.velocitypowered.proxy.util.ratelimit.LoginAdmissionController;
 import com.velocitypowered.proxy.util.translation.VelocityTranslationRegistry;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.netty.bootstrap.Bootstrap;
@@ -84,6 +91,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.net.http.HttpClient;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -112,7 +120,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import net.kyori.adventure.audience.Audience;
-import net.kyori.adventure.audience.ForwardingAudience;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.translation.GlobalTranslator;
@@ -129,7 +136,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 /**
  * Implementation of {@link ProxyServer}.
  */
-public class VelocityServer implements ProxyServer, ForwardingAudience {
+public class VelocityServer implements ProxyServer, BroadcastingAudience {
 
   public static final String VELOCITY_URL = "https://github.com/GemstoneGG/Velocity-CTD";
 
@@ -176,11 +183,16 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
   private final Map<UUID, ConnectedPlayer> connectionsByUuid = new ConcurrentHashMap<>();
   private final Map<String, ConnectedPlayer> connectionsByName = new ConcurrentHashMap<>();
   private final VelocityConsole console;
-  private @MonotonicNonNull Ratelimiter ipAttemptLimiter;
+  private @MonotonicNonNull LoginAdmissionController loginAdmission;
   private final VelocityEventManager eventManager;
   private final VelocityScheduler scheduler;
   private final VelocityChannelRegistrar channelRegistrar = new VelocityChannelRegistrar();
   private final ServerListPingHandler serverListPingHandler;
+  private final BackendStatusPoller backendStatusPoller;
+  private final BackendConnectionPool backendConnectionPool;
+  private volatile @Nullable ServerBalancer serverBalancer;
+  private final SessionServerClient sessionServerClient;
+  private final CryptoExecutor cryptoExecutor;
   private final long startTime;
   private final Key translationRegistryKey = Key.key("velocity", "translations");
 
@@ -194,6 +206,11 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     servers = new ServerMap(this);
     startTime = System.currentTimeMillis();
     serverListPingHandler = new ServerListPingHandler(this);
+    backendStatusPoller = new BackendStatusPoller(this);
+    backendConnectionPool = new BackendConnectionPool(this);
+    sessionServerClient = new SessionServerClient(cm.createHttpClient(),
+        getVersion().getName() + "/" + getVersion().getVersion());
+    cryptoExecutor = new CryptoExecutor();
     this.options = options;
   }
 
@@ -257,10 +274,11 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
 
     serverKeyPair = EncryptionUtils.createRsaKeyPair(1024);
 
-    cm.logChannelInformation();
-
     this.doStartupConfigLoad();
 
+    cm.initialize(hasDomainSocketServers());
+    cm.logChannelInformation();
+
     // Initialize commands first
     final BrigadierCommand velocityParentCommand = VelocityCommand.create(this);
     commandManager.register(
@@ -298,7 +316,7 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       }
     }
 
-    ipAttemptLimiter = Ratelimiters.createWithMilliseconds(configuration.getLoginRatelimit());
+    loginAdmission = new LoginAdmissionController(configuration.getLoginRatelimit());
     loadPlugins();
 
     // Go ahead and fire the proxy initialization event. We block since plugins should have a chance
@@ -326,6 +344,9 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       this.cm.queryBind(configuration.getBind().getHostString(), configuration.getQueryPort());
     }
 
+    backendStatusPoller.start();
+    backendConnectionPool.start();
+
     final String defaultPackage = new String(
         new byte[] { 'o', 'r', 'g', '.', 'b', 's', 't', 'a', 't', 's' });
     if (!MetricsBase.class.getPackage().getName().startsWith(defaultPackage)) {
@@ -449,6 +470,23 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     }
   }
 
+  private boolean hasDomainSocketServers() {
+    for (ServerInfo cliServer : options.getServers()) {
+      if (AddressUtil.isDomainSocket(cliServer.getAddress())) {
+        return true;
+      }
+    }
+    if (options.isIgnoreConfigServers()) {
+      return false;
+    }
+    for (String address : configuration.getServers().values()) {
+      if (AddressUtil.isDomainSocket(AddressUtil.parseAddress(address))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private void loadPlugins() {
     logger.info("Loading plugins...");
 
@@ -486,10 +524,23 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     logger.info("Loaded {} plugins", pluginManager.getPlugins().size());
   }
 
+  public TransportType getTransportType() {
+    return this.cm.getTransportType();
+  }
+
+  public EventLoopGroup getWorkerGroup() {
+    return this.cm.getWorkerGroup();
+  }
+
   public Bootstrap createBootstrap(@Nullable final EventLoopGroup group) {
     return this.cm.createWorker(group);
   }
 
+  public Bootstrap createBootstrap(@Nullable final EventLoopGroup group,
+      final SocketAddress target) {
+    return this.cm.createWorker(group, target);
+  }
+
   public ChannelInitializer<Channel> getBackendChannelInitializer() {
     return this.cm.backendChannelInitializer.get();
   }
@@ -498,6 +549,42 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return serverListPingHandler;
   }
 
+  public BackendStatusPoller getBackendStatusPoller() {
+    return backendStatusPoller;
+  }
+
+  public BackendConnectionPool getBackendConnectionPool() {
+    return backendConnectionPool;
+  }
+
+  /**
+   * Returns the balancer used to pick fallback servers when dynamic fallbacks are enabled.
+   *
+   * @return the server balancer
+   */
+  public ServerBalancer getServerBalancer() {
+    ServerBalancer balancer = this.serverBalancer;
+    return balancer != null ? balancer : ServerBalancers.forConfiguration(configuration);
+  }
+
+  /**
+   * Replaces the balancer used to pick fallback servers. This is for use within the proxy, such
+   * as in tests; it is not exposed to plugins.
+   *
+   * @param serverBalancer the balancer to use, or {@code null} to go back to the configured one
+   */
+  public void setServerBalancer(final @Nullable ServerBalancer serverBalancer) {
+    this.serverBalancer = serverBalancer;
+  }
+
+  public SessionServerClient getSessionServerClient() {
+    return sessionServerClient;
+  }
+
+  public CryptoExecutor getCryptoExecutor() {
+    return cryptoExecutor;
+  }
+
   public boolean isShutdown() {
     return shutdown;
   }
@@ -516,6 +603,17 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       return false;
     }
 
+    if (!getTransportType().supportsDomainSockets()) {
+      for (Map.Entry<String, String> entry : newConfiguration.getServers().entrySet()) {
+        if (AddressUtil.isDomainSocket(AddressUtil.parseAddress(entry.getValue()))) {
+          logger.error("Server {} is a Unix domain socket, which the {} transport cannot connect "
+              + "to. Restart the proxy with -Dvelocity.transport=epoll to use it.",
+              entry.getKey(), getTransportType());
+          return false;
+        }
+      }
+    }
+
     unregisterCommands();
 
     this.configuration = newConfiguration;
@@ -596,8 +694,11 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     }
 
     commandManager.setAnnounceProxyCommands(newConfiguration.isAnnounceProxyCommands());
-    ipAttemptLimiter = Ratelimiters.createWithMilliseconds(newConfiguration.getLoginRatelimit());
+    loginAdmission.setRatelimit(newConfiguration.getLoginRatelimit());
     this.configuration = newConfiguration;
+    serverListPingHandler.invalidateCache();
+    backendStatusPoller.reset();
+    backendConnectionPool.reset();
     eventManager.fireAndForget(new ProxyReloadEvent());
     return true;
   }
@@ -730,6 +831,8 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       // Shutdown the connection manager, this should be
       // done first to refuse new connections
       cm.shutdown();
+      backendStatusPoller.shutdown();
+      backendConnectionPool.shutdown();
 
       ImmutableList<ConnectedPlayer> players = ImmutableList.copyOf(connectionsByUuid.values());
       for (ConnectedPlayer player : players) {
@@ -759,6 +862,9 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
 
         timedOut = !scheduler.shutdown() || timedOut;
 
+        sessionServerClient.close();
+        cryptoExecutor.shutdown();
+
         if (timedOut) {
           logger.error("Your plugins took over 10 seconds to shut down.");
         }
@@ -813,8 +919,8 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return cm.createHttpClient();
   }
 
-  public Ratelimiter getIpAttemptLimiter() {
-    return ipAttemptLimiter;
+  public LoginAdmissionController getLoginAdmission() {
+    return loginAdmission;
   }
 
   /**
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.adventure;
+
+import java.util.List;
+import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A {@link ForwardingAudience} that encodes chat messages, action bars and titles once for every
+ * group of players sharing a protocol version and locale, instead of once per player.
+ *
+ * @see PacketBroadcaster
+ */
+@SuppressWarnings("deprecation")
+public interface BroadcastingAudience extends ForwardingAudience {
+
+  @Override
+  default void sendMessage(final @NonNull Component message) {
+    PacketBroadcaster.broadcast(audiences(),
+        player -> List.of(player.createMessagePacket(Identity.nil(), message, MessageType.SYSTEM)),
+        audience -> audience.sendMessage(message));
+  }
+
+  @Override
+  default void sendMessage(final @NonNull Identity source, final @NonNull Component message) {
+    PacketBroadcaster.broadcast(audiences(),
+        player -> List.of(player.createMessagePacket(source, message)),
+        audience -> audience.sendMessage(source, message));
+  }
+
+  @Override
+  default void sendMessage(final @NonNull Identity source, final @NonNull Component message,
+                           final @NonNull MessageType type) {
+    PacketBroadcaster.broadcast(audiences(),
+        player -> List.of(player.createMessagePacket(source, message, type)),
+        audience -> audience.sendMessage(source, message, type));
+  }
+
+  @Override
+  default void sendActionBar(final @NonNull Component message) {
+    PacketBroadcaster.broadcast(audiences(),
+        player -> List.of(player.createActionBarPacket(message)),
+        audience -> audience.sendActionBar(message));
+  }
+
+  @Override
+  default void showTitle(final @NonNull Title title) {
+    PacketBroadcaster.broadcast(audiences(),
+        player -> player.createTitlePackets(title),
+        audience -> audience.showTitle(title));
+  }
+}
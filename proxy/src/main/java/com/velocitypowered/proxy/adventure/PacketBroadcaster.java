@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.adventure;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.EventLoop;
+import io.netty.util.ReferenceCountUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import net.kyori.adventure.audience.Audience;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Sends the same content to many audiences at once. Players that share a protocol version and a
+ * translation locale receive byte-identical packets, so the packets are built and encoded once
+ * per group and every player in it is handed a retained duplicate of the shared buffer.
+ *
+ * <p>Whether a player can still take the shared buffers is decided again on the player's event
+ * loop, as the connection may have begun switching to the configuration state in the meantime.
+ * Such players are sent their own packets instead.</p>
+ */
+public final class PacketBroadcaster {
+
+  private static final Logger logger = LogManager.getLogger(PacketBroadcaster.class);
+
+  private static final LongAdder ENCODES_SAVED = new LongAdder();
+
+  private PacketBroadcaster() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Broadcasts packets to the given audiences. Audiences that are not players in the play state,
+   * and players that are alone in their group, are handed to {@code individually} instead.
+   *
+   * @param audiences the audiences to send to
+   * @param packets creates the packets to send to a given player, in order
+   * @param individually sends the content to a single audience the regular way
+   */
+  public static void broadcast(final Iterable<? extends Audience> audiences,
+      final Function<ConnectedPlayer, List<MinecraftPacket>> packets,
+      final Consumer<Audience> individually) {
+    Map<GroupKey, List<ConnectedPlayer>> groups = new HashMap<>();
+    for (Audience audience : audiences) {
+      if (audience instanceof ConnectedPlayer player && canBroadcastTo(player)) {
+        groups.computeIfAbsent(
+            new GroupKey(player.getProtocolVersion(), player.getTranslationLocale()),
+            key -> new ArrayList<>()).add(player);
+      } else {
+        individually.accept(audience);
+      }
+    }
+
+    for (List<ConnectedPlayer> group : groups.values()) {
+      if (group.size() == 1 || !sendToGroup(group, packets)) {
+        group.forEach(individually);
+      }
+    }
+  }
+
+  // Only a hint, the connection state is read from outside its event loop.
+  private static boolean canBroadcastTo(final ConnectedPlayer player) {
+    MinecraftConnection connection = player.getConnection();
+    return connection.getState() == StateRegistry.PLAY && !connection.isClosed();
+  }
+
+  private static boolean sendToGroup(final List<ConnectedPlayer> group,
+      final Function<ConnectedPlayer, List<MinecraftPacket>> packets) {
+    ConnectedPlayer first = group.get(0);
+    ProtocolVersion version = first.getProtocolVersion();
+    List<MinecraftPacket> built = packets.apply(first);
+    if (built.isEmpty()) {
+      return true;
+    }
+
+    StateRegistry.PacketRegistry.ProtocolRegistry registry = StateRegistry.PLAY
+        .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, version);
+    ByteBuf[] encoded = new ByteBuf[built.size()];
+    try {
+      for (int i = 0; i < encoded.length; i++) {
+        MinecraftPacket packet = built.get(i);
+        ByteBuf buf = first.getConnection().getChannel().alloc().buffer();
+        encoded[i] = buf;
+        ProtocolUtils.writeVarInt(buf, registry.getPacketId(packet));
+        packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, version);
+      }
+    } catch (RuntimeException e) {
+      logger.debug("Unable to encode broadcast for {}, sending individually", version, e);
+      release(encoded);
+      return false;
+    } finally {
+      for (MinecraftPacket packet : built) {
+        ReferenceCountUtil.release(packet);
+      }
+    }
+
+    try {
+      for (ConnectedPlayer player : group) {
+        ByteBuf[] shared = new ByteBuf[encoded.length];
+        for (int i = 0; i < shared.length; i++) {
+          shared[i] = encoded[i].retainedDuplicate();
+        }
+        EventLoop eventLoop = player.getConnection().eventLoop();
+        if (eventLoop.inEventLoop()) {
+          write(player, shared, packets);
+        } else {
+          eventLoop.execute(() -> write(player, shared, packets));
+        }
+      }
+    } finally {
+      release(encoded);
+    }
+    ENCODES_SAVED.add((long) (group.size() - 1) * encoded.length);
+    return true;
+  }
+
+  private static void write(final ConnectedPlayer player, final ByteBuf[] shared,
+      final Function<ConnectedPlayer, List<MinecraftPacket>> packets) {
+    MinecraftConnection connection = player.getConnection();
+    if (connection.acceptsEncodedPlayPackets()) {
+      for (ByteBuf buf : shared) {
+        connection.delayedWrite(buf);
+      }
+    } else {
+      release(shared);
+      for (MinecraftPacket packet : packets.apply(player)) {
+        connection.delayedWrite(packet);
+      }
+    }
+    connection.flush();
+  }
+
+  private static void release(final ByteBuf[] buffers) {
+    for (ByteBuf buf : buffers) {
+      if (buf != null) {
+        buf.release();
+      }
+    }
+  }
+
+  /**
+   * Returns how many packet encodes were avoided by sharing an encoded packet between players.
+   *
+   * @return the number of avoided encodes
+   */
+  public static long encodesSaved() {
+    return ENCODES_SAVED.sum();
+  }
+
+  private record GroupKey(ProtocolVersion version, Locale locale) {
+  }
+}
@@ -22,8 +22,10 @@ import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.bossbar.BossBarImplementation;
 import net.kyori.adventure.text.Component;
@@ -98,15 +100,11 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final @NotNull Component oldName,
       final @NotNull Component newName
   ) {
-    for (final ConnectedPlayer viewer : this.viewers) {
-      final Component translated = viewer.translateMessage(newName);
-      final BossBarPacket packet = BossBarPacket.createUpdateNamePacket(
-          this.id,
-          this.bar,
-          new ComponentHolder(viewer.getProtocolVersion(), translated)
-      );
-      viewer.getConnection().write(packet);
-    }
+    broadcast(viewer -> BossBarPacket.createUpdateNamePacket(
+        this.id,
+        this.bar,
+        new ComponentHolder(viewer.getProtocolVersion(), viewer.translateMessage(newName))
+    ));
   }
 
   @Override
@@ -115,10 +113,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final float oldProgress,
       final float newProgress
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateProgressPacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
-    }
+    broadcast(viewer -> BossBarPacket.createUpdateProgressPacket(this.id, this.bar));
   }
 
   @Override
@@ -127,10 +122,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final BossBar.@NotNull Color oldColor,
       final BossBar.@NotNull Color newColor
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateStylePacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
-    }
+    broadcast(viewer -> BossBarPacket.createUpdateStylePacket(this.id, this.bar));
   }
 
   @Override
@@ -139,10 +131,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final BossBar.@NotNull Overlay oldOverlay,
       final BossBar.@NotNull Overlay newOverlay
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateStylePacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
-    }
+    broadcast(viewer -> BossBarPacket.createUpdateStylePacket(this.id, this.bar));
   }
 
   @Override
@@ -151,9 +140,21 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final @NotNull Set<BossBar.Flag> flagsAdded,
       final @NotNull Set<BossBar.Flag> flagsRemoved
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdatePropertiesPacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
-    }
+    broadcast(viewer -> BossBarPacket.createUpdatePropertiesPacket(this.id, this.bar));
+  }
+
+  /**
+   * Sends an update to every viewer. Viewers sharing a protocol version and locale are sent the
+   * same encoded packet by {@link PacketBroadcaster}.
+   *
+   * @param packet creates the update packet for a viewer
+   */
+  private void broadcast(final Function<ConnectedPlayer, BossBarPacket> packet) {
+    PacketBroadcaster.broadcast(this.viewers,
+        viewer -> List.of(packet.apply(viewer)),
+        audience -> {
+          final ConnectedPlayer viewer = (ConnectedPlayer) audience;
+          viewer.getConnection().write(packet.apply(viewer));
+        });
   }
 }
@@ -32,6 +32,7 @@ import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.proxy.plugin.virtual.VelocityVirtualPlugin;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
 import java.util.List;
 import java.util.Optional;
 import net.kyori.adventure.text.Component;
@@ -135,10 +136,10 @@ public class GlistCommand {
 
   private void sendServerPlayers(final CommandSource target,
                                  final RegisteredServer server, final boolean fromAll) {
-    final List<Player> onServer = ImmutableList.copyOf(server.getPlayersConnected());
-    if (onServer.isEmpty() && fromAll) {
+    if (fromAll && VelocityRegisteredServer.getPlayerCount(server) == 0) {
       return;
     }
+    final List<Player> onServer = ImmutableList.copyOf(server.getPlayersConnected());
 
     onServer.stream()
         .map(Player::getUsername)
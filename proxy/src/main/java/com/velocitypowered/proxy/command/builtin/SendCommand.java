@@ -31,6 +31,7 @@ import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.ServerConnection;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.proxy.plugin.virtual.VelocityVirtualPlugin;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
@@ -226,7 +227,7 @@ public class SendCommand {
 
   private void sendPlayersFromServer(final CommandContext<CommandSource> context, final RegisteredServer server,
       final RegisteredServer targetServer) {
-    final int playerSize = server.getPlayersConnected().size();
+    final int playerSize = VelocityRegisteredServer.getPlayerCount(server);
     final String name = server.getServerInfo().getName();
 
     if (playerSize == 0) {
@@ -30,6 +30,7 @@ import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.ServerConnection;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
 import java.util.List;
 import java.util.Optional;
 import net.kyori.adventure.text.Component;
@@ -166,7 +167,7 @@ public final class ServerCommand {
     final TextComponent.Builder serverTextComponent = Component.text()
             .content(serverInfo.getName());
 
-    final int connectedPlayers = server.getPlayersConnected().size();
+    final int connectedPlayers = VelocityRegisteredServer.getPlayerCount(server);
     final TranslatableComponent.Builder playersTextComponent = Component.translatable();
     if (connectedPlayers == 1) {
       playersTextComponent.key("velocity.command.server-tooltip-player-online");
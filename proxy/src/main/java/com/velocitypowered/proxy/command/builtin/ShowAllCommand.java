@@ -29,6 +29,7 @@ import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.proxy.plugin.virtual.VelocityVirtualPlugin;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import net.kyori.adventure.text.Component;
@@ -100,7 +101,7 @@ public class ShowAllCommand {
     }
 
     final RegisteredServer server = maybeServer.orElse(null);
-    final int connectedPlayers = server.getPlayersConnected().size();
+    final int connectedPlayers = VelocityRegisteredServer.getPlayerCount(server);
 
     final Component header = Component.translatable(connectedPlayers == 0 ? "velocity.command.showall.header-none"
                 : (connectedPlayers == 1 ? "velocity.command.showall.header-singular"
@@ -34,7 +34,12 @@ import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.util.ProxyVersion;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.event.VelocityEventManager;
+import com.velocitypowered.proxy.server.BackendHealth;
+import com.velocitypowered.proxy.server.BackendStatusPoller;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
 import com.velocitypowered.proxy.util.InformationUtils;
+import com.velocitypowered.proxy.util.LatencyHistogram;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.lang.invoke.MethodHandle;
@@ -48,8 +53,10 @@ import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -73,7 +80,8 @@ public final class VelocityCommand {
   private static final String USAGE = "/velocity <%s>";
 
   /**
-   * Creates a BrigadierCommand for various administrative tasks such as dump, heap, info, plugins, reload, and uptime.
+   * Creates a BrigadierCommand for various administrative tasks such as dump, events, health, heap,
+   * info, plugins, reload, and uptime.
    *
    * @param server the VelocityServer instance used for executing the commands.
    * @return the root BrigadierCommand containing all subcommands.
@@ -83,6 +91,20 @@ public final class VelocityCommand {
         .requires(source -> source.getPermissionValue("velocity.command.dump") == Tristate.TRUE)
         .executes(new Dump(server))
         .build();
+    final LiteralCommandNode<CommandSource> events = BrigadierCommand
+        .literalArgumentBuilder("events")
+        .requires(source -> source.getPermissionValue("velocity.command.events") == Tristate.TRUE)
+        .executes(new Events(server.getEventManager()))
+        .then(BrigadierCommand.literalArgumentBuilder("on")
+            .executes(new EventSampling(server.getEventManager(), true)))
+        .then(BrigadierCommand.literalArgumentBuilder("off")
+            .executes(new EventSampling(server.getEventManager(), false)))
+        .build();
+    final LiteralCommandNode<CommandSource> health = BrigadierCommand
+        .literalArgumentBuilder("health")
+        .requires(source -> source.getPermissionValue("velocity.command.health") == Tristate.TRUE)
+        .executes(new Health(server))
+        .build();
     final LiteralCommandNode<CommandSource> heap = BrigadierCommand.literalArgumentBuilder("heap")
         .requires(source -> source.getPermissionValue("velocity.command.heap") == Tristate.TRUE)
         .executes(new Heap())
@@ -108,7 +130,7 @@ public final class VelocityCommand {
         .build();
 
     final List<LiteralCommandNode<CommandSource>> commands = List
-            .of(dump, heap, info, plugins, reload, uptime);
+            .of(dump, events, health, heap, info, plugins, reload, uptime);
     return new BrigadierCommand(
       commands.stream()
         .reduce(
@@ -228,6 +250,88 @@ public final class VelocityCommand {
     }
   }
 
+  private record Events(VelocityEventManager eventManager) implements Command<CommandSource> {
+
+    private static final int SHOWN = 10;
+
+    @Override
+    public int run(final CommandContext<CommandSource> context) {
+      final CommandSource source = context.getSource();
+      final List<VelocityEventManager.HandlerLatency> slowest = eventManager.getHandlerLatencies()
+          .stream()
+          .filter(latency -> latency.latency().count() > 0)
+          .sorted(Comparator.comparingLong((VelocityEventManager.HandlerLatency latency) ->
+              latency.latency().percentileNanos(0.99)).reversed())
+          .limit(SHOWN)
+          .toList();
+      source.sendMessage(Component.text("Slowest event handlers by p99 (sampling "
+          + (eventManager.isLatencySampling() ? "on" : "off") + "):", NamedTextColor.YELLOW));
+      for (VelocityEventManager.HandlerLatency latency : slowest) {
+        final LatencyHistogram histogram = latency.latency();
+        final String details = " " + histogram.count() + " calls, p50 "
+            + toMillis(histogram.percentileNanos(0.5)) + "ms, p99 "
+            + toMillis(histogram.percentileNanos(0.99)) + "ms, max "
+            + toMillis(histogram.maxNanos()) + "ms";
+        source.sendMessage(Component.text()
+            .append(Component.text(latency.eventType().getSimpleName() + " ",
+                NamedTextColor.WHITE))
+            .append(Component.text(latency.plugin().getDescription().getId(),
+                NamedTextColor.GREEN))
+            .append(Component.text(" (" + latency.handler() + ")", NamedTextColor.GRAY))
+            .append(Component.text(details, NamedTextColor.GRAY))
+            .build());
+      }
+      return Command.SINGLE_SUCCESS;
+    }
+
+    private static String toMillis(final long nanos) {
+      return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+  }
+
+  private record EventSampling(VelocityEventManager eventManager, boolean enabled)
+      implements Command<CommandSource> {
+
+    @Override
+    public int run(final CommandContext<CommandSource> context) {
+      eventManager.setLatencySampling(enabled);
+      context.getSource().sendMessage(Component.text("Event handler latency sampling is now "
+          + (enabled ? "on" : "off") + ".", NamedTextColor.GREEN));
+      return Command.SINGLE_SUCCESS;
+    }
+  }
+
+  private record Health(ProxyServer server) implements Command<CommandSource> {
+
+    @Override
+    public int run(final CommandContext<CommandSource> context) {
+      final CommandSource source = context.getSource();
+      for (RegisteredServer registered : server.getAllServers()) {
+        if (!(registered instanceof VelocityRegisteredServer velocityServer)) {
+          continue;
+        }
+        final BackendHealth health = velocityServer.getHealth();
+        final NamedTextColor color = switch (health.getStatus()) {
+          case CLOSED -> NamedTextColor.GREEN;
+          case HALF_OPEN -> NamedTextColor.YELLOW;
+          case OPEN -> NamedTextColor.RED;
+        };
+        final LatencyHistogram latency = health.getConnectLatency();
+        final String details = " for " + TimeUnit.MILLISECONDS.toSeconds(health.getMillisInStatus())
+            + "s, " + health.getConsecutiveFailures() + " consecutive failures, connect p50 "
+            + TimeUnit.NANOSECONDS.toMillis(latency.percentileNanos(0.5)) + "ms, p99 "
+            + TimeUnit.NANOSECONDS.toMillis(latency.percentileNanos(0.99)) + "ms";
+        source.sendMessage(Component.text()
+            .append(Component.text(registered.getServerInfo().getName() + ": ",
+                NamedTextColor.WHITE))
+            .append(Component.text(health.getStatus().name().toLowerCase(Locale.ROOT), color))
+            .append(Component.text(details, NamedTextColor.GRAY))
+            .build());
+      }
+      return Command.SINGLE_SUCCESS;
+    }
+  }
+
   private record Plugins(ProxyServer server) implements Command<CommandSource> {
 
     @Override
@@ -329,9 +433,18 @@ public final class VelocityCommand {
 
       final JsonObject dump = new JsonObject();
       dump.add("versionInfo", InformationUtils.collectProxyInfo(server.getVersion()));
-      dump.add("platform", InformationUtils.collectEnvironmentInfo());
+      dump.add("platform", InformationUtils.collectEnvironmentInfo(
+          server.getTransportType()));
       dump.add("config", proxyConfig);
       dump.add("plugins", InformationUtils.collectPluginInfo(server));
+      dump.add("statistics", InformationUtils.collectStatistics());
+      if (server.getEventManager() instanceof VelocityEventManager eventManager) {
+        dump.add("events", InformationUtils.collectEventLatencies(eventManager));
+      }
+      if (server instanceof VelocityServer velocityServer && BackendStatusPoller.isEnabled()) {
+        dump.add("backendStatus",
+            InformationUtils.collectBackendStatuses(velocityServer.getBackendStatusPoller()));
+      }
 
       final Path dumpPath = Path.of("velocity-dump-"
           + new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss").format(new Date())
@@ -171,7 +171,10 @@ public final class VelocityConfiguration implements ProxyConfig {
       valid = false;
     } else {
       try {
-        AddressUtil.parseAddress(bind);
+        if (AddressUtil.isDomainSocket(AddressUtil.parseAddress(bind))) {
+          logger.error("'bind' option cannot be a Unix domain socket.");
+          valid = false;
+        }
       } catch (IllegalArgumentException e) {
         logger.error("'bind' option does not specify a valid IP address.", e);
         valid = false;
@@ -41,12 +41,15 @@ import com.velocitypowered.proxy.network.Connections;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.VelocityConnectionEvent;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
+import com.velocitypowered.proxy.protocol.netty.EventLoopCompressor;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCipherDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCipherEncoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCompressDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCompressorAndLengthEncoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import com.velocitypowered.proxy.protocol.netty.MinecraftVarintFrameDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintLengthEncoder;
 import com.velocitypowered.proxy.protocol.netty.PlayPacketQueueInboundHandler;
 import com.velocitypowered.proxy.protocol.netty.PlayPacketQueueOutboundHandler;
@@ -165,12 +168,38 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
             proxyMessage.sourcePort());
       } else if (msg instanceof ByteBuf) {
         activeSessionHandler.handleUnknown((ByteBuf) msg);
+      } else if (msg instanceof CompressedFrame frame) {
+        if (!activeSessionHandler.handleUnknown(frame)) {
+          redecode(frame);
+        }
       }
     } finally {
       ReferenceCountUtil.release(msg);
     }
   }
 
+  /**
+   * Inflates a compressed frame the session handler did not want as it is, and sends it through
+   * the packet decoder as though it had never been passed through.
+   */
+  private void redecode(final CompressedFrame frame) {
+    final ChannelHandlerContext decoderContext = channel.pipeline().context(COMPRESSION_DECODER);
+    if (decoderContext == null) {
+      logger.debug("{}: dropping compressed frame as compression is no longer enabled",
+          association != null ? association : channel.remoteAddress());
+      return;
+    }
+    final MinecraftCompressDecoder decoder = (MinecraftCompressDecoder) decoderContext.handler();
+    final ByteBuf inflated;
+    try {
+      inflated = decoder.inflate(channel.alloc(), frame);
+    } catch (final Exception e) {
+      exceptionCaught(decoderContext, e);
+      return;
+    }
+    decoderContext.fireChannelRead(inflated);
+  }
+
   @Override
   public void channelReadComplete(final ChannelHandlerContext ctx) {
     if (activeSessionHandler != null) {
@@ -388,6 +417,11 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
     if (minecraftDecoder != null) {
       minecraftDecoder.setState(state);
     }
+    final MinecraftVarintFrameDecoder frameDecoder = this.channel.pipeline()
+        .get(MinecraftVarintFrameDecoder.class);
+    if (frameDecoder != null) {
+      frameDecoder.setState(state);
+    }
 
     if (state == StateRegistry.CONFIG) {
       // Activate the play packet queue
@@ -403,6 +437,22 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
     }
   }
 
+  /**
+   * Determines whether packets that were already encoded for the play state may be written to
+   * this connection. The encoder can leave the play state before {@link #getState()} does, and
+   * the play packet queue only holds packets that have not been encoded yet, so both are checked.
+   * This must be called from the connection's event loop.
+   *
+   * @return whether encoded play packets can be written
+   */
+  public boolean acceptsEncodedPlayPackets() {
+    ensureInEventLoop();
+    final MinecraftEncoder minecraftEncoder = this.channel.pipeline()
+        .get(MinecraftEncoder.class);
+    return minecraftEncoder != null && minecraftEncoder.getState() == StateRegistry.PLAY
+        && this.channel.pipeline().get(Connections.PLAY_PACKET_QUEUE_OUTBOUND) == null;
+  }
+
   /**
    * Adds the play packet queue handler.
    */
@@ -532,6 +582,7 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
       final ChannelHandler removedEncoder = channel.pipeline().remove(COMPRESSION_ENCODER);
 
       if (removedDecoder != null && removedEncoder != null) {
+        setEncoderCompression(null);
         channel.pipeline().addBefore(MINECRAFT_DECODER, FRAME_ENCODER,
             MinecraftVarintLengthEncoder.INSTANCE);
         channel.pipeline().fireUserEventTriggered(VelocityConnectionEvent.COMPRESSION_DISABLED);
@@ -546,7 +597,7 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
         encoder.setThreshold(threshold);
       } else {
         int level = server.getConfiguration().getCompressionLevel();
-        VelocityCompressor compressor = Natives.compress.get().create(level);
+        VelocityCompressor compressor = new EventLoopCompressor(Natives.compress.get(), level);
 
         encoder = new MinecraftCompressorAndLengthEncoder(threshold, compressor);
         decoder = new MinecraftCompressDecoder(threshold, compressor);
@@ -554,12 +605,50 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
         channel.pipeline().remove(FRAME_ENCODER);
         channel.pipeline().addBefore(MINECRAFT_DECODER, COMPRESSION_DECODER, decoder);
         channel.pipeline().addBefore(MINECRAFT_ENCODER, COMPRESSION_ENCODER, encoder);
+        setEncoderCompression(encoder);
 
         channel.pipeline().fireUserEventTriggered(VelocityConnectionEvent.COMPRESSION_ENABLED);
       }
     }
   }
 
+  private void setEncoderCompression(
+      final @Nullable MinecraftCompressorAndLengthEncoder compressionEncoder) {
+    final MinecraftEncoder minecraftEncoder = this.channel.pipeline().get(MinecraftEncoder.class);
+    if (minecraftEncoder != null) {
+      minecraftEncoder.setCompressionEncoder(compressionEncoder);
+    }
+  }
+
+  /**
+   * Gets the compression threshold currently in effect on the connection.
+   *
+   * @return the compression threshold, or {@code -1} if compression is disabled
+   */
+  public int getCompressionThreshold() {
+    MinecraftCompressorAndLengthEncoder encoder =
+        (MinecraftCompressorAndLengthEncoder) channel.pipeline().get(COMPRESSION_ENCODER);
+    return encoder == null ? -1 : encoder.getThreshold();
+  }
+
+  /**
+   * Enables or disables compressed passthrough on this connection. While enabled, compressed
+   * packets the proxy does not intercept are delivered to the session handler as
+   * {@link CompressedFrame}s instead of being inflated. Does nothing if compression is disabled.
+   *
+   * @param enabled whether compressed passthrough should be enabled
+   */
+  public void setCompressedPassthrough(final boolean enabled) {
+    ensureInEventLoop();
+
+    MinecraftCompressDecoder decoder = (MinecraftCompressDecoder) channel.pipeline()
+        .get(COMPRESSION_DECODER);
+    if (decoder != null) {
+      decoder.setPassthroughDecoder(enabled ? channel.pipeline().get(MinecraftDecoder.class)
+          : null);
+    }
+  }
+
   /**
    * Enables encryption on the connection.
    *
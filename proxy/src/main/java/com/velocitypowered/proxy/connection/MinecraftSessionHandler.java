@@ -18,6 +18,7 @@
 package com.velocitypowered.proxy.connection;
 
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
 import com.velocitypowered.proxy.protocol.packet.AvailableCommandsPacket;
 import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
 import com.velocitypowered.proxy.protocol.packet.BundleDelimiterPacket;
@@ -97,6 +98,18 @@ public interface MinecraftSessionHandler {
 
   }
 
+  /**
+   * Handles a packet that arrived compressed and that the proxy does not intercept. Handlers that
+   * do not forward such frames as they are can leave this alone: the frame is then inflated and
+   * decoded like any other packet.
+   *
+   * @param frame the compressed frame
+   * @return whether the frame was handled
+   */
+  default boolean handleUnknown(CompressedFrame frame) {
+    return false;
+  }
+
   default void connected() {
 
   }
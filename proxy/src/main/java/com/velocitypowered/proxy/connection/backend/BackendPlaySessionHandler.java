@@ -46,6 +46,7 @@ import com.velocitypowered.proxy.connection.player.resourcepack.handler.Resource
 import com.velocitypowered.proxy.connection.util.ConnectionMessages;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.CompressedFrame;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
 import com.velocitypowered.proxy.protocol.packet.AvailableCommandsPacket;
 import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
@@ -90,6 +91,8 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
       Boolean.getBoolean("velocity.log-server-backpressure");
   private static final int MAXIMUM_PACKETS_TO_FLUSH =
       Integer.getInteger("velocity.max-packets-per-flush", 8192);
+  private static final boolean COMPRESSED_PASSTHROUGH =
+      Boolean.getBoolean("velocity.compressed-passthrough");
 
   private final VelocityServer server;
   private final VelocityServerConnection serverConn;
@@ -126,6 +129,22 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
       ));
     }
 
+    // When both sides agree on the threshold, packets we don't intercept can be forwarded in
+    // their compressed form instead of being inflated and deflated again.
+    if (COMPRESSED_PASSTHROUGH) {
+      int threshold = serverMc.getCompressionThreshold();
+      if (threshold != -1 && threshold == playerConnection.getCompressionThreshold()) {
+        serverMc.setCompressedPassthrough(true);
+      }
+    }
+  }
+
+  @Override
+  public void deactivated() {
+    MinecraftConnection serverMc = serverConn.getConnection();
+    if (serverMc != null && !serverMc.isClosed()) {
+      serverMc.setCompressedPassthrough(false);
+    }
   }
 
   @Override
@@ -148,6 +167,7 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
   public boolean handle(final StartUpdatePacket packet) {
     MinecraftConnection smc = serverConn.ensureConnected();
     smc.setAutoReading(false);
+    smc.setCompressedPassthrough(false);
     // Even when not auto reading messages are still decoded. Decode them with the correct state
     smc.getChannel().pipeline().get(MinecraftDecoder.class).setState(StateRegistry.CONFIG);
     serverConn.getPlayer().switchToConfigState();
@@ -464,6 +484,16 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
     }
   }
 
+  @Override
+  public boolean handleUnknown(final CompressedFrame frame) {
+    playerConnection.delayedWrite(frame.retain());
+    if (++packetsFlushed >= MAXIMUM_PACKETS_TO_FLUSH) {
+      playerConnection.flush();
+      packetsFlushed = 0;
+    }
+    return true;
+  }
+
   @Override
   public void readCompleted() {
     playerConnection.flush();
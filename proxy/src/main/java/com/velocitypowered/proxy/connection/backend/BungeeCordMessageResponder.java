@@ -110,7 +110,7 @@ public class BungeeCordMessageResponder {
         out.writeInt(proxy.getPlayerCount());
       } else {
         proxy.getServer(target).ifPresent(rs -> {
-          int playersOnServer = rs.getPlayersConnected().size();
+          int playersOnServer = VelocityRegisteredServer.getPlayerCount(rs);
           out.writeUTF("PlayerCount");
           out.writeUTF(rs.getServerInfo().getName());
           out.writeInt(playersOnServer);
@@ -45,10 +45,17 @@ import com.velocitypowered.proxy.protocol.packet.JoinGamePacket;
 import com.velocitypowered.proxy.protocol.packet.PluginMessagePacket;
 import com.velocitypowered.proxy.protocol.packet.ServerLoginPacket;
 import com.velocitypowered.proxy.protocol.util.ByteBufDataOutput;
+import com.velocitypowered.proxy.server.BackendHealth;
 import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import com.velocitypowered.proxy.util.AddressUtil;
+import com.velocitypowered.proxy.util.except.QuietRuntimeException;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoop;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -61,6 +68,9 @@ import org.jetbrains.annotations.NotNull;
  */
 public class VelocityServerConnection implements MinecraftConnectionAssociation, ServerConnection {
 
+  private static final QuietRuntimeException SERVER_UNAVAILABLE = new QuietRuntimeException(
+      "Server has failed too many connection attempts and is not being connected to for now");
+
   private final VelocityRegisteredServer registeredServer;
   private final @Nullable VelocityRegisteredServer previousServer;
   private final ConnectedPlayer proxyPlayer;
@@ -95,38 +105,95 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
    *     representing whether the connection succeeded
    */
   public CompletableFuture<Impl> connect() {
+    return connect(false);
+  }
+
+  /**
+   * Connects to the server.
+   *
+   * @param lastResort whether every other server is known to be down, in which case the circuit
+   *     breaker of this server lets the connection through
+   * @return a {@link com.velocitypowered.api.proxy.ConnectionRequestBuilder.Result}
+   *     representing whether the connection succeeded
+   */
+  public CompletableFuture<Impl> connect(final boolean lastResort) {
     CompletableFuture<Impl> result = new CompletableFuture<>();
     // Note: we use the event loop for the connection the player is on. This reduces context
     // switches.
-    server.createBootstrap(proxyPlayer.getConnection().eventLoop())
+    BackendHealth health = registeredServer.getHealth();
+    if (!health.tryAcquire(lastResort)) {
+      // The server failed to accept several connections in a row, don't bother waiting for yet
+      // another connection timeout.
+      result.completeExceptionally(SERVER_UNAVAILABLE);
+      return result;
+    }
+
+    EventLoop eventLoop = proxyPlayer.getConnection().eventLoop();
+    Channel pooled = server.getBackendConnectionPool().poll(registeredServer, eventLoop);
+    if (pooled != null) {
+      // An idle connection to the server is already open, so we can go straight to the handshake.
+      if (eventLoop.inEventLoop()) {
+        connectedPooled(pooled, result);
+      } else {
+        eventLoop.execute(() -> connectedPooled(pooled, result));
+      }
+      return result;
+    }
+
+    openConnection(eventLoop, result);
+    return result;
+  }
+
+  private void openConnection(final EventLoop eventLoop, final CompletableFuture<Impl> result) {
+    BackendHealth health = registeredServer.getHealth();
+    SocketAddress target =
+        AddressUtil.toConnectAddress(registeredServer.getServerInfo().getAddress());
+    long connectStart = System.nanoTime();
+    server.createBootstrap(eventLoop, target)
         .handler(server.getBackendChannelInitializer())
-        .connect(registeredServer.getServerInfo().getAddress())
+        .connect(target)
         .addListener((ChannelFutureListener) future -> {
           if (future.isSuccess()) {
-            connection = new MinecraftConnection(future.channel(), server);
-            connection.setAssociation(VelocityServerConnection.this);
-            future.channel().pipeline().addLast(HANDLER, connection);
-
-            // Kick off the connection process
-            if (!connection.setActiveSessionHandler(StateRegistry.HANDSHAKE)) {
-              MinecraftSessionHandler handler =
-                  new LoginSessionHandler(server, VelocityServerConnection.this, result);
-              connection.setActiveSessionHandler(StateRegistry.HANDSHAKE, handler);
-              connection.addSessionHandler(StateRegistry.LOGIN, handler);
-            }
-
-            // Set the connection phase, which may, for future forge (or whatever), be
-            // determined
-            // at this point already
-            connectionPhase = connection.getType().getInitialBackendPhase();
-            startHandshake();
+            health.recordSuccess(System.nanoTime() - connectStart);
+            connected(future.channel(), result);
           } else {
+            health.recordFailure();
             // Complete the result immediately. ConnectedPlayer will reset the in-flight
             // connection.
             result.completeExceptionally(future.cause());
           }
         });
-    return result;
+  }
+
+  private void connectedPooled(final Channel channel, final CompletableFuture<Impl> result) {
+    // The pool may have handed the channel over from outside the event loop, and the backend
+    // could have closed it since. Once checked here, any close is seen by our handler.
+    if (!channel.isActive()) {
+      openConnection(channel.eventLoop(), result);
+      return;
+    }
+    registeredServer.getHealth().recordSuccess();
+    connected(channel, result);
+  }
+
+  private void connected(final Channel channel, final CompletableFuture<Impl> result) {
+    connection = new MinecraftConnection(channel, server);
+    connection.setAssociation(VelocityServerConnection.this);
+    channel.pipeline().addLast(HANDLER, connection);
+
+    // Kick off the connection process
+    if (!connection.setActiveSessionHandler(StateRegistry.HANDSHAKE)) {
+      MinecraftSessionHandler handler =
+          new LoginSessionHandler(server, VelocityServerConnection.this, result);
+      connection.setActiveSessionHandler(StateRegistry.HANDSHAKE, handler);
+      connection.addSessionHandler(StateRegistry.LOGIN, handler);
+    }
+
+    // Set the connection phase, which may, for future forge (or whatever), be
+    // determined
+    // at this point already
+    connectionPhase = connection.getType().getInitialBackendPhase();
+    startHandshake();
   }
 
   String getPlayerRemoteAddressAsString() {
@@ -141,8 +208,7 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
 
   private String createLegacyForwardingAddress() {
     return PlayerDataForwarding.createLegacyForwardingAddress(
-      proxyPlayer.getVirtualHost().orElseGet(() ->
-        registeredServer.getServerInfo().getAddress()).getHostString(),
+      getHandshakeAddress().getHostString(),
       getPlayerRemoteAddressAsString(),
       proxyPlayer.getGameProfile()
     );
@@ -150,23 +216,25 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
 
   private String createBungeeGuardForwardingAddress(final byte[] forwardingSecret) {
     return PlayerDataForwarding.createBungeeGuardForwardingAddress(
-      proxyPlayer.getVirtualHost().orElseGet(() ->
-        registeredServer.getServerInfo().getAddress()).getHostString(),
+      getHandshakeAddress().getHostString(),
       getPlayerRemoteAddressAsString(),
       proxyPlayer.getGameProfile(),
       forwardingSecret
     );
   }
 
+  private InetSocketAddress getHandshakeAddress() {
+    return proxyPlayer.getVirtualHost().orElseGet(() ->
+        AddressUtil.toHandshakeAddress(registeredServer.getServerInfo().getAddress()));
+  }
+
   private void startHandshake() {
     final MinecraftConnection mc = ensureConnected();
     PlayerInfoForwarding forwardingMode = server.getConfiguration().getServerForwardingMode(registeredServer.getServerInfo().getName());
 
     // Initiate the handshake.
     ProtocolVersion protocolVersion = proxyPlayer.getConnection().getProtocolVersion();
-    String playerVhost = proxyPlayer.getVirtualHost()
-                .orElseGet(() -> registeredServer.getServerInfo().getAddress())
-                .getHostString();
+    String playerVhost = getHandshakeAddress().getHostString();
 
     HandshakePacket handshake = new HandshakePacket();
     handshake.setIntent(HandshakeIntent.LOGIN);
@@ -185,9 +253,7 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
       handshake.setServerAddress(playerVhost);
     }
 
-    handshake.setPort(proxyPlayer.getVirtualHost()
-            .orElseGet(() -> registeredServer.getServerInfo().getAddress())
-            .getPort());
+    handshake.setPort(getHandshakeAddress().getPort());
     mc.delayedWrite(handshake);
 
     mc.setProtocolVersion(protocolVersion);
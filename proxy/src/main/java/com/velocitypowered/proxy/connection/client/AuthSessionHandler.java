@@ -188,16 +188,22 @@ public class AuthSessionHandler implements MinecraftSessionHandler {
       final IdentifiedKey playerKey = player.getIdentifiedKey();
       if (playerKey.getSignatureHolder() == null) {
         if (playerKey instanceof IdentifiedKeyImpl unlinkedKey) {
-          // Failsafe
-          if (!unlinkedKey.internalAddHolder(player.getUniqueId())) {
-            if (onlineMode) {
-              inbound.disconnect(
-                  Component.translatable("multiplayer.disconnect.invalid_public_key"));
-              return;
-            } else {
-              logger.warn("Key for player {} could not be verified!", player.getUsername());
-            }
-          }
+          // Failsafe. Linking the key checks its signature, an RSA operation, so keep it off the
+          // event loop.
+          server.getCryptoExecutor()
+              .submit(() -> unlinkedKey.internalAddHolder(player.getUniqueId()))
+              .whenCompleteAsync((isKeyValid, throwable) -> {
+                if (mcConnection.isClosed()) {
+                  return;
+                }
+                if (throwable != null) {
+                  logger.error("Unable to verify the public key of {}", player, throwable);
+                  mcConnection.close(true);
+                } else {
+                  completeUnlinkedKeyCheck(player, isKeyValid);
+                }
+              }, mcConnection.eventLoop());
+          return;
         } else {
           logger.warn("A custom key type has been set for player {}", player.getUsername());
         }
@@ -213,6 +219,18 @@ public class AuthSessionHandler implements MinecraftSessionHandler {
     completeLoginProtocolPhaseAndInitialize(player);
   }
 
+  private void completeUnlinkedKeyCheck(final ConnectedPlayer player, final boolean isKeyValid) {
+    if (!isKeyValid) {
+      if (onlineMode) {
+        inbound.disconnect(Component.translatable("multiplayer.disconnect.invalid_public_key"));
+        return;
+      } else {
+        logger.warn("Key for player {} could not be verified!", player.getUsername());
+      }
+    }
+    completeLoginProtocolPhaseAndInitialize(player);
+  }
+
   @Override
   public boolean handle(final LoginAcknowledgedPacket packet) {
     if (loginState != State.SUCCESS_SENT) {
@@ -275,6 +293,8 @@ public class AuthSessionHandler implements MinecraftSessionHandler {
         success.setProperties(player.getGameProfileProperties());
         success.setUuid(player.getUniqueId());
         mcConnection.write(success);
+        // From here on the login no longer does any expensive work, so let the next one in.
+        inbound.releaseAdmission();
 
         loginState = State.SUCCESS_SENT;
         if (inbound.getProtocolVersion().lessThan(ProtocolVersion.MINECRAFT_1_20_2)) {
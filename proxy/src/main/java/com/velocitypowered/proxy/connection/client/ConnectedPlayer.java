@@ -22,6 +22,7 @@ import static com.velocitypowered.proxy.connection.util.ConnectionRequestResults
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.gson.JsonObject;
 import com.velocitypowered.api.event.connection.DisconnectEvent;
@@ -67,6 +68,7 @@ import com.velocitypowered.proxy.connection.player.resourcepack.handler.Resource
 import com.velocitypowered.proxy.connection.util.ConnectionMessages;
 import com.velocitypowered.proxy.connection.util.ConnectionRequestResults.Impl;
 import com.velocitypowered.proxy.connection.util.VelocityInboundConnection;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
 import com.velocitypowered.proxy.protocol.packet.BundleDelimiterPacket;
@@ -175,6 +177,9 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
   private ClientConnectionPhase connectionPhase;
   private final CompletableFuture<Void> teardownFuture = new CompletableFuture<>();
   private @MonotonicNonNull List<String> serversToTry = null;
+  // The server picked by getNextServerToTry even though it is known to be down, because every
+  // other server is as well. Connecting to it is let through its circuit breaker.
+  private @Nullable RegisteredServer lastResortServer;
   private final ResourcePackHandler resourcePackHandler;
   private final BundleDelimiterHandler bundleHandler = new BundleDelimiterHandler(this);
 
@@ -393,36 +398,59 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
    * @return the translated message
    */
   public Component translateMessage(final Component message) {
-    Locale locale = ClosestLocaleMatcher.INSTANCE
-        .lookupClosest(getEffectiveLocale() == null ? Locale.getDefault() : getEffectiveLocale());
-    return GlobalTranslator.render(message, locale);
+    return GlobalTranslator.render(message, getTranslationLocale());
   }
 
-  @Override
-  public void sendMessage(@NonNull final Identity identity, @NonNull final Component message) {
-    final Component translated = translateMessage(message);
-
-    connection.write(getChatBuilderFactory().builder()
-        .component(translated).forIdentity(identity).toClient());
+  /**
+   * Returns the locale messages sent to this player are rendered in. Players sharing a protocol
+   * version and translation locale receive byte-identical chat, action bar and title packets.
+   *
+   * @return the closest locale with translations available
+   */
+  public Locale getTranslationLocale() {
+    Locale effective = getEffectiveLocale();
+    return ClosestLocaleMatcher.INSTANCE
+        .lookupClosest(effective == null ? Locale.getDefault() : effective);
   }
 
-  @Override
-  public void sendMessage(@NonNull final Identity identity, @NonNull final Component message,
-                          @NonNull final MessageType type) {
-    Preconditions.checkNotNull(message, "message");
-    Preconditions.checkNotNull(type, "type");
+  /**
+   * Creates the packet used to send a chat message to this player.
+   *
+   * @param identity the identity of the sender
+   * @param message the message to send
+   * @return the packet to write
+   */
+  public MinecraftPacket createMessagePacket(final Identity identity, final Component message) {
+    return getChatBuilderFactory().builder()
+        .component(translateMessage(message)).forIdentity(identity).toClient();
+  }
 
+  /**
+   * Creates the packet used to send a message of the given type to this player.
+   *
+   * @param identity the identity of the sender
+   * @param message the message to send
+   * @param type the type of the message
+   * @return the packet to write
+   */
+  public MinecraftPacket createMessagePacket(final Identity identity, final Component message,
+                                             final MessageType type) {
     Component translated = translateMessage(message)
         .replaceText(TextReplacementConfig.builder().match("''").replacement("'").build());
 
-    connection.write(getChatBuilderFactory().builder()
+    return getChatBuilderFactory().builder()
         .component(translated).forIdentity(identity)
         .setType(type == MessageType.CHAT ? ChatType.CHAT : ChatType.SYSTEM)
-        .toClient());
+        .toClient();
   }
 
-  @Override
-  public void sendActionBar(final net.kyori.adventure.text.@NonNull Component message) {
+  /**
+   * Creates the packet used to show an action bar message to this player.
+   *
+   * @param message the message to show
+   * @return the packet to write
+   */
+  public MinecraftPacket createActionBarPacket(final Component message) {
     Component translated = translateMessage(message);
 
     ProtocolVersion playerVersion = getProtocolVersion();
@@ -431,7 +459,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
       GenericTitlePacket pkt = GenericTitlePacket.constructTitlePacket(
           GenericTitlePacket.ActionType.SET_ACTION_BAR, playerVersion);
       pkt.setComponent(new ComponentHolder(playerVersion, translated));
-      connection.write(pkt);
+      return pkt;
     } else {
       // Due to issues with action bar packets, we'll need to convert the text message into a
       // legacy message and then inject the legacy text into a component... yuck!
@@ -441,10 +469,63 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
       LegacyChatPacket legacyChat = new LegacyChatPacket();
       legacyChat.setMessage(object.toString());
       legacyChat.setType(LegacyChatPacket.GAME_INFO_TYPE);
-      connection.write(legacyChat);
+      return legacyChat;
     }
   }
 
+  /**
+   * Creates the packets used to show a title to this player, in the order they must be sent.
+   * Clients older than 1.8 cannot display titles, so the list is empty for them.
+   *
+   * @param title the title to show
+   * @return the packets to write
+   */
+  public List<MinecraftPacket> createTitlePackets(final net.kyori.adventure.title.Title title) {
+    if (this.getProtocolVersion().lessThan(ProtocolVersion.MINECRAFT_1_8)) {
+      return List.of();
+    }
+
+    GenericTitlePacket timesPkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_TIMES, this.getProtocolVersion());
+    net.kyori.adventure.title.Title.Times times = title.times();
+    if (times != null) {
+      timesPkt.setFadeIn((int) DurationUtils.toTicks(times.fadeIn()));
+      timesPkt.setStay((int) DurationUtils.toTicks(times.stay()));
+      timesPkt.setFadeOut((int) DurationUtils.toTicks(times.fadeOut()));
+    }
+
+    GenericTitlePacket subtitlePkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_SUBTITLE, this.getProtocolVersion());
+    subtitlePkt.setComponent(new ComponentHolder(
+        this.getProtocolVersion(), translateMessage(title.subtitle())));
+
+    GenericTitlePacket titlePkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_TITLE, this.getProtocolVersion());
+    titlePkt.setComponent(new ComponentHolder(
+        this.getProtocolVersion(), translateMessage(title.title())));
+
+    return List.of(timesPkt, subtitlePkt, titlePkt);
+  }
+
+  @Override
+  public void sendMessage(@NonNull final Identity identity, @NonNull final Component message) {
+    connection.write(createMessagePacket(identity, message));
+  }
+
+  @Override
+  public void sendMessage(@NonNull final Identity identity, @NonNull final Component message,
+                          @NonNull final MessageType type) {
+    Preconditions.checkNotNull(message, "message");
+    Preconditions.checkNotNull(type, "type");
+
+    connection.write(createMessagePacket(identity, message, type));
+  }
+
+  @Override
+  public void sendActionBar(final net.kyori.adventure.text.@NonNull Component message) {
+    connection.write(createActionBarPacket(message));
+  }
+
   @Override
   public Component getPlayerListHeader() {
     return this.playerListHeader;
@@ -484,29 +565,11 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
 
   @Override
   public void showTitle(final net.kyori.adventure.title.@NonNull Title title) {
-    if (this.getProtocolVersion().noLessThan(ProtocolVersion.MINECRAFT_1_8)) {
-      GenericTitlePacket timesPkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_TIMES, this.getProtocolVersion());
-      net.kyori.adventure.title.Title.Times times = title.times();
-      if (times != null) {
-        timesPkt.setFadeIn((int) DurationUtils.toTicks(times.fadeIn()));
-        timesPkt.setStay((int) DurationUtils.toTicks(times.stay()));
-        timesPkt.setFadeOut((int) DurationUtils.toTicks(times.fadeOut()));
+    List<MinecraftPacket> packets = createTitlePackets(title);
+    if (!packets.isEmpty()) {
+      for (MinecraftPacket packet : packets) {
+        connection.delayedWrite(packet);
       }
-      connection.delayedWrite(timesPkt);
-
-      GenericTitlePacket subtitlePkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_SUBTITLE, this.getProtocolVersion());
-      subtitlePkt.setComponent(new ComponentHolder(
-          this.getProtocolVersion(), translateMessage(title.subtitle())));
-      connection.delayedWrite(subtitlePkt);
-
-      GenericTitlePacket titlePkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_TITLE, this.getProtocolVersion());
-      titlePkt.setComponent(new ComponentHolder(
-          this.getProtocolVersion(), translateMessage(title.title())));
-      connection.delayedWrite(titlePkt);
-
       connection.flush();
     }
   }
@@ -880,58 +943,22 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
           Collections.emptyList());
     }
 
+    lastResortServer = null;
+    if (server.getConfiguration().isEnableDynamicFallbacks()) {
+      List<String> candidates = serversToTry.isEmpty()
+          ? server.getConfiguration().getAttemptConnectionOrder() : serversToTry;
+      return selectNextServer(candidates, current);
+    }
+
     if (serversToTry.isEmpty()) {
       List<String> connOrder = server.getConfiguration().getAttemptConnectionOrder();
       if (connOrder.isEmpty()) {
         return Optional.empty();
-      } else {
-        if (server.getConfiguration().isEnableDynamicFallbacks()) {
-          Optional<RegisteredServer> selectedServer = Optional.empty();
-          int index = 0;
-
-          for (String serverName : connOrder) {
-            if (attemptedServers.contains(serverName)) {
-              continue;
-            }
-
-            RegisteredServer registeredServer = server.getServer(serverName).orElse(null);
-            if (registeredServer == null) {
-              logger.error(Component.text("Unable to read your velocity.toml fallback servers. Users are unable to connect."));
-              return selectedServer;
-            }
-
-            if ((connectedServer != null && hasSameName(connectedServer.getServer(), serverName))
-                || (connectionInFlight != null && hasSameName(connectionInFlight.getServer(), serverName))
-                || (current != null && hasSameName(current, serverName))) {
-              continue;
-            }
-
-            if (selectedServer.isEmpty()) {
-              index = connOrder.indexOf(serverName);
-              selectedServer = Optional.of(registeredServer);
-            } else {
-              if (server.getConfiguration().isEnableMostPopulatedFallbacks()) {
-                if (registeredServer.getPlayersConnected().size() > selectedServer.get().getPlayersConnected().size()) {
-                  index = connOrder.indexOf(serverName);
-                  selectedServer = Optional.of(registeredServer);
-                }
-              } else {
-                if (registeredServer.getPlayersConnected().size() < selectedServer.get().getPlayersConnected().size()) {
-                  index = connOrder.indexOf(serverName);
-                  selectedServer = Optional.of(registeredServer);
-                }
-              }
-            }
-          }
-
-          selectedServer.ifPresent(registeredServer -> attemptedServers.add(registeredServer.getServerInfo().getName()));
-          tryIndex = index;
-          return selectedServer;
-        }
-        serversToTry = connOrder;
       }
+      serversToTry = connOrder;
     }
 
+    int firstUnavailable = -1;
     for (int i = tryIndex; i < serversToTry.size(); i++) {
       String toTryName = serversToTry.get(i);
       if ((connectedServer != null && hasSameName(connectedServer.getServer(), toTryName))
@@ -940,12 +967,76 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
         continue;
       }
 
+      Optional<RegisteredServer> toTry = server.getServer(toTryName);
+      if (toTry.isPresent() && !isAvailable(toTry.get())) {
+        // Skip servers that are known to be down, unless there is nothing else left to try.
+        if (firstUnavailable == -1) {
+          firstUnavailable = i;
+        }
+        continue;
+      }
+
       tryIndex = i;
-      return server.getServer(toTryName);
+      return toTry;
+    }
+    if (firstUnavailable != -1) {
+      tryIndex = firstUnavailable;
+      Optional<RegisteredServer> lastResort = server.getServer(serversToTry.get(firstUnavailable));
+      lastResortServer = lastResort.orElse(null);
+      return lastResort;
     }
     return Optional.empty();
   }
 
+  private Optional<RegisteredServer> selectNextServer(final List<String> candidateNames,
+      @Nullable final RegisteredServer current) {
+    List<RegisteredServer> candidates = new ArrayList<>(candidateNames.size());
+    List<RegisteredServer> available = new ArrayList<>(candidateNames.size());
+    for (String serverName : candidateNames) {
+      if (attemptedServers.contains(serverName)) {
+        continue;
+      }
+
+      RegisteredServer registeredServer = server.getServer(serverName).orElse(null);
+      if (registeredServer == null) {
+        logger.error(Component.text("Unable to read your velocity.toml fallback servers. Users are unable to connect."));
+        break;
+      }
+
+      if ((connectedServer != null && hasSameName(connectedServer.getServer(), serverName))
+          || (connectionInFlight != null && hasSameName(connectionInFlight.getServer(), serverName))
+          || (current != null && hasSameName(current, serverName))) {
+        continue;
+      }
+      candidates.add(registeredServer);
+      if (isAvailable(registeredServer)) {
+        available.add(registeredServer);
+      }
+    }
+
+    // Servers known to be down are only tried when there is nothing else left to try.
+    RegisteredServer selected = server.getServerBalancer()
+        .select(available.isEmpty() ? candidates : available);
+    if (selected != null) {
+      if (available.isEmpty()) {
+        lastResortServer = selected;
+      }
+      attemptedServers.add(selected.getServerInfo().getName());
+      tryIndex = candidateNames.indexOf(selected.getServerInfo().getName());
+    }
+    return Optional.ofNullable(selected);
+  }
+
+  @VisibleForTesting
+  boolean isLastResort(final RegisteredServer server) {
+    return server.equals(lastResortServer);
+  }
+
+  private static boolean isAvailable(final RegisteredServer server) {
+    return !(server instanceof VelocityRegisteredServer velocityServer)
+        || velocityServer.getHealth().isAvailable();
+  }
+
   private static boolean hasSameName(final RegisteredServer server, final String name) {
     return server.getServerInfo().getName().equalsIgnoreCase(name);
   }
@@ -1467,11 +1558,13 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
           }
 
           VelocityRegisteredServer vrs = (VelocityRegisteredServer) realDestination;
+          boolean lastResort = isLastResort(vrs);
+          lastResortServer = null;
           VelocityServerConnection con =
               new VelocityServerConnection(vrs, previousServer, ConnectedPlayer.this, server);
           connectionInFlight = con;
-          return con.connect().whenCompleteAsync((result, exception) -> this.resetIfInFlightIs(con),
-              connection.eventLoop());
+          return con.connect(lastResort).whenCompleteAsync(
+              (result, exception) -> this.resetIfInFlightIs(con), connection.eventLoop());
         }, connection.eventLoop());
       });
     }
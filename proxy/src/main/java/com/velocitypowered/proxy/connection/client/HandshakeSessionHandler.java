@@ -135,7 +135,7 @@ public class HandshakeSessionHandler implements MinecraftSessionHandler {
     }
 
     final InetAddress address = ((InetSocketAddress) connection.getRemoteAddress()).getAddress();
-    if (!server.getIpAttemptLimiter().attempt(address)) {
+    if (!server.getLoginAdmission().attempt(address)) {
       // Bump connection into correct protocol state so that we can send the disconnect packet.
       connection.setState(StateRegistry.LOGIN);
       ic.disconnectQuietly(Component.translatable("velocity.error.logging-in-too-fast"));
@@ -155,11 +155,46 @@ public class HandshakeSessionHandler implements MinecraftSessionHandler {
       return;
     }
 
+    // Past the rate limits, logins still have to wait for one of a limited number of slots.
+    boolean accepted = server.getLoginAdmission().admit(release -> {
+      if (connection.eventLoop().inEventLoop()) {
+        startLogin(handshake, ic, release);
+      } else {
+        connection.eventLoop().execute(() -> startLogin(handshake, ic, release));
+      }
+    });
+    if (!accepted) {
+      connection.setState(StateRegistry.LOGIN);
+      ic.disconnectQuietly(Component.translatable("velocity.error.logging-in-too-fast"));
+    } else if (connection.getActiveSessionHandler() == this) {
+      // The login is queued. Stop reading until it is admitted, but keep hold of anything the
+      // client has sent already.
+      connection.setAutoReading(false);
+      connection.setActiveSessionHandler(StateRegistry.LOGIN,
+          new PendingLoginSessionHandler(connection));
+    }
+  }
+
+  private void startLogin(final HandshakePacket handshake, final InitialInboundConnection ic,
+      final Runnable releaseAdmission) {
+    if (connection.isClosed()) {
+      releaseAdmission.run();
+      return;
+    }
+    connection.getChannel().closeFuture().addListener(future -> releaseAdmission.run());
+
     final LoginInboundConnection lic = new LoginInboundConnection(ic);
+    lic.setAdmissionRelease(releaseAdmission);
     server.getEventManager().fireAndForget(
             new ConnectionHandshakeEvent(lic, handshake.getIntent()));
-    connection.setActiveSessionHandler(StateRegistry.LOGIN,
-        new InitialLoginSessionHandler(server, connection, lic));
+    final InitialLoginSessionHandler handler = new InitialLoginSessionHandler(server, connection,
+        lic);
+    final MinecraftSessionHandler previous = connection.getActiveSessionHandler();
+    connection.setActiveSessionHandler(StateRegistry.LOGIN, handler);
+    if (previous instanceof PendingLoginSessionHandler pending) {
+      connection.setAutoReading(true);
+      pending.replay(handler);
+    }
   }
 
   private ConnectionType getHandshakeConnectionType(final HandshakePacket handshake) {
@@ -17,7 +17,6 @@
 
 package com.velocitypowered.proxy.connection.client;
 
-import static com.google.common.net.UrlEscapers.urlFormParameterEscaper;
 import static com.velocitypowered.proxy.VelocityServer.GENERAL_GSON;
 import static com.velocitypowered.proxy.connection.VelocityConstants.EMPTY_BYTE_ARRAY;
 import static com.velocitypowered.proxy.crypto.EncryptionUtils.decryptRsa;
@@ -43,10 +42,6 @@ import com.velocitypowered.proxy.protocol.packet.ServerLoginPacket;
 import com.velocitypowered.proxy.util.VelocityProperties;
 import io.netty.buffer.ByteBuf;
 import java.net.InetSocketAddress;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.MessageDigest;
@@ -58,6 +53,7 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Handles authenticating the player to Mojang's servers.
@@ -66,10 +62,6 @@ public class InitialLoginSessionHandler implements MinecraftSessionHandler {
 
   private static final Logger logger = LogManager.getLogger(InitialLoginSessionHandler.class);
   private static final SecureRandom random = new SecureRandom();
-  private static final String MOJANG_HASJOINED_URL =
-      System.getProperty("mojang.sessionserver",
-              "https://sessionserver.mojang.com/session/minecraft/hasJoined")
-          .concat("?username=%s&serverId=%s");
 
   private final VelocityServer server;
   private final MinecraftConnection mcConnection;
@@ -100,24 +92,40 @@ public class InitialLoginSessionHandler implements MinecraftSessionHandler {
         return true;
       }
 
-      boolean isKeyValid;
-      if (playerKey.getKeyRevision() == IdentifiedKey.Revision.LINKED_V2
-          && playerKey instanceof final IdentifiedKeyImpl keyImpl) {
-        isKeyValid = keyImpl.internalAddHolder(packet.getHolderUuid());
-      } else {
-        isKeyValid = playerKey.isSignatureValid();
-      }
-
-      if (!isKeyValid) {
-        inbound.disconnect(Component.translatable("multiplayer.disconnect.invalid_public_key"));
-        return true;
-      }
+      // Checking the key signature is an RSA operation, so keep it off the event loop.
+      server.getCryptoExecutor().submit(() -> {
+        if (playerKey.getKeyRevision() == IdentifiedKey.Revision.LINKED_V2
+            && playerKey instanceof final IdentifiedKeyImpl keyImpl) {
+          return keyImpl.internalAddHolder(packet.getHolderUuid());
+        }
+        return playerKey.isSignatureValid();
+      }).whenCompleteAsync((isKeyValid, throwable) -> {
+        if (mcConnection.isClosed()) {
+          return;
+        }
+        if (throwable != null) {
+          logger.error("Unable to verify the public key of {}", inbound, throwable);
+          mcConnection.close(true);
+        } else if (!isKeyValid) {
+          inbound.disconnect(Component.translatable("multiplayer.disconnect.invalid_public_key"));
+        } else {
+          startLogin(packet, playerKey);
+        }
+      }, mcConnection.eventLoop());
+      return true;
     } else if (mcConnection.getProtocolVersion().noLessThan(ProtocolVersion.MINECRAFT_1_19)
         && forceKeyAuthentication
         && mcConnection.getProtocolVersion().lessThan(ProtocolVersion.MINECRAFT_1_19_3)) {
       inbound.disconnect(Component.translatable("multiplayer.disconnect.missing_public_key"));
       return true;
     }
+
+    startLogin(packet, null);
+    return true;
+  }
+
+  private void startLogin(final ServerLoginPacket packet,
+      final @Nullable IdentifiedKey playerKey) {
     inbound.setPlayerKey(playerKey);
     this.login = packet;
 
@@ -161,8 +169,6 @@ public class InitialLoginSessionHandler implements MinecraftSessionHandler {
       logger.error("Exception in pre-login stage", ex);
       return null;
     });
-
-    return true;
   }
 
   @Override
@@ -184,106 +190,101 @@ public class InitialLoginSessionHandler implements MinecraftSessionHandler {
       throw new IllegalStateException("No EncryptionRequest packet sent yet.");
     }
 
-    try {
+    // Decrypting the shared secret and checking signatures are RSA operations, so keep them off
+    // the event loop.
+    final byte[] expectedVerifyToken = this.verify;
+    final IdentifiedKey playerKey = inbound.getIdentifiedKey();
+    server.getCryptoExecutor().submit(() -> {
       KeyPair serverKeyPair = server.getServerKeyPair();
-      if (inbound.getIdentifiedKey() != null) {
-        IdentifiedKey playerKey = inbound.getIdentifiedKey();
-        if (!playerKey.verifyDataSignature(packet.getVerifyToken(), verify,
+      if (playerKey != null) {
+        if (!playerKey.verifyDataSignature(packet.getVerifyToken(), expectedVerifyToken,
             Longs.toByteArray(packet.getSalt()))) {
           throw new IllegalStateException("Invalid client public signature.");
         }
       } else {
         byte[] decryptedVerifyToken = decryptRsa(serverKeyPair, packet.getVerifyToken());
-        if (!MessageDigest.isEqual(verify, decryptedVerifyToken)) {
+        if (!MessageDigest.isEqual(expectedVerifyToken, decryptedVerifyToken)) {
           throw new IllegalStateException("Unable to successfully decrypt the verification token.");
         }
       }
 
       byte[] decryptedSharedSecret = decryptRsa(serverKeyPair, packet.getSharedSecret());
-      String serverId = generateServerId(decryptedSharedSecret, serverKeyPair.getPublic());
-
-      String playerIp = ((InetSocketAddress) mcConnection.getRemoteAddress()).getHostString();
-      String url = String.format(MOJANG_HASJOINED_URL,
-          urlFormParameterEscaper().escape(login.getUsername()), serverId);
-
-      if (server.getConfiguration().shouldPreventClientProxyConnections()) {
-        url += "&ip=" + urlFormParameterEscaper().escape(playerIp);
+      return new SharedSecret(decryptedSharedSecret,
+          generateServerId(decryptedSharedSecret, serverKeyPair.getPublic()));
+    }).whenCompleteAsync((secret, throwable) -> {
+      if (mcConnection.isClosed()) {
+        return;
       }
+      if (throwable instanceof GeneralSecurityException) {
+        logger.error("Unable to enable encryption", throwable);
+        mcConnection.close(true);
+      } else if (throwable != null) {
+        logger.error("Unable to verify the encryption response of {}", inbound, throwable);
+        mcConnection.close(true);
+      } else {
+        authenticate(login, secret.decrypted(), secret.serverId());
+      }
+    }, mcConnection.eventLoop());
+    return true;
+  }
 
-      final HttpRequest httpRequest = HttpRequest.newBuilder()
-              .setHeader("User-Agent",
-                      server.getVersion().getName() + "/" + server.getVersion().getVersion())
-              .uri(URI.create(url))
-              .build();
-      final HttpClient httpClient = server.createHttpClient();
-      httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
-          .whenCompleteAsync((response, throwable) -> {
-            if (mcConnection.isClosed()) {
-              // The player disconnected after we authenticated them.
-              return;
-            }
+  private void authenticate(final ServerLoginPacket login, final byte[] decryptedSharedSecret,
+      final String serverId) {
+    String playerIp = ((InetSocketAddress) mcConnection.getRemoteAddress()).getHostString();
+    String preventProxyIp = server.getConfiguration().shouldPreventClientProxyConnections()
+        ? playerIp : null;
+    server.getSessionServerClient().hasJoined(login.getUsername(), serverId, preventProxyIp)
+        .whenCompleteAsync((response, throwable) -> {
+          if (mcConnection.isClosed()) {
+            // The player disconnected after we authenticated them.
+            return;
+          }
 
-            if (throwable != null) {
-              logger.error("Unable to authenticate player", throwable);
-              inbound.disconnect(Component.translatable("multiplayer.disconnect.authservers_down"));
-              return;
-            }
+          if (throwable != null) {
+            logger.error("Unable to authenticate player", throwable);
+            inbound.disconnect(Component.translatable("multiplayer.disconnect.authservers_down"));
+            return;
+          }
 
-            // Go ahead and enable encryption. Once the client sends EncryptionResponse, encryption
-            // is enabled.
-            try {
-              mcConnection.enableEncryption(decryptedSharedSecret);
-            } catch (GeneralSecurityException e) {
-              logger.error("Unable to enable encryption for connection", e);
-              // At this point, the connection is encrypted, but something's wrong on our side, and
-              // we can't do anything about it.
-              mcConnection.close(true);
-              return;
-            }
+          // Go ahead and enable encryption. Once the client sends EncryptionResponse, encryption
+          // is enabled.
+          try {
+            mcConnection.enableEncryption(decryptedSharedSecret);
+          } catch (GeneralSecurityException e) {
+            logger.error("Unable to enable encryption for connection", e);
+            // At this point, the connection is encrypted, but something's wrong on our side, and
+            // we can't do anything about it.
+            mcConnection.close(true);
+            return;
+          }
 
-            if (response.statusCode() == 200) {
-              final GameProfile profile = GENERAL_GSON.fromJson(response.body(),
-                  GameProfile.class);
-              // Not so fast, now we verify the public key for 1.19.1+
-              if (inbound.getIdentifiedKey() != null
-                  && inbound.getIdentifiedKey().getKeyRevision() == IdentifiedKey.Revision.LINKED_V2
-                  && inbound.getIdentifiedKey() instanceof final IdentifiedKeyImpl key) {
-                if (!key.internalAddHolder(profile.getId())) {
-                  inbound.disconnect(
-                      Component.translatable("multiplayer.disconnect.invalid_public_key"));
-                }
+          if (response.statusCode() == 200) {
+            final GameProfile profile = GENERAL_GSON.fromJson(response.body(),
+                GameProfile.class);
+            // Not so fast, now we verify the public key for 1.19.1+
+            if (inbound.getIdentifiedKey() != null
+                && inbound.getIdentifiedKey().getKeyRevision() == IdentifiedKey.Revision.LINKED_V2
+                && inbound.getIdentifiedKey() instanceof final IdentifiedKeyImpl key) {
+              if (!key.internalAddHolder(profile.getId())) {
+                inbound.disconnect(
+                    Component.translatable("multiplayer.disconnect.invalid_public_key"));
               }
-              // All went well, initialize the session.
-              mcConnection.setActiveSessionHandler(StateRegistry.LOGIN,
-                  new AuthSessionHandler(server, inbound, profile, true));
-            } else if (response.statusCode() == 204) {
-              // Apparently an offline-mode user logged onto this online-mode proxy.
-              inbound.disconnect(
-                  Component.translatable("velocity.error.online-mode-only", NamedTextColor.RED));
-            } else {
-              // Something else went wrong
-              logger.error(
-                  "Got an unexpected error code {} whilst contacting Mojang to log in {} ({})",
-                  response.statusCode(), login.getUsername(), playerIp);
-              inbound.disconnect(Component.translatable("multiplayer.disconnect.authservers_down"));
             }
-          }, mcConnection.eventLoop())
-          .thenRun(() -> {
-            if (httpClient instanceof final AutoCloseable closeable) {
-              try {
-                closeable.close();
-              } catch (Exception e) {
-                // In Java 21, the HttpClient does not throw any Exception
-                // when trying to clean its resources, so this should not happen
-                logger.error("An unknown error occurred while trying to close an HttpClient", e);
-              }
-            }
-          });
-    } catch (GeneralSecurityException e) {
-      logger.error("Unable to enable encryption", e);
-      mcConnection.close(true);
-    }
-    return true;
+            // All went well, initialize the session.
+            mcConnection.setActiveSessionHandler(StateRegistry.LOGIN,
+                new AuthSessionHandler(server, inbound, profile, true));
+          } else if (response.statusCode() == 204) {
+            // Apparently an offline-mode user logged onto this online-mode proxy.
+            inbound.disconnect(
+                Component.translatable("velocity.error.online-mode-only", NamedTextColor.RED));
+          } else {
+            // Something else went wrong
+            logger.error(
+                "Got an unexpected error code {} whilst contacting Mojang to log in {} ({})",
+                response.statusCode(), login.getUsername(), playerIp);
+            inbound.disconnect(Component.translatable("multiplayer.disconnect.authservers_down"));
+          }
+        }, mcConnection.eventLoop());
   }
 
   private EncryptionRequestPacket generateEncryptionRequest() {
@@ -323,4 +324,7 @@ public class InitialLoginSessionHandler implements MinecraftSessionHandler {
     ENCRYPTION_REQUEST_SENT,
     ENCRYPTION_RESPONSE_RECEIVED
   }
+
+  private record SharedSecret(byte[] decrypted, String serverId) {
+  }
 }
@@ -36,6 +36,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import net.kyori.adventure.text.Component;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import space.vectrix.flare.fastutil.Int2ObjectSyncMap;
 
 /**
@@ -53,6 +54,7 @@ public class LoginInboundConnection implements LoginPhaseConnection, KeyIdentifi
   private volatile Runnable onAllMessagesHandled;
   private volatile boolean loginEventFired;
   private @MonotonicNonNull IdentifiedKey playerKey;
+  private volatile @Nullable Runnable admissionRelease;
 
   LoginInboundConnection(
       final InitialInboundConnection delegate) {
@@ -160,6 +162,21 @@ public class LoginInboundConnection implements LoginPhaseConnection, KeyIdentifi
     }
   }
 
+  void setAdmissionRelease(final Runnable admissionRelease) {
+    this.admissionRelease = admissionRelease;
+  }
+
+  /**
+   * Gives up the login slot this connection was admitted with, if it still holds one.
+   */
+  void releaseAdmission() {
+    final Runnable release = this.admissionRelease;
+    if (release != null) {
+      this.admissionRelease = null;
+      release.run();
+    }
+  }
+
   MinecraftConnection delegatedConnection() {
     return delegate.getConnection();
   }
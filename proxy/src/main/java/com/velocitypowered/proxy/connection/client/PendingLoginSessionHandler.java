@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.client;
+
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.MinecraftSessionHandler;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds on to the packets of a login that is waiting for a login slot, so that they can be handed
+ * to the {@link InitialLoginSessionHandler} once the login is admitted.
+ */
+final class PendingLoginSessionHandler implements MinecraftSessionHandler {
+
+  // The client only sends its login start packet before it hears back from us.
+  private static final int MAX_PENDING_PACKETS = 4;
+
+  private final MinecraftConnection connection;
+  private final List<MinecraftPacket> packets = new ArrayList<>(1);
+
+  PendingLoginSessionHandler(final MinecraftConnection connection) {
+    this.connection = connection;
+  }
+
+  @Override
+  public void handleGeneric(final MinecraftPacket packet) {
+    if (packets.size() >= MAX_PENDING_PACKETS) {
+      connection.close(true);
+      return;
+    }
+    packets.add(ReferenceCountUtil.retain(packet));
+  }
+
+  @Override
+  public void handleUnknown(final ByteBuf buf) {
+    connection.close(true);
+  }
+
+  @Override
+  public void disconnected() {
+    releasePackets();
+  }
+
+  /**
+   * Hands the packets received so far to {@code handler}, in the order they arrived.
+   *
+   * @param handler the session handler now in charge of the login
+   */
+  void replay(final MinecraftSessionHandler handler) {
+    try {
+      for (MinecraftPacket packet : packets) {
+        if (!packet.handle(handler)) {
+          handler.handleGeneric(packet);
+        }
+      }
+    } finally {
+      releasePackets();
+    }
+  }
+
+  private void releasePackets() {
+    for (MinecraftPacket packet : packets) {
+      ReferenceCountUtil.release(packet);
+    }
+    packets.clear();
+  }
+}
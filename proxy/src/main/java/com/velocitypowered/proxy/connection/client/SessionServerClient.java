@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.client;
+
+import static com.google.common.net.UrlEscapers.urlFormParameterEscaper;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.velocitypowered.proxy.util.LatencyHistogram;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Talks to the Mojang session server on behalf of online-mode logins. A single long-lived
+ * {@link HttpClient} is shared by every login so its connections, and their TLS sessions, are
+ * reused instead of being set up again for every player.
+ */
+public final class SessionServerClient {
+
+  private static final Logger logger = LogManager.getLogger(SessionServerClient.class);
+
+  private static final String DEFAULT_HASJOINED_URL =
+      "https://sessionserver.mojang.com/session/minecraft/hasJoined";
+  private static final int MAX_IN_FLIGHT =
+      Integer.getInteger("velocity.sessionserver.max-in-flight", 64);
+  private static final Duration REQUEST_TIMEOUT =
+      Duration.ofMillis(Integer.getInteger("velocity.sessionserver.timeout", 5000));
+  private static final int MAX_RETRIES =
+      Integer.getInteger("velocity.sessionserver.max-retries", 2);
+  private static final long RETRY_BASE_DELAY_MILLIS = 100;
+
+  private static final LatencyHistogram LATENCY = new LatencyHistogram();
+  private static final LongAdder REQUESTS = new LongAdder();
+  private static final LongAdder RETRIES = new LongAdder();
+  private static final LongAdder TIMEOUTS = new LongAdder();
+  private static final LongAdder FAILURES = new LongAdder();
+  private static final Map<Integer, LongAdder> STATUS_CODES = new ConcurrentHashMap<>();
+
+  private final HttpClient httpClient;
+  private final String hasJoinedUrl;
+  private final String userAgent;
+  private final Duration requestTimeout;
+  private final int maxRetries;
+  private final Semaphore permits;
+  private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Creates a session server client. The session server can be replaced with the
+   * {@code mojang.sessionserver} system property.
+   *
+   * @param httpClient the HTTP client to send requests with
+   * @param userAgent the user agent to send
+   */
+  public SessionServerClient(final HttpClient httpClient, final String userAgent) {
+    this(httpClient, System.getProperty("mojang.sessionserver", DEFAULT_HASJOINED_URL), userAgent,
+        MAX_IN_FLIGHT, REQUEST_TIMEOUT, MAX_RETRIES);
+  }
+
+  @VisibleForTesting
+  SessionServerClient(final HttpClient httpClient, final String hasJoinedUrl,
+      final String userAgent, final int maxInFlight, final Duration requestTimeout,
+      final int maxRetries) {
+    this.httpClient = httpClient;
+    this.hasJoinedUrl = hasJoinedUrl;
+    this.userAgent = userAgent;
+    this.requestTimeout = requestTimeout;
+    this.maxRetries = maxRetries;
+    this.permits = new Semaphore(maxInFlight);
+  }
+
+  /**
+   * Asks the session server whether a player has joined using the given server ID. Requests
+   * beyond the in-flight limit are queued, and requests that fail with an I/O error, a
+   * rate-limit or a server error are retried with a randomized backoff.
+   *
+   * @param username the username of the player
+   * @param serverId the server ID the player joined with
+   * @param ip the IP address the player should be connecting from, or {@code null} to not check
+   * @return a future with the final response
+   */
+  public CompletableFuture<HttpResponse<String>> hasJoined(final String username,
+      final String serverId, final @Nullable String ip) {
+    String url = hasJoinedUrl + "?username=" + urlFormParameterEscaper().escape(username)
+        + "&serverId=" + serverId;
+    if (ip != null) {
+      url += "&ip=" + urlFormParameterEscaper().escape(ip);
+    }
+
+    HttpRequest request = HttpRequest.newBuilder()
+        .setHeader("User-Agent", userAgent)
+        .uri(URI.create(url))
+        .timeout(requestTimeout)
+        .build();
+    CompletableFuture<HttpResponse<String>> result = new CompletableFuture<>();
+    pending.add(() -> attempt(request, 0, result));
+    drain();
+    return result;
+  }
+
+  private void drain() {
+    while (!pending.isEmpty() && permits.tryAcquire()) {
+      Runnable task = pending.poll();
+      if (task == null) {
+        permits.release();
+      } else {
+        task.run();
+      }
+    }
+  }
+
+  private void attempt(final HttpRequest request, final int attempt,
+      final CompletableFuture<HttpResponse<String>> result) {
+    REQUESTS.increment();
+    long start = System.nanoTime();
+    CompletableFuture<HttpResponse<String>> future;
+    try {
+      future = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    } catch (RuntimeException e) {
+      // Nothing will complete the request, so give up its permit here.
+      FAILURES.increment();
+      permits.release();
+      drain();
+      result.completeExceptionally(e);
+      return;
+    }
+    future.whenComplete((response, throwable) -> {
+      LATENCY.record(System.nanoTime() - start);
+      Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+          ? throwable.getCause() : throwable;
+      if (cause != null) {
+        (cause instanceof HttpTimeoutException ? TIMEOUTS : FAILURES).increment();
+      } else {
+        STATUS_CODES.computeIfAbsent(response.statusCode(), code -> new LongAdder())
+            .increment();
+      }
+
+      if (attempt < maxRetries && shouldRetry(response, cause)) {
+        RETRIES.increment();
+        long delay = retryDelay(attempt);
+        logger.debug("Retrying session server request in {}ms", delay);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+            .execute(() -> attempt(request, attempt + 1, result));
+        return;
+      }
+
+      permits.release();
+      drain();
+      if (cause != null) {
+        result.completeExceptionally(cause);
+      } else {
+        result.complete(response);
+      }
+    });
+  }
+
+  private static boolean shouldRetry(final @Nullable HttpResponse<String> response,
+      final @Nullable Throwable cause) {
+    if (cause != null || response == null) {
+      return true;
+    }
+    int status = response.statusCode();
+    return status == 429 || status >= 500;
+  }
+
+  private static long retryDelay(final int attempt) {
+    long ceiling = RETRY_BASE_DELAY_MILLIS << attempt;
+    return ceiling + ThreadLocalRandom.current().nextLong(ceiling);
+  }
+
+  /**
+   * Releases the resources of the underlying HTTP client, where the runtime supports it.
+   */
+  public void close() {
+    if (httpClient instanceof final AutoCloseable closeable) {
+      try {
+        closeable.close();
+      } catch (Exception e) {
+        logger.error("An unknown error occurred while trying to close an HttpClient", e);
+      }
+    }
+  }
+
+  public static LatencyHistogram latency() {
+    return LATENCY;
+  }
+
+  public static long requests() {
+    return REQUESTS.sum();
+  }
+
+  public static long retries() {
+    return RETRIES.sum();
+  }
+
+  public static long timeouts() {
+    return TIMEOUTS.sum();
+  }
+
+  public static long failures() {
+    return FAILURES.sum();
+  }
+
+  /**
+   * Returns how often the session server answered with each status code.
+   *
+   * @return the number of responses by status code
+   */
+  public static Map<Integer, Long> statusCodes() {
+    Map<Integer, Long> counts = new TreeMap<>();
+    STATUS_CODES.forEach((code, count) -> counts.put(code, count.sum()));
+    return counts;
+  }
+}
@@ -95,6 +95,17 @@ public class StatusSessionHandler implements MinecraftSessionHandler {
     }
     this.pingReceived = true;
 
+    if (!server.getEventManager().hasSubscribers(ProxyPingEvent.class)) {
+      // Nothing can change the response, so reuse the cached encoding of it.
+      this.server.getServerListPingHandler().getEncodedStatusResponse(inbound)
+          .thenAcceptAsync(connection::write, connection.eventLoop())
+          .exceptionally((ex) -> {
+            logger.error("Exception while handling status request {}", packet, ex);
+            return null;
+          });
+      return true;
+    }
+
     this.server.getServerListPingHandler().getInitialPing(inbound)
         .thenCompose(ping -> server.getEventManager().fire(new ProxyPingEvent(inbound, ping)))
         .thenAcceptAsync(
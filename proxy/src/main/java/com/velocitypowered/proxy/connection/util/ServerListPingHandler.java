@@ -27,23 +27,54 @@ import com.velocitypowered.api.util.ModInfo;
 import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.config.PingPassthroughMode;
 import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.StatusResponsePacket;
+import com.velocitypowered.proxy.server.BackendStatusPoller;
 import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Common utilities for handling server list ping results.
  */
 public class ServerListPingHandler {
 
+  // How long a computed ping is served before it is refreshed in the background. Zero disables
+  // the cache entirely.
+  private static final long CACHE_TTL_NANOS = TimeUnit.MILLISECONDS.toNanos(
+      Integer.getInteger("velocity.status-cache-ttl", 1000));
+
   private final VelocityServer server;
+  private final ConcurrentMap<CacheKey, CachedPing> cache = new ConcurrentHashMap<>();
+  private final long cacheTtlNanos;
+  // How long a stale ping may still be served while its refresh is in flight.
+  private final long cacheMaxStaleNanos;
+  private final LongSupplier nanoTime;
 
   public ServerListPingHandler(final VelocityServer server) {
+    this(server, CACHE_TTL_NANOS, System::nanoTime);
+  }
+
+  ServerListPingHandler(final VelocityServer server, final long cacheTtlNanos,
+      final LongSupplier nanoTime) {
     this.server = server;
+    this.cacheTtlNanos = cacheTtlNanos;
+    this.cacheMaxStaleNanos = cacheTtlNanos * 5;
+    this.nanoTime = nanoTime;
   }
 
   private boolean displayOutdatedPing(final ProtocolVersion clientVersion) {
@@ -72,12 +103,12 @@ public class ServerListPingHandler {
 
   private String formatVersionString(final String raw, final ProtocolVersion version) {
     String minVersionIntroducedIn = ProtocolVersion.getVersionByName(server.getConfiguration().getMinimumVersion()).getVersionIntroducedIn();
-    return raw.replaceAll("\\{protocol-min}", minVersionIntroducedIn)
-        .replaceAll("\\{protocol-max}", ProtocolVersion.MAXIMUM_VERSION.getMostRecentSupportedVersion())
-        .replaceAll("\\{protocol}", version.getVersionIntroducedIn())
-        .replaceAll("\\{proxy-brand}", this.server.getVersion().getName())
-        .replaceAll("\\{proxy-version}", this.server.getVersion().getVersion())
-        .replaceAll("\\{proxy-vendor}", this.server.getVersion().getVendor());
+    return raw.replace("{protocol-min}", minVersionIntroducedIn)
+        .replace("{protocol-max}", ProtocolVersion.MAXIMUM_VERSION.getMostRecentSupportedVersion())
+        .replace("{protocol}", version.getVersionIntroducedIn())
+        .replace("{proxy-brand}", this.server.getVersion().getName())
+        .replace("{proxy-version}", this.server.getVersion().getVersion())
+        .replace("{proxy-vendor}", this.server.getVersion().getVendor());
   }
 
   private CompletableFuture<ServerPing> attemptPingPassthrough(final VelocityInboundConnection connection,
@@ -89,6 +120,11 @@ public class ServerListPingHandler {
       if (rs.isEmpty()) {
         continue;
       }
+      if (BackendStatusPoller.isEnabled()) {
+        // Answer from the last background poll rather than connecting to the backend.
+        pings.add(server.getBackendStatusPoller().getLatestPing(s, responseProtocolVersion));
+        continue;
+      }
       VelocityRegisteredServer vrs = (VelocityRegisteredServer) rs.get();
       pings.add(vrs.ping(connection.getConnection().eventLoop(), PingOptions.builder()
               .version(responseProtocolVersion).build()));
@@ -160,6 +196,41 @@ public class ServerListPingHandler {
    * @return a future with the initial ping result
    */
   public CompletableFuture<ServerPing> getInitialPing(final VelocityInboundConnection connection) {
+    if (cacheTtlNanos <= 0) {
+      return computeInitialPing(connection);
+    }
+    return getCachedPing(connection).ping;
+  }
+
+  /**
+   * Fetches the fully encoded status response packet for a client, including its packet ID.
+   * The result can only be used as-is when nothing listens to
+   * {@link com.velocitypowered.api.event.proxy.ProxyPingEvent}, as listeners may change the
+   * response for every connection.
+   *
+   * @param connection the connection
+   * @return a future with the encoded status response
+   */
+  public CompletableFuture<ByteBuf> getEncodedStatusResponse(
+      final VelocityInboundConnection connection) {
+    ProtocolVersion version = connection.getProtocolVersion();
+    if (cacheTtlNanos <= 0) {
+      return computeInitialPing(connection)
+          .thenApply(ping -> Unpooled.wrappedBuffer(encodeStatusResponse(ping, version)));
+    }
+    CachedPing cached = getCachedPing(connection);
+    return cached.ping.thenApply(ping -> Unpooled.wrappedBuffer(cached.encoded(ping, version)));
+  }
+
+  /**
+   * Drops every cached ping, for instance because the configuration was reloaded.
+   */
+  public void invalidateCache() {
+    cache.clear();
+  }
+
+  private CompletableFuture<ServerPing> computeInitialPing(
+      final VelocityInboundConnection connection) {
     VelocityConfiguration configuration = server.getConfiguration();
     ProtocolVersion shownVersion = connection.getProtocolVersion().isSupported()
         ? connection.getProtocolVersion() : ProtocolVersion.MAXIMUM_VERSION;
@@ -168,12 +239,102 @@ public class ServerListPingHandler {
     if (passthroughMode == PingPassthroughMode.DISABLED) {
       return CompletableFuture.completedFuture(constructLocalPing(shownVersion));
     } else {
-      String virtualHostStr = connection.getVirtualHost().map(InetSocketAddress::getHostString)
-          .map(str -> str.toLowerCase(Locale.ROOT))
-          .orElse("");
-      List<String> serversToTry = server.getConfiguration().getForcedHosts().getOrDefault(
-          virtualHostStr, server.getConfiguration().getAttemptConnectionOrder());
+      List<String> serversToTry = configuration.getForcedHosts().getOrDefault(
+          virtualHost(connection), configuration.getAttemptConnectionOrder());
       return attemptPingPassthrough(connection, passthroughMode, serversToTry, shownVersion);
     }
   }
+
+  private static String virtualHost(final VelocityInboundConnection connection) {
+    return connection.getVirtualHost().map(InetSocketAddress::getHostString)
+        .map(str -> str.toLowerCase(Locale.ROOT))
+        .orElse("");
+  }
+
+  private CachedPing getCachedPing(final VelocityInboundConnection connection) {
+    CacheKey key = cacheKey(connection);
+    long now = nanoTime.getAsLong();
+    CachedPing cached = cache.compute(key, (k, existing) -> {
+      if (existing != null && now - existing.createdAt < cacheMaxStaleNanos
+          && !existing.ping.isCompletedExceptionally()) {
+        return existing;
+      }
+      return new CachedPing(computeInitialPing(connection), now);
+    });
+
+    if (now - cached.createdAt >= cacheTtlNanos && cached.ping.isDone()
+        && cached.refreshing.compareAndSet(false, true)) {
+      // Keep serving the current ping while the new one is computed; pings forwarded from
+      // backend servers may take a while.
+      computeInitialPing(connection).whenComplete((ping, ex) -> {
+        if (ex == null) {
+          cache.replace(key, cached,
+              new CachedPing(CompletableFuture.completedFuture(ping), nanoTime.getAsLong()));
+        } else {
+          cached.refreshing.set(false);
+        }
+      });
+    }
+    return cached;
+  }
+
+  private CacheKey cacheKey(final VelocityInboundConnection connection) {
+    VelocityConfiguration configuration = server.getConfiguration();
+    PingPassthroughMode passthroughMode = configuration.getPingPassthrough();
+    String virtualHost = "";
+    if (passthroughMode != PingPassthroughMode.DISABLED) {
+      // Only forced hosts change the servers we forward the ping from. Collapse everything else
+      // so clients can't grow the cache with made-up host names.
+      String host = virtualHost(connection);
+      if (configuration.getForcedHosts().containsKey(host)) {
+        virtualHost = host;
+      }
+    }
+    return new CacheKey(connection.getProtocolVersion(), virtualHost, passthroughMode);
+  }
+
+  private static byte[] encodeStatusResponse(final ServerPing ping,
+      final ProtocolVersion version) {
+    StringBuilder json = new StringBuilder();
+    VelocityServer.getPingGsonInstance(version).toJson(ping, json);
+    StatusResponsePacket packet = new StatusResponsePacket(json);
+
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      ProtocolUtils.writeVarInt(buf, StateRegistry.STATUS
+          .getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, version)
+          .getPacketId(packet));
+      packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, version);
+      return ByteBufUtil.getBytes(buf);
+    } finally {
+      buf.release();
+    }
+  }
+
+  private record CacheKey(ProtocolVersion version, String virtualHost,
+                          PingPassthroughMode passthroughMode) {
+  }
+
+  private static final class CachedPing {
+
+    private final CompletableFuture<ServerPing> ping;
+    private final long createdAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile byte @Nullable [] encoded;
+
+    private CachedPing(final CompletableFuture<ServerPing> ping, final long createdAt) {
+      this.ping = ping;
+      this.createdAt = createdAt;
+    }
+
+    private byte[] encoded(final ServerPing ping, final ProtocolVersion version) {
+      byte[] encoded = this.encoded;
+      if (encoded == null) {
+        // Racing threads encode the same bytes, so it doesn't matter whose copy is kept.
+        encoded = encodeStatusResponse(ping, version);
+        this.encoded = encoded;
+      }
+      return encoded;
+    }
+  }
 }
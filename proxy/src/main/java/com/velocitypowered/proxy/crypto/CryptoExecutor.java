@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.crypto;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.velocitypowered.proxy.util.LatencyHistogram;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs expensive public-key operations, such as decrypting the login shared secret and verifying
+ * player key signatures, away from the Netty event loops. Callers resume on their channel's event
+ * loop once the returned future completes.
+ *
+ * <p>The pool and its queue are bounded. When the queue is full, tasks run on the calling thread
+ * instead, which is no worse than not having the pool at all.
+ */
+public final class CryptoExecutor {
+
+  private static final int THREADS = Integer.getInteger("velocity.crypto-threads",
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+  private static final int QUEUE_SIZE = Integer.getInteger("velocity.crypto-queue-size", 1024);
+
+  private static final LatencyHistogram QUEUE_LATENCY = new LatencyHistogram();
+  private static final LatencyHistogram TASK_LATENCY = new LatencyHistogram();
+  private static final AtomicInteger QUEUED = new AtomicInteger();
+  private static final LongAdder RAN_INLINE = new LongAdder();
+
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * Creates the crypto worker pool.
+   */
+  public CryptoExecutor() {
+    this.executor = new ThreadPoolExecutor(THREADS, THREADS, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(QUEUE_SIZE),
+        new ThreadFactoryBuilder()
+            .setNameFormat("Velocity Crypto Worker #%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  /**
+   * Runs {@code task} on a crypto worker.
+   *
+   * @param task the task to run
+   * @param <T> the type of the result
+   * @return a future completed, on the worker, with the result of the task
+   */
+  public <T> CompletableFuture<T> submit(final Callable<T> task) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    long queuedAt = System.nanoTime();
+    QUEUED.incrementAndGet();
+    try {
+      executor.execute(() -> {
+        QUEUED.decrementAndGet();
+        long startedAt = System.nanoTime();
+        QUEUE_LATENCY.record(startedAt - queuedAt);
+        run(task, result, startedAt);
+      });
+    } catch (RejectedExecutionException e) {
+      QUEUED.decrementAndGet();
+      RAN_INLINE.increment();
+      run(task, result, System.nanoTime());
+    }
+    return result;
+  }
+
+  private static <T> void run(final Callable<T> task, final CompletableFuture<T> result,
+      final long startedAt) {
+    try {
+      result.complete(task.call());
+    } catch (Throwable e) {
+      result.completeExceptionally(e);
+    } finally {
+      TASK_LATENCY.record(System.nanoTime() - startedAt);
+    }
+  }
+
+  /**
+   * Stops accepting new tasks. Tasks submitted afterwards run on the calling thread.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  public static int queueDepth() {
+    return QUEUED.get();
+  }
+
+  public static long ranInline() {
+    return RAN_INLINE.sum();
+  }
+
+  public static LatencyHistogram queueLatency() {
+    return QUEUE_LATENCY;
+  }
+
+  public static LatencyHistogram taskLatency() {
+    return TASK_LATENCY;
+  }
+}
@@ -25,18 +25,28 @@ import com.google.common.base.VerifyException;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.velocitypowered.api.event.Continuation;
 import com.velocitypowered.api.event.EventHandler;
 import com.velocitypowered.api.event.EventManager;
 import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.ConnectionHandshakeEvent;
+import com.velocitypowered.api.event.connection.LoginEvent;
+import com.velocitypowered.api.event.connection.PostLoginEvent;
+import com.velocitypowered.api.event.connection.PreLoginEvent;
+import com.velocitypowered.api.event.permission.PermissionsSetupEvent;
+import com.velocitypowered.api.event.player.GameProfileRequestEvent;
+import com.velocitypowered.api.event.player.PlayerChooseInitialServerEvent;
+import com.velocitypowered.api.event.player.ServerPreConnectEvent;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginDescription;
 import com.velocitypowered.api.plugin.PluginManager;
 import com.velocitypowered.proxy.event.UntargetedEventHandler.EventTaskHandler;
 import com.velocitypowered.proxy.event.UntargetedEventHandler.VoidHandler;
 import com.velocitypowered.proxy.event.UntargetedEventHandler.WithContinuationHandler;
+import com.velocitypowered.proxy.util.LatencyHistogram;
 import com.velocitypowered.proxy.util.collect.Enum2IntMap;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
@@ -55,6 +65,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
@@ -94,6 +108,20 @@ public class VelocityEventManager implements EventManager {
   private static final Comparator<HandlerRegistration> handlerComparator =
       Collections.reverseOrder(Comparator.comparingInt(o -> o.order));
 
+  // Returned by startSample() when latency sampling is off and there is no deadline to enforce.
+  private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+  // Events a player's login waits on. A handler that never finishes one of these leaves the
+  // player stuck until the read timeout, so they get a deadline unless configured otherwise.
+  private static final Set<Class<?>> LOGIN_EVENTS = Set.of(ConnectionHandshakeEvent.class,
+      PreLoginEvent.class, GameProfileRequestEvent.class, LoginEvent.class,
+      PermissionsSetupEvent.class, PostLoginEvent.class, PlayerChooseInitialServerEvent.class,
+      ServerPreConnectEvent.class);
+  private static final long LOGIN_EVENT_DEADLINE = TimeUnit.MILLISECONDS.toNanos(
+      Math.max(0, Long.getLong("velocity.event-deadline", 10_000)));
+
+  private static final ScheduledThreadPoolExecutor watchdog = createWatchdog();
+
   private final PluginManager pluginManager;
 
   private final ListMultimap<Class<?>, HandlerRegistration> handlersByType =
@@ -109,6 +137,12 @@ public class VelocityEventManager implements EventManager {
   private final List<CustomHandlerAdapter<?>> handlerAdapters = new ArrayList<>();
   private final EventTypeTracker eventTypeTracker = new EventTypeTracker();
 
+  private volatile boolean latencySampling =
+      Boolean.parseBoolean(System.getProperty("velocity.event-latency-sampling", "false"));
+
+  private final Map<Class<?>, Long> deadlineOverrides = new ConcurrentHashMap<>();
+  private volatile boolean skipOverdueHandlers = Boolean.getBoolean("velocity.event-deadline-skip");
+
   /**
    * Initializes the Velocity event manager.
    *
@@ -136,9 +170,25 @@ public class VelocityEventManager implements EventManager {
    * Represents the registration of a single {@link EventHandler}.
    *
    * @param instance The instance of the {@link EventHandler} or the listener instance that was registered.
+   * @param name a readable name for the handler, used in diagnostics
+   * @param latency how long the handler takes to run, including any {@link EventTask} it returns
+   *     and any time spent queued on its plugin's executor
    */
   record HandlerRegistration(PluginContainer plugin, short order, Class<?> eventType, Object instance,
-      EventHandler<Object> handler, AsyncType asyncType) {
+      EventHandler<Object> handler, AsyncType asyncType, String name, LatencyHistogram latency) {
+
+  }
+
+  /**
+   * A snapshot of how long a registered handler has been taking.
+   *
+   * @param eventType the event type the handler was registered for
+   * @param plugin the plugin that registered the handler
+   * @param handler a readable name for the handler
+   * @param latency the latencies recorded for the handler
+   */
+  public record HandlerLatency(Class<?> eventType, PluginContainer plugin, String handler,
+      LatencyHistogram latency) {
 
   }
 
@@ -158,8 +208,21 @@ public class VelocityEventManager implements EventManager {
     ALWAYS
   }
 
-  record HandlersCache(AsyncType asyncType, HandlerRegistration[] handlers) {
+  /**
+   * The handlers for an event type, in the order they run.
+   *
+   * @param deadline how long each handler may take, in nanoseconds, or 0 for no limit
+   */
+  record HandlersCache(AsyncType asyncType, HandlerRegistration[] handlers, long deadline) {
+
+  }
 
+  private static ScheduledThreadPoolExecutor createWatchdog() {
+    final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("Velocity Event Watchdog").build());
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
   }
 
   private @Nullable HandlersCache bakeHandlers(final Class<?> eventType) {
@@ -188,7 +251,20 @@ public class VelocityEventManager implements EventManager {
       }
     }
 
-    return new HandlersCache(asyncType, baked.toArray(new HandlerRegistration[0]));
+    return new HandlersCache(asyncType, baked.toArray(new HandlerRegistration[0]),
+        configuredDeadline(eventType));
+  }
+
+  private long configuredDeadline(final Class<?> eventType) {
+    final Long override = deadlineOverrides.get(eventType);
+    if (override != null) {
+      return override;
+    }
+    final Long millis = Long.getLong("velocity.event-deadline." + eventType.getName());
+    if (millis != null) {
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+    }
+    return LOGIN_EVENTS.contains(eventType) ? LOGIN_EVENT_DEADLINE : 0;
   }
 
   /**
@@ -393,7 +469,7 @@ public class VelocityEventManager implements EventManager {
 
     final HandlerRegistration registration = new HandlerRegistration(pluginContainer,
         postOrder, eventClass, handler, (EventHandler<Object>) handler,
-        AsyncType.ALWAYS);
+        AsyncType.ALWAYS, handler.getClass().getName(), new LatencyHistogram());
     register(Collections.singletonList(registration));
   }
 
@@ -423,7 +499,9 @@ public class VelocityEventManager implements EventManager {
 
       final EventHandler<Object> handler = untargetedHandler.buildHandler(listener);
       registrations.add(new HandlerRegistration(pluginContainer, info.order,
-          info.eventType, listener, handler, info.asyncType));
+          info.eventType, listener, handler, info.asyncType,
+          info.method.getDeclaringClass().getName() + "#" + info.method.getName(),
+          new LatencyHistogram()));
     }
 
     register(registrations);
@@ -484,6 +562,100 @@ public class VelocityEventManager implements EventManager {
     return handlersCache != null && handlersCache.handlers.length > 0;
   }
 
+  /**
+   * Returns whether handler latencies are currently being recorded.
+   *
+   * @return whether latency sampling is on
+   */
+  public boolean isLatencySampling() {
+    return latencySampling;
+  }
+
+  /**
+   * Turns the recording of handler latencies on or off. It is off unless the
+   * {@code velocity.event-latency-sampling} system property is set, or it is turned on with
+   * {@code /velocity events on}. Handlers that are already running when sampling is turned off
+   * still have their latency recorded.
+   *
+   * @param latencySampling whether to record handler latencies
+   */
+  public void setLatencySampling(final boolean latencySampling) {
+    this.latencySampling = latencySampling;
+  }
+
+  /**
+   * Returns the latencies recorded for every registered handler, ordered by event type and then
+   * by the order the handlers run in.
+   *
+   * @return the handler latencies
+   */
+  public List<HandlerLatency> getHandlerLatencies() {
+    final List<HandlerRegistration> registrations;
+    lock.readLock().lock();
+    try {
+      registrations = new ArrayList<>(handlersByType.values());
+    } finally {
+      lock.readLock().unlock();
+    }
+    registrations.sort(Comparator.<HandlerRegistration, String>comparing(
+        registration -> registration.eventType.getName()).thenComparing(handlerComparator));
+
+    final List<HandlerLatency> latencies = new ArrayList<>(registrations.size());
+    for (final HandlerRegistration registration : registrations) {
+      latencies.add(new HandlerLatency(registration.eventType, registration.plugin,
+          registration.name, registration.latency));
+    }
+    return latencies;
+  }
+
+  /**
+   * Sets how long each handler of an event type may take before it is reported as overdue, and
+   * skipped if {@link #setSkipOverdueHandlers(boolean) enabled}. This replaces the deadline
+   * configured through system properties.
+   *
+   * @param eventType the event type, as it is fired
+   * @param deadline the deadline, or 0 for no limit
+   * @param unit the unit of the deadline
+   */
+  public void setHandlerDeadline(final Class<?> eventType, final long deadline,
+      final TimeUnit unit) {
+    requireNonNull(eventType, "eventType");
+    deadlineOverrides.put(eventType, unit.toNanos(Math.max(0, deadline)));
+    handlersCache.invalidate(eventType);
+  }
+
+  /**
+   * Sets whether firing moves on to the next handler once a handler's {@link EventTask} misses
+   * its deadline, rather than only reporting it. Handlers that block the thread they run on can
+   * not be skipped, and are reported once they return.
+   *
+   * @param skipOverdueHandlers whether to skip overdue handlers
+   */
+  public void setSkipOverdueHandlers(final boolean skipOverdueHandlers) {
+    this.skipOverdueHandlers = skipOverdueHandlers;
+  }
+
+  private long startSample(final long deadline) {
+    return latencySampling || deadline != 0 ? System.nanoTime() : NOT_SAMPLED;
+  }
+
+  private void handlerFinished(final HandlerRegistration registration, final Object event,
+      final long start, final long deadline) {
+    if (start == NOT_SAMPLED) {
+      return;
+    }
+    final long elapsed = System.nanoTime() - start;
+    if (latencySampling) {
+      registration.latency.record(elapsed);
+    }
+    if (deadline != 0 && elapsed > deadline) {
+      logger.warn("{} from {} took {}ms to handle {}, longer than its {}ms deadline",
+          registration.name, registration.plugin.getDescription().getId(),
+          TimeUnit.NANOSECONDS.toMillis(elapsed), event.getClass().getSimpleName(),
+          TimeUnit.NANOSECONDS.toMillis(deadline));
+    }
+  }
+
   @Override
   public void fireAndForget(final Object event) {
     requireNonNull(event, "event");
@@ -492,6 +664,10 @@ public class VelocityEventManager implements EventManager {
       // Optimization: nobody's listening.
       return;
     }
+    if (handlersCache.handlers[0].asyncType != AsyncType.ALWAYS) {
+      fireOnCurrentThread(false, event, handlersCache);
+      return;
+    }
     fire(null, event, handlersCache);
   }
 
@@ -503,44 +679,104 @@ public class VelocityEventManager implements EventManager {
       // Optimization: nobody's listening.
       return CompletableFuture.completedFuture(event);
     }
+    if (handlersCache.handlers[0].asyncType != AsyncType.ALWAYS) {
+      final CompletableFuture<E> future = fireOnCurrentThread(true, event, handlersCache);
+      // The completed future can't be cached: it holds this event, and callers may obtrude it.
+      return future != null ? future : CompletableFuture.completedFuture(event);
+    }
     final CompletableFuture<E> future = new CompletableFuture<>();
     fire(future, event, handlersCache);
     return future;
   }
 
+  /**
+   * Runs the handlers on the current thread for as long as they complete synchronously, which
+   * for most events is all of them. This allocates nothing itself unless a handler hands back an
+   * {@link EventTask}, in which case firing carries on like {@link #fire(CompletableFuture,
+   * Object, int, boolean, HandlerRegistration[], long)} from that handler onwards. When every
+   * handler has run, {@link #fire(Object)} still has to return a completed future.
+   *
+   * @return {@code null} if every handler has run, or else a future completed once they have, if
+   *     {@code wantFuture} is set
+   */
+  private <E> @Nullable CompletableFuture<E> fireOnCurrentThread(final boolean wantFuture,
+      final E event, final HandlersCache handlersCache) {
+    final HandlerRegistration[] registrations = handlersCache.handlers;
+    final long deadline = handlersCache.deadline;
+    for (int i = 0; i < registrations.length; i++) {
+      final HandlerRegistration registration = registrations[i];
+      final long start = startSample(deadline);
+      final EventTask eventTask;
+      try {
+        eventTask = registration.handler.executeAsync(event);
+      } catch (final Throwable t) {
+        handlerFinished(registration, event, start, deadline);
+        logHandlerException(registration, t);
+        continue;
+      }
+      if (eventTask == null) {
+        handlerFinished(registration, event, start, deadline);
+        continue;
+      }
+      final CompletableFuture<E> future = wantFuture ? new CompletableFuture<>() : null;
+      try {
+        if (!runTask(future, event, registrations, i, false, eventTask, start, deadline)) {
+          return future;
+        }
+      } catch (final Throwable t) {
+        handlerFinished(registration, event, start, deadline);
+        logHandlerException(registration, t);
+      }
+      fire(future, event, i + 1, false, registrations, deadline);
+      return future;
+    }
+    return null;
+  }
+
   private <E> void fire(final @Nullable CompletableFuture<E> future,
       final E event, final HandlersCache handlersCache) {
     final HandlerRegistration registration = handlersCache.handlers[0];
     if (registration.asyncType == AsyncType.ALWAYS) {
-      registration.plugin.getExecutorService().execute(
-          () -> fire(future, event, 0, true, handlersCache.handlers));
+      final long queued = startSample(handlersCache.deadline);
+      registration.plugin.getExecutorService().execute(() -> fire(future, event, 0, true,
+          handlersCache.handlers, handlersCache.deadline, queued));
     } else {
-      fire(future, event, 0, false, handlersCache.handlers);
+      fire(future, event, 0, false, handlersCache.handlers, handlersCache.deadline);
     }
   }
 
   private <E> void fire(final @Nullable CompletableFuture<E> future, final E event,
-      final int offset, final boolean currentlyAsync, final HandlerRegistration[] registrations) {
+      final int offset, final boolean currentlyAsync, final HandlerRegistration[] registrations,
+      final long deadline) {
+    fire(future, event, offset, currentlyAsync, registrations, deadline, startSample(deadline));
+  }
+
+  /**
+   * Runs the handlers from {@code offset} onwards. The handler at {@code offset} is timed from
+   * {@code offsetStart}, so that time spent queued on a plugin's executor before it could run
+   * counts towards its latency.
+   */
+  private <E> void fire(final @Nullable CompletableFuture<E> future, final E event,
+      final int offset, final boolean currentlyAsync, final HandlerRegistration[] registrations,
+      final long deadline, final long offsetStart) {
     for (int i = offset; i < registrations.length; i++) {
       final HandlerRegistration registration = registrations[i];
+      final long start = i == offset ? offsetStart : startSample(deadline);
       try {
         final EventTask eventTask = registration.handler.executeAsync(event);
         if (eventTask == null) {
+          handlerFinished(registration, event, start, deadline);
           continue;
         }
-        final ContinuationTask<E> continuationTask = new ContinuationTask<>(eventTask,
-            registrations, future, event, i, currentlyAsync);
-        if (currentlyAsync || !eventTask.requiresAsync()) {
-          if (continuationTask.execute()) {
-            continue;
-          }
-        } else {
-          registration.plugin.getExecutorService().execute(continuationTask);
+        if (runTask(future, event, registrations, i, currentlyAsync, eventTask, start,
+            deadline)) {
+          continue;
         }
         // fire will continue in another thread once the async task is
         // executed and the continuation is resumed
         return;
       } catch (final Throwable t) {
+        handlerFinished(registration, event, start, deadline);
         logHandlerException(registration, t);
       }
     }
@@ -549,6 +785,28 @@ public class VelocityEventManager implements EventManager {
     }
   }
 
+  /**
+   * Runs the task handed back by the handler at {@code index}, which was invoked at
+   * {@code start}. If there is a deadline, the watchdog keeps an eye on the task until it
+   * resumes.
+   *
+   * @return whether the task completed right away and the next handler may run immediately
+   */
+  private <E> boolean runTask(final @Nullable CompletableFuture<E> future, final E event,
+      final HandlerRegistration[] registrations, final int index, final boolean currentlyAsync,
+      final EventTask eventTask, final long start, final long deadline) {
+    final ContinuationTask<E> continuationTask = new ContinuationTask<>(eventTask,
+        registrations, future, event, index, currentlyAsync, start, deadline);
+    if (deadline != 0) {
+      continuationTask.watch();
+    }
+    if (currentlyAsync || !eventTask.requiresAsync()) {
+      return continuationTask.execute();
+    }
+    registrations[index].plugin.getExecutorService().execute(continuationTask);
+    return false;
+  }
+
   private static final int TASK_STATE_DEFAULT = 0;
   private static final int TASK_STATE_EXECUTING = 1;
   private static final int TASK_STATE_CONTINUE_IMMEDIATELY = 2;
@@ -576,6 +834,11 @@ public class VelocityEventManager implements EventManager {
     private final boolean currentlyAsync;
     private final E event;
     private final Thread firedOnThread;
+    private final long start;
+    private final long deadline;
+    private volatile @Nullable ScheduledFuture<?> timeout;
+    private volatile boolean overdue;
+    private volatile boolean skipped;
 
     // This field is modified via a VarHandle, so this field is used and cannot be final.
     private volatile int state = TASK_STATE_DEFAULT;
@@ -590,7 +853,9 @@ public class VelocityEventManager implements EventManager {
         final @Nullable CompletableFuture<E> future,
         final E event,
         final int index,
-        final boolean currentlyAsync) {
+        final boolean currentlyAsync,
+        final long start,
+        final long deadline) {
       this.task = task;
       this.registrations = registrations;
       this.future = future;
@@ -598,15 +863,46 @@ public class VelocityEventManager implements EventManager {
       this.index = index;
       this.currentlyAsync = currentlyAsync;
       this.firedOnThread = Thread.currentThread();
+      this.start = start;
+      this.deadline = deadline;
     }
 
     @Override
     public void run() {
       if (execute()) {
-        fire(future, event, index + 1, currentlyAsync, registrations);
+        fire(future, event, index + 1, currentlyAsync, registrations, deadline);
       }
     }
 
+    void watch() {
+      timeout = watchdog.schedule(this::expire,
+          deadline - (System.nanoTime() - start), TimeUnit.NANOSECONDS);
+    }
+
+    private void expire() {
+      if (resumed) {
+        return;
+      }
+      overdue = true;
+      final HandlerRegistration registration = registrations[index];
+      final String plugin = registration.plugin.getDescription().getId();
+      final long deadlineMillis = TimeUnit.NANOSECONDS.toMillis(deadline);
+      if (!skipOverdueHandlers) {
+        logger.warn("{} from {} has not finished handling {} within its {}ms deadline",
+            registration.name, plugin, event.getClass().getSimpleName(), deadlineMillis);
+        return;
+      }
+      skipped = true;
+      if (!CONTINUATION_TASK_RESUMED.compareAndSet(this, false, true)) {
+        return;
+      }
+      logger.warn("{} from {} has not finished handling {} within its {}ms deadline, moving on"
+          + " without it", registration.name, plugin, event.getClass().getSimpleName(),
+          deadlineMillis);
+      handlerFinished(registration, event, start, 0);
+      proceed();
+    }
+
     /**
      * Executes the task and returns whether the next handler should be executed immediately
      * after this one, without additional scheduling.
@@ -631,8 +927,8 @@ public class VelocityEventManager implements EventManager {
 
     void resume(final @Nullable Throwable exception, final boolean validateOnlyOnce) {
       final boolean changed = CONTINUATION_TASK_RESUMED.compareAndSet(this, false, true);
-      // Only allow the continuation to be resumed once
-      if (!changed && validateOnlyOnce) {
+      // Only allow the continuation to be resumed once, unless the watchdog got there first
+      if (!changed && validateOnlyOnce && !skipped) {
         throw new IllegalStateException("The continuation can only be resumed once.");
       }
       final HandlerRegistration registration = registrations[index];
@@ -642,6 +938,15 @@ public class VelocityEventManager implements EventManager {
       if (!changed) {
         return;
       }
+      final ScheduledFuture<?> timeout = this.timeout;
+      if (timeout != null) {
+        timeout.cancel(false);
+      }
+      handlerFinished(registration, event, start, overdue ? 0 : deadline);
+      proceed();
+    }
+
+    private void proceed() {
       if (index + 1 == registrations.length) {
         // Optimization: don't schedule a task just to complete the future
         if (future != null) {
@@ -658,10 +963,11 @@ public class VelocityEventManager implements EventManager {
         final HandlerRegistration next = registrations[index + 1];
         final Thread currentThread = Thread.currentThread();
         if (currentThread == firedOnThread && next.asyncType != AsyncType.ALWAYS) {
-          fire(future, event, index + 1, currentlyAsync, registrations);
+          fire(future, event, index + 1, currentlyAsync, registrations, deadline);
         } else {
+          final long queued = startSample(deadline);
           next.plugin.getExecutorService().execute(() ->
-              fire(future, event, index + 1, true, registrations));
+              fire(future, event, index + 1, true, registrations, deadline, queued));
         }
       }
     }
@@ -18,6 +18,7 @@
 package com.velocitypowered.proxy.network;
 
 import static com.velocitypowered.proxy.network.Connections.FLOW_HANDLER;
+import static com.velocitypowered.proxy.network.Connections.FLUSH_COALESCER;
 import static com.velocitypowered.proxy.network.Connections.FRAME_DECODER;
 import static com.velocitypowered.proxy.network.Connections.FRAME_ENCODER;
 import static com.velocitypowered.proxy.network.Connections.MINECRAFT_DECODER;
@@ -27,6 +28,7 @@ import static com.velocitypowered.proxy.network.Connections.READ_TIMEOUT;
 import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.netty.AutoReadHolderHandler;
+import com.velocitypowered.proxy.protocol.netty.FlushCoalescingHandler;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintFrameDecoder;
@@ -51,7 +53,8 @@ public class BackendChannelInitializer extends ChannelInitializer<Channel> {
   @Override
   protected void initChannel(final Channel ch) {
     ch.pipeline()
-        .addLast(FRAME_DECODER, new MinecraftVarintFrameDecoder())
+        .addLast(FRAME_DECODER,
+            new MinecraftVarintFrameDecoder(ProtocolUtils.Direction.CLIENTBOUND))
         .addLast(READ_TIMEOUT,
             new ReadTimeoutHandler(server.getConfiguration().getReadTimeout(),
                 TimeUnit.MILLISECONDS))
@@ -61,5 +64,10 @@ public class BackendChannelInitializer extends ChannelInitializer<Channel> {
         .addLast(FLOW_HANDLER, new AutoReadHolderHandler())
         .addLast(MINECRAFT_ENCODER,
             new MinecraftEncoder(ProtocolUtils.Direction.SERVERBOUND));
+
+    if (FlushCoalescingHandler.ENABLED) {
+      ch.pipeline().addLast(FLUSH_COALESCER,
+          new FlushCoalescingHandler(FlushCoalescingHandler.MAX_PENDING_FLUSHES));
+    }
   }
 }
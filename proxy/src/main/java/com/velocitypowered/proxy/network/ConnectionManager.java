@@ -32,14 +32,17 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.net.http.HttpClient;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessageFactory;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -51,9 +54,9 @@ public final class ConnectionManager {
       1 << 21);
   private static final Logger LOGGER = LogManager.getLogger(ConnectionManager.class, new ParameterizedMessageFactory());
   private final Map<InetSocketAddress, Endpoint> endpoints = new HashMap<>();
-  private final TransportType transportType;
-  private final EventLoopGroup bossGroup;
-  private final EventLoopGroup workerGroup;
+  private @MonotonicNonNull TransportType transportType;
+  private @MonotonicNonNull EventLoopGroup bossGroup;
+  private @MonotonicNonNull EventLoopGroup workerGroup;
   private final VelocityServer server;
   // These are intentionally made public for plugins like ViaVersion, which inject their own
   // protocol logic into the proxy.
@@ -69,9 +72,6 @@ public final class ConnectionManager {
    */
   public ConnectionManager(final VelocityServer server) {
     this.server = server;
-    this.transportType = TransportType.bestType();
-    this.bossGroup = this.transportType.createEventLoopGroup(TransportType.Type.BOSS);
-    this.workerGroup = this.transportType.createEventLoopGroup(TransportType.Type.WORKER);
     this.serverChannelInitializer = new ServerChannelInitializerHolder(
         new ServerChannelInitializer(this.server));
     this.backendChannelInitializer = new BackendChannelInitializerHolder(
@@ -79,6 +79,20 @@ public final class ConnectionManager {
     this.resolver = new SeparatePoolInetNameResolver(GlobalEventExecutor.INSTANCE);
   }
 
+  /**
+   * Selects the transport and creates the event loops. This happens once the configuration has
+   * been loaded, as backend connections share the event loop of the player they belong to, and so
+   * must use a transport that can also connect to any Unix domain socket servers.
+   *
+   * @param domainSockets whether any backend server is reached over a Unix domain socket
+   */
+  public void initialize(final boolean domainSockets) {
+    Preconditions.checkState(this.transportType == null, "already initialized");
+    this.transportType = TransportType.bestType(domainSockets);
+    this.bossGroup = this.transportType.createEventLoopGroup(TransportType.Type.BOSS);
+    this.workerGroup = this.transportType.createEventLoopGroup(TransportType.Type.WORKER);
+  }
+
   public void logChannelInformation() {
     LOGGER.info("Connections will use {} channels, {} compression, {} ciphers", this.transportType,
         Natives.compress.getLoadedVariant(), Natives.cipher.getLoadedVariant());
@@ -174,6 +188,26 @@ public final class ConnectionManager {
     return bootstrap;
   }
 
+  /**
+   * Creates a {@link Bootstrap} using Velocity's event loops, suitable for connecting to
+   * {@code target}. Unix domain socket targets get a domain socket channel; all other targets
+   * are handled by {@link #createWorker(EventLoopGroup)}.
+   *
+   * @param group the event loop group to use. Use {@code null} for the default worker group.
+   * @param target the address that will be connected to
+   * @return a new {@link Bootstrap}
+   */
+  public Bootstrap createWorker(@Nullable final EventLoopGroup group, final SocketAddress target) {
+    if (!(target instanceof DomainSocketAddress)) {
+      return createWorker(group);
+    }
+    return new Bootstrap()
+        .channelFactory(this.transportType.domainSocketChannelFactory)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+            this.server.getConfiguration().getConnectTimeout())
+        .group(group == null ? this.workerGroup : group);
+  }
+
   /**
    * Closes the specified {@code oldBind} endpoint.
    *
@@ -235,6 +269,14 @@ public final class ConnectionManager {
     return bossGroup;
   }
 
+  public TransportType getTransportType() {
+    return transportType;
+  }
+
+  public EventLoopGroup getWorkerGroup() {
+    return workerGroup;
+  }
+
   public ServerChannelInitializerHolder getServerChannelInitializer() {
     return this.serverChannelInitializer;
   }
@@ -245,8 +287,9 @@ public final class ConnectionManager {
    * @return an HTTP client instance.
    */
   public HttpClient createHttpClient() {
+    // The client may be created before the event loops are, so look the group up on each use.
     return HttpClient.newBuilder()
-            .executor(this.workerGroup)
+            .executor(command -> this.workerGroup.execute(command))
             .build();
   }
 
@@ -27,6 +27,7 @@ public final class Connections {
   public static final String COMPRESSION_DECODER = "compression-decoder";
   public static final String COMPRESSION_ENCODER = "compression-encoder";
   public static final String FLOW_HANDLER = "flow-handler";
+  public static final String FLUSH_COALESCER = "flush-coalescer";
   public static final String FRAME_DECODER = "frame-decoder";
   public static final String FRAME_ENCODER = "frame-encoder";
   public static final String HANDLER = "handler";
@@ -18,15 +18,18 @@
 package com.velocitypowered.proxy.network;
 
 import com.velocitypowered.proxy.util.concurrent.VelocityNettyThreadFactory;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.kqueue.KQueue;
 import io.netty.channel.kqueue.KQueueDatagramChannel;
+import io.netty.channel.kqueue.KQueueDomainSocketChannel;
 import io.netty.channel.kqueue.KQueueEventLoopGroup;
 import io.netty.channel.kqueue.KQueueServerSocketChannel;
 import io.netty.channel.kqueue.KQueueSocketChannel;
@@ -37,8 +40,17 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringDatagramChannel;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Enumerates the supported transports for Velocity.
@@ -47,32 +59,52 @@ public enum TransportType {
   NIO("NIO", NioServerSocketChannel::new,
       NioSocketChannel::new,
       NioDatagramChannel::new,
-      (name, type) -> new NioEventLoopGroup(0, createThreadFactory(name, type))),
+      unsupportedDomainSocket("NIO"),
+      (name, type) -> new NioEventLoopGroup(0, createThreadFactory(name, type)),
+      () -> true),
   EPOLL("epoll", EpollServerSocketChannel::new,
       EpollSocketChannel::new,
       EpollDatagramChannel::new,
-      (name, type) -> new EpollEventLoopGroup(0, createThreadFactory(name, type))),
+      EpollDomainSocketChannel::new,
+      (name, type) -> new EpollEventLoopGroup(0, createThreadFactory(name, type)),
+      Epoll::isAvailable),
   KQUEUE("kqueue", KQueueServerSocketChannel::new,
       KQueueSocketChannel::new,
       KQueueDatagramChannel::new,
-      (name, type) -> new KQueueEventLoopGroup(0, createThreadFactory(name, type)));
+      KQueueDomainSocketChannel::new,
+      (name, type) -> new KQueueEventLoopGroup(0, createThreadFactory(name, type)),
+      KQueue::isAvailable),
+  IO_URING("io_uring", IOUringServerSocketChannel::new,
+      IOUringSocketChannel::new,
+      IOUringDatagramChannel::new,
+      unsupportedDomainSocket("io_uring"),
+      (name, type) -> new IOUringEventLoopGroup(0, createThreadFactory(name, type)),
+      IOUring::isAvailable);
+
+  private static final Logger logger = LogManager.getLogger(TransportType.class);
 
   final String name;
   final ChannelFactory<? extends ServerSocketChannel> serverSocketChannelFactory;
   final ChannelFactory<? extends SocketChannel> socketChannelFactory;
   final ChannelFactory<? extends DatagramChannel> datagramChannelFactory;
+  final ChannelFactory<? extends Channel> domainSocketChannelFactory;
   final BiFunction<String, Type, EventLoopGroup> eventLoopGroupFactory;
+  private final BooleanSupplier availability;
 
   TransportType(final String name,
       final ChannelFactory<? extends ServerSocketChannel> serverSocketChannelFactory,
       final ChannelFactory<? extends SocketChannel> socketChannelFactory,
       final ChannelFactory<? extends DatagramChannel> datagramChannelFactory,
-      final BiFunction<String, Type, EventLoopGroup> eventLoopGroupFactory) {
+      final ChannelFactory<? extends Channel> domainSocketChannelFactory,
+      final BiFunction<String, Type, EventLoopGroup> eventLoopGroupFactory,
+      final BooleanSupplier availability) {
     this.name = name;
     this.serverSocketChannelFactory = serverSocketChannelFactory;
     this.socketChannelFactory = socketChannelFactory;
     this.datagramChannelFactory = datagramChannelFactory;
+    this.domainSocketChannelFactory = domainSocketChannelFactory;
     this.eventLoopGroupFactory = eventLoopGroupFactory;
+    this.availability = availability;
   }
 
   @Override
@@ -84,20 +116,73 @@ public enum TransportType {
     return this.eventLoopGroupFactory.apply(this.name, type);
   }
 
+  private static ChannelFactory<Channel> unsupportedDomainSocket(final String name) {
+    // Failing here makes the connect attempt fail with this message, rather than throwing.
+    return () -> {
+      throw new UnsupportedOperationException("Unix domain sockets are not supported by the "
+          + name + " transport, use -Dvelocity.transport=epoll to connect to this server");
+    };
+  }
+
   private static ThreadFactory createThreadFactory(final String name, final Type type) {
     return new VelocityNettyThreadFactory("Netty " + name + ' ' + type.toString() + " #%d");
   }
 
   /**
-   * Determines the "best" transport to initialize.
+   * Determines whether this transport can connect to Unix domain sockets. Only the epoll and
+   * kqueue transports provide domain socket channels.
+   *
+   * @return whether this transport supports Unix domain sockets
+   */
+  public boolean supportsDomainSockets() {
+    return this == EPOLL || this == KQUEUE;
+  }
+
+  /**
+   * Determines whether this transport can be used on the current platform.
+   *
+   * @return whether this transport is available
+   */
+  public boolean isAvailable() {
+    return this.availability.getAsBoolean();
+  }
+
+  /**
+   * Determines the "best" transport to initialize. A specific transport may be requested using
+   * the {@code velocity.transport} system property; if it is not available, the best available
+   * transport is used instead.
+   *
+   * <p>Otherwise, io_uring is skipped in favour of epoll when {@code domainSockets} is set, as
+   * it cannot connect to Unix domain sockets.</p>
    *
+   * @param domainSockets whether the transport must be able to connect to Unix domain sockets
    * @return the transport to use
    */
-  public static TransportType bestType() {
+  public static TransportType bestType(final boolean domainSockets) {
     if (Boolean.getBoolean("velocity.disable-native-transport")) {
       return NIO;
     }
 
+    String requested = System.getProperty("velocity.transport");
+    if (requested != null) {
+      TransportType type = byName(requested);
+      if (type == null) {
+        logger.warn("Unknown transport {} requested, selecting one automatically", requested);
+      } else if (!type.isAvailable()) {
+        logger.warn("Transport {} was requested but is not available on this system, "
+            + "selecting one automatically", type);
+      } else {
+        return type;
+      }
+    }
+
+    if (IOUring.isAvailable()) {
+      if (!domainSockets || !Epoll.isAvailable()) {
+        return IO_URING;
+      }
+      logger.info("Using epoll instead of io_uring, as Unix domain socket servers are configured");
+    }
+
     if (Epoll.isAvailable()) {
       return EPOLL;
     }
@@ -109,6 +194,15 @@ public enum TransportType {
     return NIO;
   }
 
+  private static @Nullable TransportType byName(final String name) {
+    for (TransportType type : values()) {
+      if (type.name.equalsIgnoreCase(name) || type.name().equalsIgnoreCase(name)) {
+        return type;
+      }
+    }
+    return null;
+  }
+
   /**
    * Event loop group types.
    */
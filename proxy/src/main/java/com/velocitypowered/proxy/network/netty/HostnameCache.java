@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network.netty;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches host name lookups. Concurrent lookups of the same host share a single blocking lookup,
+ * and an entry past its time to live is still served for a while longer as long as a background
+ * lookup refreshes it, so that callers only ever wait for hosts that were never resolved or have
+ * gone unused for a long time.
+ */
+public final class HostnameCache {
+
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder STALE_HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+  private static final LongAdder COALESCED = new LongAdder();
+  private static final LongAdder REFRESHES = new LongAdder();
+  private static final LongAdder FAILURES = new LongAdder();
+
+  /**
+   * Performs a blocking lookup of every address of a host.
+   */
+  @FunctionalInterface
+  interface Lookup {
+
+    List<InetAddress> lookup(String host) throws Exception;
+  }
+
+  private record Entry(List<InetAddress> addresses, long resolvedAt) {
+
+  }
+
+  private final Lookup lookup;
+  private final Executor executor;
+  private final long ttlNanos;
+  private final long maxStaleNanos;
+  private final LongSupplier nanoTime;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<List<InetAddress>>> inFlight =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Creates a host name cache.
+   *
+   * @param lookup the blocking lookup to perform
+   * @param executor the executor the lookups run on
+   * @param ttlMillis how long a lookup is used without refreshing it
+   * @param maxStaleMillis how long past its time to live a lookup may still be served while it is
+   *                       refreshed
+   * @param nanoTime the clock
+   */
+  HostnameCache(final Lookup lookup, final Executor executor, final long ttlMillis,
+      final long maxStaleMillis, final LongSupplier nanoTime) {
+    this.lookup = lookup;
+    this.executor = executor;
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    this.maxStaleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxStaleMillis));
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * Resolves every address of {@code host}.
+   *
+   * @param host the host to resolve
+   * @return a future completed with the addresses of the host
+   */
+  CompletableFuture<List<InetAddress>> resolve(final String host) {
+    final Entry entry = entries.get(host);
+    if (entry != null) {
+      final long age = nanoTime.getAsLong() - entry.resolvedAt;
+      if (age < ttlNanos) {
+        HITS.increment();
+        return CompletableFuture.completedFuture(entry.addresses);
+      }
+      if (age < ttlNanos + maxStaleNanos) {
+        STALE_HITS.increment();
+        lookup(host, true);
+        return CompletableFuture.completedFuture(entry.addresses);
+      }
+      entries.remove(host, entry);
+    }
+    MISSES.increment();
+    return lookup(host, false);
+  }
+
+  private CompletableFuture<List<InetAddress>> lookup(final String host, final boolean refresh) {
+    final CompletableFuture<List<InetAddress>> existing = inFlight.get(host);
+    if (existing != null) {
+      COALESCED.increment();
+      return existing;
+    }
+
+    final CompletableFuture<List<InetAddress>> future = new CompletableFuture<>();
+    final CompletableFuture<List<InetAddress>> raced = inFlight.putIfAbsent(host, future);
+    if (raced != null) {
+      COALESCED.increment();
+      return raced;
+    }
+    if (refresh) {
+      REFRESHES.increment();
+    }
+
+    try {
+      executor.execute(() -> {
+        try {
+          final List<InetAddress> addresses = List.copyOf(lookup.lookup(host));
+          entries.put(host, new Entry(addresses, nanoTime.getAsLong()));
+          inFlight.remove(host, future);
+          future.complete(addresses);
+        } catch (Throwable e) {
+          // A failed refresh leaves the stale entry in place until it runs out.
+          FAILURES.increment();
+          inFlight.remove(host, future);
+          future.completeExceptionally(e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      inFlight.remove(host, future);
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  @VisibleForTesting
+  int size() {
+    return entries.size();
+  }
+
+  public static long hits() {
+    return HITS.sum();
+  }
+
+  public static long staleHits() {
+    return STALE_HITS.sum();
+  }
+
+  public static long misses() {
+    return MISSES.sum();
+  }
+
+  public static long coalesced() {
+    return COALESCED.sum();
+  }
+
+  public static long refreshes() {
+    return REFRESHES.sum();
+  }
+
+  public static long failures() {
+    return FAILURES.sum();
+  }
+}
@@ -17,37 +17,37 @@
 
 package com.velocitypowered.proxy.network.netty;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.resolver.AddressResolver;
 import io.netty.resolver.AddressResolverGroup;
-import io.netty.resolver.DefaultNameResolver;
 import io.netty.resolver.InetNameResolver;
 import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
-import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.concurrent.Promise;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.TimeUnit;
 
 /**
  * An implementation of {@code InetNameResolver} that performs blocking DNS name lookups
  * in a separate thread, avoiding blocking the Netty threads for an extended period of time
- * and without the downsides of Netty's native DNS resolver.
+ * and without the downsides of Netty's native DNS resolver. Lookups are cached by a
+ * {@link HostnameCache}, so concurrent connections to the same host share one lookup.
  */
 public final class SeparatePoolInetNameResolver extends InetNameResolver {
 
+  private static final int RESOLVER_THREADS =
+      Integer.getInteger("velocity.dns-resolver-threads", 2);
+  private static final long CACHE_TTL = Long.getLong("velocity.dns-cache-ttl", 30_000);
+  private static final long CACHE_MAX_STALE = Long.getLong("velocity.dns-cache-max-stale",
+      300_000);
+
   private final ExecutorService resolveExecutor;
-  private final InetNameResolver delegate;
-  private final Cache<String, List<InetAddress>> cache;
+  private final HostnameCache cache;
   private AddressResolverGroup<InetSocketAddress> resolverGroup;
 
   /**
@@ -58,58 +58,42 @@ public final class SeparatePoolInetNameResolver extends InetNameResolver {
    */
   public SeparatePoolInetNameResolver(final EventExecutor executor) {
     super(executor);
-    this.resolveExecutor = Executors.newSingleThreadExecutor(
+    this.resolveExecutor = Executors.newFixedThreadPool(Math.max(1, RESOLVER_THREADS),
         new ThreadFactoryBuilder()
-            .setNameFormat("Velocity DNS Resolver")
+            .setNameFormat("Velocity DNS Resolver #%d")
             .setDaemon(true)
             .build());
-    this.delegate = new DefaultNameResolver(executor);
-    this.cache = Caffeine.newBuilder()
-        .expireAfterWrite(30, TimeUnit.SECONDS)
-        .build();
+    this.cache = new HostnameCache(host -> Arrays.asList(InetAddress.getAllByName(host)),
+        resolveExecutor, CACHE_TTL, CACHE_MAX_STALE, System::nanoTime);
   }
 
   @Override
   protected void doResolve(final String inetHost, final Promise<InetAddress> promise) {
-    List<InetAddress> addresses = cache.getIfPresent(inetHost);
-    if (addresses != null) {
-      promise.trySuccess(addresses.get(0));
-      return;
-    }
-
-    try {
-      resolveExecutor.execute(() -> {
-        promise.addListener(future -> {
-          if (future.isSuccess()) {
-            cache.put(inetHost, ImmutableList.of((InetAddress) future.getNow()));
-          }
-        });
-        this.delegate.resolve(inetHost, promise);
-      });
-    } catch (RejectedExecutionException e) {
-      promise.setFailure(e);
-    }
+    cache.resolve(inetHost).whenComplete((addresses, cause) -> {
+      if (cause == null) {
+        promise.trySuccess(addresses.get(0));
+      } else {
+        promise.tryFailure(unwrap(cause));
+      }
+    });
   }
 
   @Override
   protected void doResolveAll(final String inetHost, final Promise<List<InetAddress>> promise) {
-    List<InetAddress> addresses = cache.getIfPresent(inetHost);
-    if (addresses != null) {
-      promise.trySuccess(addresses);
-      return;
-    }
+    cache.resolve(inetHost).whenComplete((addresses, cause) -> {
+      if (cause == null) {
+        promise.trySuccess(addresses);
+      } else {
+        promise.tryFailure(unwrap(cause));
+      }
+    });
+  }
 
-    try {
-      promise.addListener((GenericFutureListener<Future<List<InetAddress>>>) future -> {
-        if (future.isSuccess()) {
-          List<InetAddress> result = future.getNow();
-          cache.put(inetHost, Collections.unmodifiableList(result));
-        }
-      });
-      resolveExecutor.execute(() -> this.delegate.resolveAll(inetHost, promise));
-    } catch (RejectedExecutionException e) {
-      promise.setFailure(e);
+  private static Throwable unwrap(final Throwable cause) {
+    if (cause instanceof CompletionException && cause.getCause() != null) {
+      return cause.getCause();
     }
+    return cause;
   }
 
   public void shutdown() {
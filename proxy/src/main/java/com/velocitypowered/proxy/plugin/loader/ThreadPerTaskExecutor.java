@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.plugin.loader;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Runs every task on a thread of its own, meant to be used with virtual threads, while letting
+ * only a limited number of tasks run at once. Tasks past that limit wait in a queue, so a plugin
+ * blocking on slow I/O under load piles up cheap queued tasks rather than threads.
+ */
+final class ThreadPerTaskExecutor extends AbstractExecutorService {
+
+  private final ThreadFactory threadFactory;
+  private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+  private final Set<Thread> running = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger permits;
+  // Queued and running tasks.
+  private final AtomicInteger live = new AtomicInteger();
+  private final Object terminationLock = new Object();
+  private volatile boolean shutdown;
+
+  ThreadPerTaskExecutor(final ThreadFactory threadFactory, final int maxConcurrency) {
+    this.threadFactory = threadFactory;
+    this.permits = new AtomicInteger(Math.max(1, maxConcurrency));
+  }
+
+  /**
+   * Creates a factory of virtual threads named {@code prefix} followed by a counter, if the
+   * runtime supports virtual threads.
+   *
+   * @param prefix the prefix of thread names
+   * @return a virtual thread factory, or {@code null} if virtual threads are not available
+   */
+  static @Nullable ThreadFactory virtualThreadFactory(final String prefix) {
+    // Velocity is built against Java 17, so virtual threads have to be reached reflectively.
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = builderClass.getMethod("name", String.class, long.class)
+          .invoke(builder, prefix, 0L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public void execute(final Runnable command) {
+    requireNonNull(command, "command");
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor has been shut down");
+    }
+    live.incrementAndGet();
+    queue.add(command);
+    drain();
+  }
+
+  private void drain() {
+    while (!queue.isEmpty() && tryAcquirePermit()) {
+      Runnable task = queue.poll();
+      if (task == null) {
+        permits.incrementAndGet();
+        continue;
+      }
+      start(task);
+    }
+  }
+
+  private boolean tryAcquirePermit() {
+    while (true) {
+      int available = permits.get();
+      if (available == 0) {
+        return false;
+      }
+      if (permits.compareAndSet(available, available - 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void start(final Runnable task) {
+    Thread thread = threadFactory.newThread(() -> {
+      try {
+        task.run();
+      } finally {
+        running.remove(Thread.currentThread());
+        finished();
+      }
+    });
+    running.add(thread);
+    try {
+      thread.start();
+    } catch (Throwable t) {
+      running.remove(thread);
+      finished();
+      throw t;
+    }
+  }
+
+  private void finished() {
+    permits.incrementAndGet();
+    if (live.decrementAndGet() == 0 && shutdown) {
+      signalTermination();
+    }
+    drain();
+  }
+
+  private void signalTermination() {
+    synchronized (terminationLock) {
+      terminationLock.notifyAll();
+    }
+  }
+
+  /**
+   * Returns the number of tasks that are running or waiting to run.
+   *
+   * @return the number of live tasks
+   */
+  int getLiveTasks() {
+    return live.get();
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    if (live.get() == 0) {
+      signalTermination();
+    }
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown = true;
+    List<Runnable> pending = new ArrayList<>();
+    Runnable task;
+    while ((task = queue.poll()) != null) {
+      pending.add(task);
+      live.decrementAndGet();
+    }
+    for (Thread thread : running) {
+      thread.interrupt();
+    }
+    if (live.get() == 0) {
+      signalTermination();
+    }
+    return pending;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && live.get() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(final long timeout, final TimeUnit unit)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (terminationLock) {
+      while (!isTerminated()) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(terminationLock, remaining);
+      }
+      return true;
+    }
+  }
+}
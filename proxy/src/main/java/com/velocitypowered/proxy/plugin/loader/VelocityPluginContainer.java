@@ -23,15 +23,31 @@ import com.velocitypowered.api.plugin.PluginDescription;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * Implements {@link PluginContainer}.
  */
 public class VelocityPluginContainer implements PluginContainer {
 
+  private static final Logger logger = LogManager.getLogger(VelocityPluginContainer.class);
+
+  // Runs plugin tasks on virtual threads, when the runtime has them.
+  private static final boolean VIRTUAL_THREADS =
+      Boolean.getBoolean("velocity.plugin-virtual-threads");
+  private static final int MAX_CONCURRENT_TASKS =
+      Integer.getInteger("velocity.plugin-max-concurrent-tasks", 256);
+
   private final PluginDescription description;
   private Object instance;
   private volatile ExecutorService service;
+  private volatile IntSupplier liveTasks = () -> 0;
 
   public VelocityPluginContainer(final PluginDescription description) {
     this.description = description;
@@ -57,14 +73,7 @@ public class VelocityPluginContainer implements PluginContainer {
       synchronized (this) {
         if (this.service == null) {
           String name = this.description.getName().orElse(this.description.getId());
-          this.service = Executors.unconfigurableExecutorService(
-              Executors.newCachedThreadPool(
-                new ThreadFactoryBuilder().setDaemon(true)
-                    .setNameFormat(name + " - Task Executor #%d")
-                    .setDaemon(true)
-                    .build()
-              )
-          );
+          this.service = createExecutorService(name);
         }
       }
     }
@@ -72,6 +81,42 @@ public class VelocityPluginContainer implements PluginContainer {
     return this.service;
   }
 
+  private ExecutorService createExecutorService(final String name) {
+    if (VIRTUAL_THREADS) {
+      ThreadFactory factory = ThreadPerTaskExecutor.virtualThreadFactory(
+          name + " - Task Executor #");
+      if (factory != null) {
+        int maxConcurrency = Integer.getInteger(
+            "velocity.plugin-max-concurrent-tasks." + this.description.getId(),
+            MAX_CONCURRENT_TASKS);
+        ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(factory, maxConcurrency);
+        this.liveTasks = executor::getLiveTasks;
+        return executor;
+      }
+      logger.warn("Virtual threads are not available on this Java version, plugin {} will use "
+          + "regular threads", this.description.getId());
+    }
+
+    // Equivalent to Executors.newCachedThreadPool, but keeping hold of the pool to report on it.
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+        new SynchronousQueue<>(),
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat(name + " - Task Executor #%d")
+            .setDaemon(true)
+            .build());
+    this.liveTasks = pool::getActiveCount;
+    return Executors.unconfigurableExecutorService(pool);
+  }
+
+  /**
+   * Returns the number of tasks currently running on, or waiting for, this plugin's executor.
+   *
+   * @return the number of live tasks
+   */
+  public int getLiveTasks() {
+    return this.liveTasks.getAsInt();
+  }
+
   public boolean hasExecutorService() {
     return this.service != null;
   }
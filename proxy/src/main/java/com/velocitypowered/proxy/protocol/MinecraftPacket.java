@@ -41,4 +41,16 @@ public interface MinecraftPacket {
       ProtocolVersion version) {
     return 0;
   }
+
+  /**
+   * Estimates how many bytes {@link #encode} will write for this packet. Packets that return
+   * {@code -1} are sized from the encoded sizes previously seen for their type.
+   *
+   * @param direction the direction the packet is encoded for
+   * @param version the protocol version the packet is encoded for
+   * @return the estimated encoded size, or {@code -1} if unknown
+   */
+  default int encodedSizeHint(ProtocolUtils.Direction direction, ProtocolVersion version) {
+    return -1;
+  }
 }
@@ -117,6 +117,8 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -752,6 +754,13 @@ public enum StateRegistry {
   protected final PacketRegistry clientbound = new PacketRegistry(CLIENTBOUND, this);
   protected final PacketRegistry serverbound = new PacketRegistry(SERVERBOUND, this);
 
+  static {
+    for (StateRegistry state : values()) {
+      state.clientbound.compact();
+      state.serverbound.compact();
+    }
+  }
+
   public StateRegistry.PacketRegistry.ProtocolRegistry getProtocolRegistry(final Direction direction,
       final ProtocolVersion version) {
     return (direction == SERVERBOUND ? serverbound : clientbound).getProtocolRegistry(version);
@@ -781,6 +790,7 @@ public enum StateRegistry {
     private final StateRegistry registry;
     private final Map<ProtocolVersion, ProtocolRegistry> versions;
     private boolean fallback = true;
+    private boolean compacted;
 
     PacketRegistry(final Direction direction, final StateRegistry registry) {
       this.direction = direction;
@@ -797,6 +807,7 @@ public enum StateRegistry {
     }
 
     ProtocolRegistry getProtocolRegistry(final ProtocolVersion version) {
+      compact();
       ProtocolRegistry registry = versions.get(version);
       if (registry == null) {
         if (fallback) {
@@ -809,6 +820,10 @@ public enum StateRegistry {
 
     <P extends MinecraftPacket> void register(final Class<P> clazz, final Supplier<P> packetSupplier,
                                               final PacketMapping... mappings) {
+      if (compacted) {
+        throw new IllegalStateException(
+            "Packets cannot be registered after the registry is in use");
+      }
       if (mappings.length == 0) {
         throw new IllegalArgumentException("At least one mapping must be provided.");
       }
@@ -872,16 +887,37 @@ public enum StateRegistry {
       }
     }
 
+    /**
+     * Replaces the per-version registration tables with compact lookup tables. Versions with
+     * identical packet mappings share a single {@link PacketTable}. No packets may be registered
+     * afterwards.
+     */
+    void compact() {
+      if (compacted) {
+        return;
+      }
+      Map<List<Object>, PacketTable> tables = new HashMap<>();
+      for (ProtocolRegistry registry : this.versions.values()) {
+        registry.table = tables.computeIfAbsent(
+            List.of(registry.packetIdToSupplier, registry.packetClassToId),
+            key -> new PacketTable(registry.packetIdToSupplier, registry.packetClassToId));
+        registry.packetIdToSupplier = null;
+        registry.packetClassToId = null;
+      }
+      compacted = true;
+    }
+
     /**
      * Protocol registry.
      */
     public class ProtocolRegistry {
 
       public final ProtocolVersion version;
-      final IntObjectMap<Supplier<? extends MinecraftPacket>> packetIdToSupplier =
+      IntObjectMap<Supplier<? extends MinecraftPacket>> packetIdToSupplier =
           new IntObjectHashMap<>(16, 0.5f);
-      final Object2IntMap<Class<? extends MinecraftPacket>> packetClassToId =
+      Object2IntMap<Class<? extends MinecraftPacket>> packetClassToId =
           new Object2IntOpenHashMap<>(16, 0.5f);
+      PacketTable table;
 
       ProtocolRegistry(final ProtocolVersion version) {
         this.version = version;
@@ -895,7 +931,7 @@ public enum StateRegistry {
        * @return the packet instance, or {@code null} if the ID is not registered
        */
       public @Nullable MinecraftPacket createPacket(final int id) {
-        final Supplier<? extends MinecraftPacket> supplier = this.packetIdToSupplier.get(id);
+        final Supplier<? extends MinecraftPacket> supplier = this.table.supplier(id);
         if (supplier == null) {
           return null;
         }
@@ -910,7 +946,7 @@ public enum StateRegistry {
        * @throws IllegalArgumentException if the packet ID is not found
        */
       public int getPacketId(final MinecraftPacket packet) {
-        final int id = this.packetClassToId.getInt(packet.getClass());
+        final int id = this.table.packetId(packet.getClass());
         if (id == Integer.MIN_VALUE) {
           throw new IllegalArgumentException(String.format(
               "Unable to find id for packet of type %s in %s protocol %s phase %s",
@@ -928,7 +964,58 @@ public enum StateRegistry {
        * @return {@code true} if the packet is registered, {@code false} otherwise
        */
       public boolean containsPacket(final MinecraftPacket packet) {
-        return this.packetClassToId.containsKey(packet.getClass());
+        return this.table.packetId(packet.getClass()) != Integer.MIN_VALUE;
+      }
+
+      /**
+       * Checks if the registry can create a packet with the specified {@code id}.
+       *
+       * @param id the packet ID
+       * @return {@code true} if the ID is registered, {@code false} otherwise
+       */
+      public boolean containsPacketId(final int id) {
+        return this.table.supplier(id) != null;
+      }
+    }
+
+    /**
+     * The compacted packet mappings for one or more protocol versions. Packet IDs index directly
+     * into an array of suppliers, and class lookups are cached per class by a {@link ClassValue}.
+     */
+    static final class PacketTable {
+
+      private final Supplier<? extends MinecraftPacket>[] suppliers;
+      private final ClassValue<Integer> packetIds;
+
+      @SuppressWarnings("unchecked")
+      PacketTable(final IntObjectMap<Supplier<? extends MinecraftPacket>> packetIdToSupplier,
+                  final Object2IntMap<Class<? extends MinecraftPacket>> packetClassToId) {
+        int maxId = -1;
+        for (IntObjectMap.PrimitiveEntry<Supplier<? extends MinecraftPacket>> entry
+            : packetIdToSupplier.entries()) {
+          maxId = Math.max(maxId, entry.key());
+        }
+        this.suppliers = new Supplier[maxId + 1];
+        for (IntObjectMap.PrimitiveEntry<Supplier<? extends MinecraftPacket>> entry
+            : packetIdToSupplier.entries()) {
+          this.suppliers[entry.key()] = entry.value();
+        }
+
+        final Map<Class<?>, Integer> ids = Map.copyOf(packetClassToId);
+        this.packetIds = new ClassValue<>() {
+          @Override
+          protected Integer computeValue(final Class<?> type) {
+            return ids.getOrDefault(type, Integer.MIN_VALUE);
+          }
+        };
+      }
+
+      @Nullable Supplier<? extends MinecraftPacket> supplier(final int id) {
+        return id >= 0 && id < this.suppliers.length ? this.suppliers[id] : null;
+      }
+
+      int packetId(final Class<?> type) {
+        return this.packetIds.get(type);
       }
     }
   }
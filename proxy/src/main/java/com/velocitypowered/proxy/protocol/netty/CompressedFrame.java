@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+
+/**
+ * A frame that was received already compressed and is forwarded to the other side of the proxy
+ * without being inflated and deflated again. Only the outer frame length is rewritten by
+ * {@link MinecraftCompressorAndLengthEncoder}.
+ */
+public final class CompressedFrame extends DefaultByteBufHolder {
+
+  private final int uncompressedSize;
+
+  /**
+   * Creates a new compressed frame.
+   *
+   * @param uncompressedSize the size of the packet once inflated
+   * @param compressed the compressed packet data, excluding the data length prefix
+   */
+  public CompressedFrame(final int uncompressedSize, final ByteBuf compressed) {
+    super(compressed);
+    this.uncompressedSize = uncompressedSize;
+  }
+
+  public int uncompressedSize() {
+    return uncompressedSize;
+  }
+
+  @Override
+  public CompressedFrame replace(final ByteBuf content) {
+    return new CompressedFrame(uncompressedSize, content);
+  }
+
+  @Override
+  public CompressedFrame retain() {
+    super.retain();
+    return this;
+  }
+
+  @Override
+  public CompressedFrame retain(final int increment) {
+    super.retain(increment);
+    return this;
+  }
+
+  @Override
+  public CompressedFrame touch() {
+    super.touch();
+    return this;
+  }
+
+  @Override
+  public CompressedFrame touch(final Object hint) {
+    super.touch(hint);
+    return this;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing how much outbound data was forwarded in its original compressed form
+ * versus deflated again by the proxy.
+ */
+public final class CompressionStatistics {
+
+  private static final LongAdder PASSTHROUGH_FRAMES = new LongAdder();
+  private static final LongAdder PASSTHROUGH_BYTES = new LongAdder();
+  private static final LongAdder RECOMPRESSED_FRAMES = new LongAdder();
+  private static final LongAdder RECOMPRESSED_BYTES = new LongAdder();
+
+  private CompressionStatistics() {
+    throw new AssertionError();
+  }
+
+  static void recordPassthrough(final int compressedBytes) {
+    PASSTHROUGH_FRAMES.increment();
+    PASSTHROUGH_BYTES.add(compressedBytes);
+  }
+
+  static void recordRecompressed(final int uncompressedBytes) {
+    RECOMPRESSED_FRAMES.increment();
+    RECOMPRESSED_BYTES.add(uncompressedBytes);
+  }
+
+  public static long passthroughFrames() {
+    return PASSTHROUGH_FRAMES.sum();
+  }
+
+  public static long passthroughBytes() {
+    return PASSTHROUGH_BYTES.sum();
+  }
+
+  public static long recompressedFrames() {
+    return RECOMPRESSED_FRAMES.sum();
+  }
+
+  public static long recompressedBytes() {
+    return RECOMPRESSED_BYTES.sum();
+  }
+}
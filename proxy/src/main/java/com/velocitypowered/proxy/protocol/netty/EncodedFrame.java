@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2018-2021 Velocity Contributors
+ * Copyright (C) 2026 Velocity Contributors
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,18 +15,19 @@
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
 
-package com.velocitypowered.proxy.util.ratelimit;
+package com.velocitypowered.proxy.protocol.netty;
 
-import java.net.InetAddress;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
 
 /**
- * A {@link Ratelimiter} that does no rate-limiting.
+ * A packet that {@link MinecraftEncoder} has already encoded together with its compression
+ * header and length prefix. {@link MinecraftCompressorAndLengthEncoder} forwards its content
+ * as-is.
  */
-enum NoopCacheRatelimiter implements Ratelimiter {
-  INSTANCE;
+final class EncodedFrame extends DefaultByteBufHolder {
 
-  @Override
-  public boolean attempt(final InetAddress address) {
-    return true;
+  EncodedFrame(final ByteBuf frame) {
+    super(frame);
   }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.natives.compression.VelocityCompressor;
+import com.velocitypowered.natives.compression.VelocityCompressorFactory;
+import com.velocitypowered.natives.util.BufferPreference;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+
+/**
+ * A {@link VelocityCompressor} that does not own any compression contexts itself. Each call is
+ * served by a context owned by the calling thread, so every channel on an event loop shares the
+ * same pair of native contexts instead of allocating its own.
+ *
+ * <p>This is safe because each inflate or deflate call is self-contained: the underlying
+ * compressors are reset after every call and no state is carried between packets. A context
+ * whose call fails part way through is thrown away rather than handed to the next channel.</p>
+ */
+public final class EventLoopCompressor implements VelocityCompressor {
+
+  // Compression levels range from -1 (default) to 12 (libdeflate maximum).
+  private static final int LEVEL_OFFSET = 1;
+  private static final int LEVEL_COUNT = 14;
+
+  private static final AtomicInteger LIVE_CONTEXTS = new AtomicInteger();
+  private static final FastThreadLocal<VelocityCompressor[]> CONTEXTS = new FastThreadLocal<>() {
+    @Override
+    protected VelocityCompressor[] initialValue() {
+      return new VelocityCompressor[LEVEL_COUNT];
+    }
+
+    @Override
+    protected void onRemoval(final VelocityCompressor[] value) {
+      for (VelocityCompressor compressor : value) {
+        if (compressor != null) {
+          compressor.close();
+          LIVE_CONTEXTS.decrementAndGet();
+        }
+      }
+    }
+  };
+
+  private final VelocityCompressorFactory factory;
+  private final int level;
+  private boolean disposed = false;
+
+  /**
+   * Creates a new compressor sharing the contexts of whichever event loop uses it. No context is
+   * created until the first call, so this may be called from any thread.
+   *
+   * @param factory the factory used to create the per-thread contexts
+   * @param level the compression level
+   */
+  public EventLoopCompressor(final VelocityCompressorFactory factory, final int level) {
+    Preconditions.checkArgument(level >= -LEVEL_OFFSET && level < LEVEL_COUNT - LEVEL_OFFSET,
+        "Invalid compression level %s", level);
+    this.factory = factory;
+    this.level = level;
+  }
+
+  private VelocityCompressor context() {
+    Preconditions.checkState(!disposed, "Object already disposed");
+    VelocityCompressor[] contexts = CONTEXTS.get();
+    VelocityCompressor context = contexts[level + LEVEL_OFFSET];
+    if (context == null) {
+      context = factory.create(level);
+      contexts[level + LEVEL_OFFSET] = context;
+      LIVE_CONTEXTS.incrementAndGet();
+    }
+    return context;
+  }
+
+  private void discard(final VelocityCompressor context) {
+    VelocityCompressor[] contexts = CONTEXTS.get();
+    if (contexts[level + LEVEL_OFFSET] == context) {
+      contexts[level + LEVEL_OFFSET] = null;
+      LIVE_CONTEXTS.decrementAndGet();
+    }
+    context.close();
+  }
+
+  @Override
+  public void inflate(final ByteBuf source, final ByteBuf destination, final int uncompressedSize)
+      throws DataFormatException {
+    VelocityCompressor context = context();
+    try {
+      context.inflate(source, destination, uncompressedSize);
+    } catch (Throwable e) {
+      discard(context);
+      throw e;
+    }
+  }
+
+  @Override
+  public void deflate(final ByteBuf source, final ByteBuf destination)
+      throws DataFormatException {
+    VelocityCompressor context = context();
+    try {
+      context.deflate(source, destination);
+    } catch (Throwable e) {
+      discard(context);
+      throw e;
+    }
+  }
+
+  @Override
+  public BufferPreference preferredBufferType() {
+    return context().preferredBufferType();
+  }
+
+  /**
+   * Releases this handle. The shared contexts stay alive until their owning thread terminates.
+   */
+  @Override
+  public void close() {
+    disposed = true;
+  }
+
+  /**
+   * Returns the number of compression contexts currently allocated across all threads. Each
+   * context holds one native inflate and one native deflate state.
+   *
+   * @return the number of live compression contexts
+   */
+  public static int liveContexts() {
+    return LIVE_CONTEXTS.get();
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Coalesces flushes so that packets written during the same read cycle or event loop task leave
+ * in a single syscall. This is similar in spirit to
+ * {@link io.netty.handler.flush.FlushConsolidationHandler}, but also keeps track of how many
+ * packets each flush carried.
+ *
+ * <p>Flushes requested while a read is in progress are deferred until the read completes.
+ * Flushes requested outside a read are deferred until the end of the current event loop task.
+ * In both cases, a flush is forced once {@code maxPendingFlushes} flushes have been deferred, or
+ * once the oldest deferred flush has waited {@code maxFlushDelayNanos}, so latency stays bounded
+ * even when a single read or task runs for a long time.</p>
+ *
+ * <p>The handler sits right behind the connection handler, ahead of the encoders, so that the
+ * compression and cipher encoders only see the flushes that actually go out.</p>
+ */
+public class FlushCoalescingHandler extends ChannelDuplexHandler {
+
+  public static final boolean ENABLED = !Boolean.getBoolean("velocity.disable-flush-coalescing");
+  public static final int MAX_PENDING_FLUSHES =
+      Integer.getInteger("velocity.max-coalesced-flushes", 256);
+  public static final long MAX_FLUSH_DELAY_NANOS = TimeUnit.MICROSECONDS.toNanos(
+      Long.getLong("velocity.max-flush-delay-micros", 1000));
+
+  private static final LongAdder WRITES = new LongAdder();
+  private static final LongAdder REQUESTED_FLUSHES = new LongAdder();
+  private static final LongAdder FLUSHES = new LongAdder();
+
+  private final int maxPendingFlushes;
+  private final long maxFlushDelayNanos;
+  private boolean readInProgress;
+  private int pendingFlushes;
+  private long firstPendingFlushAt;
+  private int pendingWrites;
+  private boolean flushScheduled;
+  private Runnable flushTask;
+
+  /**
+   * Creates a new flush coalescing handler that holds flushes back for at most
+   * {@link #MAX_FLUSH_DELAY_NANOS}.
+   *
+   * @param maxPendingFlushes the number of deferred flushes after which a flush is forced
+   */
+  public FlushCoalescingHandler(final int maxPendingFlushes) {
+    this(maxPendingFlushes, MAX_FLUSH_DELAY_NANOS);
+  }
+
+  /**
+   * Creates a new flush coalescing handler.
+   *
+   * @param maxPendingFlushes the number of deferred flushes after which a flush is forced
+   * @param maxFlushDelayNanos how long a flush may be deferred before it is forced
+   */
+  public FlushCoalescingHandler(final int maxPendingFlushes, final long maxFlushDelayNanos) {
+    if (maxPendingFlushes <= 0) {
+      throw new IllegalArgumentException("maxPendingFlushes must be positive");
+    }
+    if (maxFlushDelayNanos < 0) {
+      throw new IllegalArgumentException("maxFlushDelayNanos must not be negative");
+    }
+    this.maxPendingFlushes = maxPendingFlushes;
+    this.maxFlushDelayNanos = maxFlushDelayNanos;
+  }
+
+  @Override
+  public void handlerAdded(final ChannelHandlerContext ctx) {
+    this.flushTask = () -> {
+      flushScheduled = false;
+      if (pendingFlushes > 0 && !readInProgress) {
+        flushNow(ctx);
+      }
+    };
+  }
+
+  @Override
+  public void write(final ChannelHandlerContext ctx, final Object msg,
+      final ChannelPromise promise) {
+    pendingWrites++;
+    ctx.write(msg, promise);
+  }
+
+  @Override
+  public void flush(final ChannelHandlerContext ctx) {
+    long now = System.nanoTime();
+    if (pendingFlushes++ == 0) {
+      firstPendingFlushAt = now;
+    }
+    if (pendingFlushes >= maxPendingFlushes || now - firstPendingFlushAt >= maxFlushDelayNanos) {
+      flushNow(ctx);
+    } else if (!readInProgress && !flushScheduled) {
+      flushScheduled = true;
+      ctx.channel().eventLoop().execute(flushTask);
+    }
+  }
+
+  @Override
+  public void channelRead(final ChannelHandlerContext ctx, @NotNull final Object msg) {
+    readInProgress = true;
+    if (pendingFlushes > 0 && System.nanoTime() - firstPendingFlushAt >= maxFlushDelayNanos) {
+      // A long read cycle must not hold back what earlier messages wrote.
+      flushNow(ctx);
+    }
+    ctx.fireChannelRead(msg);
+  }
+
+  @Override
+  public void channelReadComplete(final ChannelHandlerContext ctx) {
+    // Let the rest of the pipeline react to the end of the read first, so anything it writes
+    // in response goes out with the same flush.
+    ctx.fireChannelReadComplete();
+    readInProgress = false;
+    flushIfPending(ctx);
+  }
+
+  @Override
+  public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+    if (!ctx.channel().isWritable()) {
+      // The outbound buffer is full, so don't hold anything back.
+      flushIfPending(ctx);
+    }
+    ctx.fireChannelWritabilityChanged();
+  }
+
+  @Override
+  public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+    flushIfPending(ctx);
+    ctx.fireExceptionCaught(cause);
+  }
+
+  @Override
+  public void disconnect(final ChannelHandlerContext ctx, final ChannelPromise promise) {
+    flushIfPending(ctx);
+    ctx.disconnect(promise);
+  }
+
+  @Override
+  public void close(final ChannelHandlerContext ctx, final ChannelPromise promise) {
+    flushIfPending(ctx);
+    ctx.close(promise);
+  }
+
+  @Override
+  public void handlerRemoved(final ChannelHandlerContext ctx) {
+    flushIfPending(ctx);
+  }
+
+  private void flushIfPending(final ChannelHandlerContext ctx) {
+    if (pendingFlushes > 0) {
+      flushNow(ctx);
+    }
+  }
+
+  private void flushNow(final ChannelHandlerContext ctx) {
+    REQUESTED_FLUSHES.add(pendingFlushes);
+    WRITES.add(pendingWrites);
+    FLUSHES.increment();
+    pendingFlushes = 0;
+    pendingWrites = 0;
+    ctx.flush();
+  }
+
+  /**
+   * Returns the number of packets written through coalescing handlers.
+   *
+   * @return the number of packets written
+   */
+  public static long writes() {
+    return WRITES.sum();
+  }
+
+  /**
+   * Returns the number of flushes the proxy asked for.
+   *
+   * @return the number of flushes requested
+   */
+  public static long requestedFlushes() {
+    return REQUESTED_FLUSHES.sum();
+  }
+
+  /**
+   * Returns the number of flushes that actually reached the transport.
+   *
+   * @return the number of flushes performed
+   */
+  public static long flushes() {
+    return FLUSHES.sum();
+  }
+}
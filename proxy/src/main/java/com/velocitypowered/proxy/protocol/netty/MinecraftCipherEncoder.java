@@ -21,35 +21,171 @@ import com.google.common.base.Preconditions;
 import com.velocitypowered.natives.encryption.VelocityCipher;
 import com.velocitypowered.natives.util.MoreByteBufUtils;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToMessageEncoder;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.PromiseNotifier;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Encrypts Minecraft protocol packets using {@link VelocityCipher}.
+ *
+ * <p>Small frames written between two flushes are gathered into a single buffer and encrypted
+ * with one call to the cipher when the flush arrives, rather than making a cipher call (and, for
+ * the native cipher, a JNI transition) per frame. Frames of {@link #MAX_BATCH_SIZE} bytes or more
+ * are encrypted on their own, in place unless the buffer is still referenced elsewhere.</p>
+ *
+ * <p>This only pays off because {@link FlushCoalescingHandler} sits ahead of the encoders and
+ * lets through one flush per read cycle or event loop task, rather than one per packet.</p>
  */
-public class MinecraftCipherEncoder extends MessageToMessageEncoder<ByteBuf> {
+public class MinecraftCipherEncoder extends ChannelOutboundHandlerAdapter {
+
+  private static final int MAX_BATCH_SIZE =
+      Integer.getInteger("velocity.max-cipher-batch-size", 32768);
+  private static final int INITIAL_BATCH_SIZE = Math.min(MAX_BATCH_SIZE, 4096);
+
+  private static final LongAdder FRAMES = new LongAdder();
+  private static final LongAdder CIPHER_CALLS = new LongAdder();
 
   private final VelocityCipher cipher;
+  private final List<ChannelPromise> batchPromises = new ArrayList<>();
+  private @Nullable ByteBuf batch;
 
   public MinecraftCipherEncoder(final VelocityCipher cipher) {
     this.cipher = Preconditions.checkNotNull(cipher, "cipher");
   }
 
   @Override
-  protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final List<Object> out) throws Exception {
-    ByteBuf compatible = MoreByteBufUtils.ensureCompatible(ctx.alloc(), cipher, msg);
+  public void write(final ChannelHandlerContext ctx, final Object msg,
+      final ChannelPromise promise) throws Exception {
+    if (!(msg instanceof ByteBuf buf)) {
+      writeBatch(ctx);
+      ctx.write(msg, promise);
+      return;
+    }
+
+    FRAMES.increment();
+    int length = buf.readableBytes();
+    if (length >= MAX_BATCH_SIZE) {
+      writeBatch(ctx);
+      encryptAndWrite(ctx, buf, promise);
+      return;
+    }
+
+    if (batch != null && batch.readableBytes() + length > MAX_BATCH_SIZE) {
+      writeBatch(ctx);
+    }
     try {
-      cipher.process(compatible);
-      out.add(compatible);
-    } catch (Exception e) {
-      compatible.release(); // compatible will never be used if we throw an exception
-      throw e;
+      if (batch == null) {
+        batch = MoreByteBufUtils.preferredBuffer(ctx.alloc(), cipher,
+            Math.max(length, INITIAL_BATCH_SIZE));
+      }
+      batch.writeBytes(buf);
+    } finally {
+      buf.release();
     }
+    batchPromises.add(promise);
+  }
+
+  @Override
+  public void flush(final ChannelHandlerContext ctx) throws Exception {
+    writeBatch(ctx);
+    ctx.flush();
+  }
+
+  @Override
+  public void close(final ChannelHandlerContext ctx, final ChannelPromise promise)
+      throws Exception {
+    writeBatch(ctx);
+    ctx.close(promise);
   }
 
   @Override
   public void handlerRemoved(final ChannelHandlerContext ctx) {
+    if (batch != null) {
+      batch.release();
+      batch = null;
+      IllegalStateException cause = new IllegalStateException("Cipher encoder was removed");
+      for (ChannelPromise promise : batchPromises) {
+        promise.tryFailure(cause);
+      }
+      batchPromises.clear();
+    }
     cipher.close();
   }
+
+  private void encryptAndWrite(final ChannelHandlerContext ctx, final ByteBuf buf,
+      final ChannelPromise promise) {
+    ByteBuf compatible;
+    try {
+      if (buf.refCnt() > 1) {
+        // Someone else still holds this buffer, as with a packet PacketBroadcaster shares between
+        // players, so it must be encrypted in a copy.
+        compatible = MoreByteBufUtils.preferredBuffer(ctx.alloc(), cipher, buf.readableBytes())
+            .writeBytes(buf);
+      } else {
+        compatible = MoreByteBufUtils.ensureCompatible(ctx.alloc(), cipher, buf);
+      }
+    } finally {
+      buf.release();
+    }
+    try {
+      cipher.process(compatible);
+    } catch (Exception e) {
+      compatible.release(); // compatible will never be used if we throw an exception
+      promise.tryFailure(e);
+      return;
+    }
+    CIPHER_CALLS.increment();
+    ctx.write(compatible, promise);
+  }
+
+  private void writeBatch(final ChannelHandlerContext ctx) {
+    final ByteBuf batch = this.batch;
+    if (batch == null) {
+      return;
+    }
+    this.batch = null;
+    final ChannelPromise promise = batchPromise(ctx);
+    try {
+      cipher.process(batch);
+    } catch (Exception e) {
+      batch.release();
+      promise.tryFailure(e);
+      return;
+    }
+    CIPHER_CALLS.increment();
+    ctx.write(batch, promise);
+  }
+
+  private ChannelPromise batchPromise(final ChannelHandlerContext ctx) {
+    final ChannelPromise[] promises = batchPromises.toArray(new ChannelPromise[0]);
+    batchPromises.clear();
+    if (promises.length == 1) {
+      return promises[0];
+    }
+
+    boolean allVoid = true;
+    for (ChannelPromise promise : promises) {
+      allVoid &= promise.isVoid();
+    }
+    if (allVoid) {
+      return ctx.voidPromise();
+    }
+    ChannelPromise aggregate = ctx.newPromise();
+    aggregate.addListener(new PromiseNotifier<Void, ChannelFuture>(false, promises));
+    return aggregate;
+  }
+
+  public static long framesEncrypted() {
+    return FRAMES.sum();
+  }
+
+  public static long cipherCalls() {
+    return CIPHER_CALLS.sum();
+  }
 }
@@ -24,9 +24,14 @@ import static com.velocitypowered.proxy.protocol.util.NettyPreconditions.checkFr
 import com.velocitypowered.natives.compression.VelocityCompressor;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.util.concurrent.FastThreadLocal;
 import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Decompresses a Minecraft packet.
@@ -40,8 +45,23 @@ public class MinecraftCompressDecoder extends MessageToMessageDecoder<ByteBuf> {
       Boolean.getBoolean("velocity.increased-compression-cap")
           ? HARD_MAXIMUM_UNCOMPRESSED_SIZE : VANILLA_MAXIMUM_UNCOMPRESSED_SIZE;
 
+  // Only used to peek at the packet ID of a compressed frame, so it's fine to share it across
+  // every connection handled by the same event loop.
+  private static final FastThreadLocal<PacketIdPeeker> PEEKER = new FastThreadLocal<>() {
+    @Override
+    protected PacketIdPeeker initialValue() {
+      return new PacketIdPeeker();
+    }
+
+    @Override
+    protected void onRemoval(final PacketIdPeeker value) {
+      value.inflater.end();
+    }
+  };
+
   private int threshold;
   private final VelocityCompressor compressor;
+  private @Nullable MinecraftDecoder passthroughDecoder;
 
   public MinecraftCompressDecoder(final int threshold, final VelocityCompressor compressor) {
     this.threshold = threshold;
@@ -63,11 +83,38 @@ public class MinecraftCompressDecoder extends MessageToMessageDecoder<ByteBuf> {
         "Uncompressed size %s exceeds hard threshold of %s", claimedUncompressedSize,
         UNCOMPRESSED_CAP);
 
-    ByteBuf compatibleIn = ensureCompatible(ctx.alloc(), compressor, in);
-    ByteBuf uncompressed = preferredBuffer(ctx.alloc(), compressor, claimedUncompressedSize);
+    if (passthroughDecoder != null) {
+      int packetId = PEEKER.get().peek(in);
+      if (packetId != -1 && !passthroughDecoder.canDecode(packetId)) {
+        // The proxy has no interest in this packet, so hand it on in its compressed form.
+        out.add(new CompressedFrame(claimedUncompressedSize, in.retain()));
+        return;
+      }
+    }
+
+    out.add(inflate(ctx.alloc(), in, claimedUncompressedSize));
+  }
+
+  /**
+   * Inflates a frame this decoder previously passed through.
+   *
+   * @param alloc the allocator for the inflated packet
+   * @param frame the compressed frame, which is not released
+   * @return the inflated packet
+   * @throws DataFormatException if the frame is not valid compressed data
+   */
+  public ByteBuf inflate(final ByteBufAllocator alloc, final CompressedFrame frame)
+      throws DataFormatException {
+    return inflate(alloc, frame.content().duplicate(), frame.uncompressedSize());
+  }
+
+  private ByteBuf inflate(final ByteBufAllocator alloc, final ByteBuf in,
+      final int uncompressedSize) throws DataFormatException {
+    ByteBuf compatibleIn = ensureCompatible(alloc, compressor, in);
+    ByteBuf uncompressed = preferredBuffer(alloc, compressor, uncompressedSize);
     try {
-      compressor.inflate(compatibleIn, uncompressed, claimedUncompressedSize);
-      out.add(uncompressed);
+      compressor.inflate(compatibleIn, uncompressed, uncompressedSize);
+      return uncompressed;
     } catch (Exception e) {
       uncompressed.release();
       throw e;
@@ -84,4 +131,55 @@ public class MinecraftCompressDecoder extends MessageToMessageDecoder<ByteBuf> {
   public void setThreshold(final int threshold) {
     this.threshold = threshold;
   }
+
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Enables or disables compressed passthrough. While enabled, compressed frames containing a
+   * packet that {@code decoder} would not decode are emitted as {@link CompressedFrame}s instead
+   * of being inflated.
+   *
+   * @param decoder the decoder used to tell which packets the proxy intercepts, or {@code null}
+   *                to disable passthrough
+   */
+  public void setPassthroughDecoder(final @Nullable MinecraftDecoder decoder) {
+    this.passthroughDecoder = decoder;
+  }
+
+  private static final class PacketIdPeeker {
+
+    private static final int MAXIMUM_PACKET_ID_LENGTH = 5;
+
+    private final Inflater inflater = new Inflater();
+    private final byte[] head = new byte[MAXIMUM_PACKET_ID_LENGTH];
+
+    /**
+     * Inflates just enough of the compressed frame to read the packet ID, without touching the
+     * reader index of {@code in}.
+     *
+     * @param in the compressed frame
+     * @return the packet ID, or {@code -1} if it could not be determined
+     */
+    int peek(final ByteBuf in) throws DataFormatException {
+      int read;
+      try {
+        inflater.setInput(in.nioBuffer());
+        read = inflater.inflate(head);
+      } finally {
+        inflater.reset();
+      }
+
+      int packetId = 0;
+      for (int i = 0; i < read; i++) {
+        byte b = head[i];
+        packetId |= (b & 0x7F) << (i * 7);
+        if ((b & 0x80) == 0) {
+          return packetId;
+        }
+      }
+      return -1;
+    }
+  }
 }
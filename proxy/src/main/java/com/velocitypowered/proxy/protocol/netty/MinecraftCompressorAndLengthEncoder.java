@@ -24,13 +24,19 @@ import com.velocitypowered.natives.util.MoreByteBufUtils;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.util.zip.DataFormatException;
 
 /**
- * Handler for compressing Minecraft packets.
+ * Handler for compressing Minecraft packets. Frames that arrive already compressed as a
+ * {@link CompressedFrame} are forwarded untouched whenever the receiving side will accept them.
  */
-public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<ByteBuf> {
+public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<Object> {
+
+  // The largest frame length varint we allow (21 bits) followed by the data length varint, which
+  // is a single zero byte for packets under the threshold.
+  private static final int FRAME_HEADER_SPACE = 4;
 
   private int threshold;
   private final VelocityCompressor compressor;
@@ -41,7 +47,118 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
   }
 
   @Override
-  protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final ByteBuf out) throws Exception {
+  public boolean acceptOutboundMessage(final Object msg) {
+    return msg instanceof ByteBuf || msg instanceof CompressedFrame;
+  }
+
+  @Override
+  public void write(final ChannelHandlerContext ctx, final Object msg,
+      final ChannelPromise promise) throws Exception {
+    if (msg instanceof EncodedFrame frame) {
+      ctx.write(frame.content(), promise);
+      return;
+    }
+    super.write(ctx, msg, promise);
+  }
+
+  /**
+   * Allocates a buffer for {@link MinecraftEncoder} to encode a packet into. Space for the frame
+   * header is reserved ahead of the reader index so that {@link #finishFrame} can usually frame
+   * the packet in place.
+   *
+   * @param ctx the channel handler context
+   * @param packetCapacity the expected size of the encoded packet
+   * @return a buffer to encode the packet into
+   */
+  ByteBuf allocateFrame(final ChannelHandlerContext ctx, final int packetCapacity) {
+    int capacity = FRAME_HEADER_SPACE + packetCapacity;
+    ByteBuf buf = IS_JAVA_CIPHER
+        ? ctx.alloc().heapBuffer(capacity)
+        : ctx.alloc().directBuffer(capacity);
+    buf.writerIndex(FRAME_HEADER_SPACE);
+    buf.readerIndex(FRAME_HEADER_SPACE);
+    return buf;
+  }
+
+  /**
+   * Frames a packet encoded into a buffer from {@link #allocateFrame}. Packets under the
+   * threshold have their header written into the reserved space; larger packets are deflated
+   * straight from {@code buf} into a new frame.
+   *
+   * @param ctx the channel handler context
+   * @param buf the encoded packet, which is released by this method
+   * @return the finished frame
+   * @throws DataFormatException if the packet could not be compressed
+   */
+  EncodedFrame finishFrame(final ChannelHandlerContext ctx, final ByteBuf buf)
+      throws DataFormatException {
+    int uncompressed = buf.readableBytes();
+    int lengthBytes = ProtocolUtils.varIntBytes(uncompressed + 1);
+    if (uncompressed < threshold && lengthBytes < FRAME_HEADER_SPACE) {
+      int start = FRAME_HEADER_SPACE - 1 - lengthBytes;
+      int writerIndex = buf.writerIndex();
+      buf.setIndex(start, start);
+      ProtocolUtils.writeVarInt(buf, uncompressed + 1);
+      buf.writeByte(0);
+      buf.writerIndex(writerIndex);
+      return new EncodedFrame(buf);
+    }
+
+    ByteBuf out = allocateBuffer(ctx, uncompressed);
+    try {
+      encodeUncompressed(ctx, buf, out);
+    } catch (DataFormatException | RuntimeException e) {
+      out.release();
+      throw e;
+    } finally {
+      buf.release();
+    }
+    return new EncodedFrame(out);
+  }
+
+  @Override
+  protected void encode(final ChannelHandlerContext ctx, final Object msg, final ByteBuf out)
+      throws Exception {
+    if (msg instanceof CompressedFrame frame) {
+      encodeCompressedFrame(ctx, frame, out);
+    } else {
+      encodeUncompressed(ctx, (ByteBuf) msg, out);
+    }
+  }
+
+  private void encodeCompressedFrame(final ChannelHandlerContext ctx, final CompressedFrame frame,
+      final ByteBuf out) throws DataFormatException {
+    ByteBuf compressed = frame.content();
+    if (canPassThrough(frame)) {
+      int compressedLength = compressed.readableBytes();
+      ProtocolUtils.writeVarInt(out,
+          ProtocolUtils.varIntBytes(frame.uncompressedSize()) + compressedLength);
+      ProtocolUtils.writeVarInt(out, frame.uncompressedSize());
+      out.writeBytes(compressed);
+      CompressionStatistics.recordPassthrough(compressedLength);
+      return;
+    }
+
+    // The threshold on this side is higher than the one the frame was compressed against, so the
+    // receiver would reject it. Fall back to inflating it and encoding it the usual way.
+    ByteBuf compatibleIn = MoreByteBufUtils.ensureCompatible(ctx.alloc(), compressor, compressed);
+    ByteBuf uncompressed = MoreByteBufUtils.preferredBuffer(ctx.alloc(), compressor,
+        frame.uncompressedSize());
+    try {
+      compressor.inflate(compatibleIn, uncompressed, frame.uncompressedSize());
+      encodeUncompressed(ctx, uncompressed, out);
+    } finally {
+      compatibleIn.release();
+      uncompressed.release();
+    }
+  }
+
+  private boolean canPassThrough(final CompressedFrame frame) {
+    return frame.uncompressedSize() >= threshold;
+  }
+
+  private void encodeUncompressed(final ChannelHandlerContext ctx, final ByteBuf msg,
+      final ByteBuf out) throws DataFormatException {
     int uncompressed = msg.readableBytes();
     if (uncompressed < threshold) {
       // Under the threshold, there is nothing to do.
@@ -67,6 +184,7 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
     } finally {
       compatibleIn.release();
     }
+    CompressionStatistics.recordRecompressed(uncompressed);
     int compressedLength = out.writerIndex() - startCompressed;
     if (compressedLength >= 1 << 21) {
       throw new DataFormatException("The server sent a very large (over 2MiB compressed) packet.");
@@ -80,8 +198,23 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
   }
 
   @Override
-  protected ByteBuf allocateBuffer(final ChannelHandlerContext ctx, final ByteBuf msg, final boolean preferDirect) {
-    int uncompressed = msg.readableBytes();
+  protected ByteBuf allocateBuffer(final ChannelHandlerContext ctx, final Object msg,
+      final boolean preferDirect) {
+    if (msg instanceof CompressedFrame frame) {
+      if (canPassThrough(frame)) {
+        int frameLength = ProtocolUtils.varIntBytes(frame.uncompressedSize())
+            + frame.content().readableBytes();
+        int finalBufferSize = frameLength + ProtocolUtils.varIntBytes(frameLength);
+        return IS_JAVA_CIPHER
+            ? ctx.alloc().heapBuffer(finalBufferSize)
+            : ctx.alloc().directBuffer(finalBufferSize);
+      }
+      return allocateBuffer(ctx, frame.uncompressedSize());
+    }
+    return allocateBuffer(ctx, ((ByteBuf) msg).readableBytes());
+  }
+
+  private ByteBuf allocateBuffer(final ChannelHandlerContext ctx, final int uncompressed) {
     if (uncompressed < threshold) {
       int finalBufferSize = uncompressed + 1;
       finalBufferSize += ProtocolUtils.varIntBytes(finalBufferSize);
@@ -103,4 +236,8 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
   public void setThreshold(final int threshold) {
     this.threshold = threshold;
   }
+
+  public int getThreshold() {
+    return threshold;
+  }
 }
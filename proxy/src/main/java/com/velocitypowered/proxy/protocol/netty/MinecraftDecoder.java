@@ -148,6 +148,16 @@ public class MinecraftDecoder extends ChannelInboundHandlerAdapter {
     this.setProtocolVersion(registry.version);
   }
 
+  /**
+   * Determines whether a packet with the specified ID would be decoded in the current state.
+   *
+   * @param packetId the packet ID
+   * @return {@code true} if the packet would be decoded, {@code false} if it is forwarded as-is
+   */
+  public boolean canDecode(final int packetId) {
+    return registry.containsPacketId(packetId);
+  }
+
   public ProtocolUtils.Direction getDirection() {
     return direction;
   }
@@ -24,7 +24,11 @@ import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.EncoderException;
 import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.util.ReferenceCountUtil;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Encodes {@link MinecraftPacket} instances.
@@ -34,6 +38,7 @@ public class MinecraftEncoder extends MessageToByteEncoder<MinecraftPacket> {
   private final ProtocolUtils.Direction direction;
   private StateRegistry state;
   private StateRegistry.PacketRegistry.ProtocolRegistry registry;
+  private @Nullable MinecraftCompressorAndLengthEncoder compressionEncoder;
 
   /**
    * Creates a new {@code MinecraftEncoder} encoding packets for the specified {@code direction}.
@@ -47,11 +52,53 @@ public class MinecraftEncoder extends MessageToByteEncoder<MinecraftPacket> {
     this.state = StateRegistry.HANDSHAKE;
   }
 
+  @Override
+  public void write(final ChannelHandlerContext ctx, final Object msg,
+      final ChannelPromise promise) throws Exception {
+    final MinecraftCompressorAndLengthEncoder compression = this.compressionEncoder;
+    if (compression == null || !(msg instanceof MinecraftPacket packet)) {
+      super.write(ctx, msg, promise);
+      return;
+    }
+
+    // Compression is enabled, so encode the packet, its compression header and its length in one
+    // go instead of handing an unframed buffer down the pipeline.
+    final EncodedFrame frame;
+    try {
+      ByteBuf buf = compression.allocateFrame(ctx,
+          PacketSizeHints.initialCapacity(packet, direction, registry.version));
+      try {
+        encode(ctx, packet, buf);
+      } catch (Throwable e) {
+        buf.release();
+        throw e;
+      }
+      frame = compression.finishFrame(ctx, buf);
+    } catch (EncoderException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new EncoderException(e);
+    } finally {
+      ReferenceCountUtil.release(packet);
+    }
+    ctx.write(frame, promise);
+  }
+
   @Override
   protected void encode(final ChannelHandlerContext ctx, final MinecraftPacket msg, final ByteBuf out) {
+    int capacity = out.capacity();
+    int start = out.writerIndex();
     int packetId = this.registry.getPacketId(msg);
     ProtocolUtils.writeVarInt(out, packetId);
     msg.encode(out, direction, registry.version);
+    PacketSizeHints.record(msg, out.writerIndex() - start, out.capacity() != capacity);
+  }
+
+  @Override
+  protected ByteBuf allocateBuffer(final ChannelHandlerContext ctx, final MinecraftPacket msg,
+      final boolean preferDirect) {
+    int capacity = PacketSizeHints.initialCapacity(msg, direction, registry.version);
+    return preferDirect ? ctx.alloc().ioBuffer(capacity) : ctx.alloc().heapBuffer(capacity);
   }
 
   public void setProtocolVersion(final ProtocolVersion protocolVersion) {
@@ -63,6 +110,21 @@ public class MinecraftEncoder extends MessageToByteEncoder<MinecraftPacket> {
     this.setProtocolVersion(registry.version);
   }
 
+  public StateRegistry getState() {
+    return state;
+  }
+
+  /**
+   * Sets the compression encoder that packets should be framed by. When set, packets are written
+   * as finished frames which the compression encoder passes through untouched.
+   *
+   * @param compressionEncoder the compression encoder, or {@code null} if compression is disabled
+   */
+  public void setCompressionEncoder(
+      final @Nullable MinecraftCompressorAndLengthEncoder compressionEncoder) {
+    this.compressionEncoder = compressionEncoder;
+  }
+
   public ProtocolUtils.Direction getDirection() {
     return direction;
   }
@@ -19,56 +19,219 @@ package com.velocitypowered.proxy.protocol.netty;
 
 import static io.netty.util.ByteProcessor.FIND_NON_NUL;
 
+import com.google.common.base.Preconditions;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.util.except.QuietDecoderException;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import java.util.ArrayList;
 import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Frames Minecraft server packets which are prefixed by a 21-bit VarInt encoding.
+ *
+ * <p>Every complete frame in a read is sliced out before any of them are passed on. A frame
+ * that spans several reads is accumulated without copying once it is known to be large, then
+ * copied once into a contiguous buffer when complete, as the compressors downstream need a single
+ * memory region. The declared length of a frame is checked as soon as it is read,
+ * before any of the frame is buffered.</p>
  */
-public class MinecraftVarintFrameDecoder extends ByteToMessageDecoder {
+public class MinecraftVarintFrameDecoder extends ChannelInboundHandlerAdapter {
 
   private static final QuietDecoderException BAD_PACKET_LENGTH =
       new QuietDecoderException("Bad packet length");
   private static final QuietDecoderException VARINT_TOO_BIG =
       new QuietDecoderException("VarInt too big");
 
+  private static final int MAX_FRAME_LENGTH = (1 << 21) - 1;
+  // Generously covers the handshake, status request and ping, and a login start pipelined
+  // right after the handshake.
+  private static final int MAX_HANDSHAKE_FRAME_LENGTH = 4096;
+  // Pending frames of at least this size are accumulated as a composite buffer instead of being
+  // copied into one contiguous buffer.
+  private static final int COMPOSITE_THRESHOLD =
+      Integer.getInteger("velocity.frame-composite-threshold", 16384);
+
+  private final ProtocolUtils.Direction direction;
+  private final List<ByteBuf> frames = new ArrayList<>();
+  private int maxFrameLength;
+  private @Nullable ByteBuf cumulation;
+  private int pendingLength;
+  private boolean firedChannelRead;
+
+  /**
+   * Creates a new frame decoder that accepts frames of any valid length in every state, as for
+   * packets sent by a backend server.
+   */
+  public MinecraftVarintFrameDecoder() {
+    this(ProtocolUtils.Direction.CLIENTBOUND);
+  }
+
+  /**
+   * Creates a new frame decoder for packets travelling in the specified {@code direction}.
+   *
+   * @param direction the direction of the packets being decoded
+   */
+  public MinecraftVarintFrameDecoder(final ProtocolUtils.Direction direction) {
+    this.direction = Preconditions.checkNotNull(direction, "direction");
+    setState(StateRegistry.HANDSHAKE);
+  }
+
+  /**
+   * Updates the largest frame accepted to suit the specified protocol {@code state}. Clients
+   * may only send small frames until they begin logging in.
+   *
+   * @param state the new protocol state
+   */
+  public void setState(final StateRegistry state) {
+    boolean preLogin = state == StateRegistry.HANDSHAKE || state == StateRegistry.STATUS;
+    this.maxFrameLength = direction == ProtocolUtils.Direction.SERVERBOUND && preLogin
+        ? MAX_HANDSHAKE_FRAME_LENGTH : MAX_FRAME_LENGTH;
+  }
+
   @Override
-  protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out)
-      throws Exception {
+  public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+    if (!(msg instanceof ByteBuf buf)) {
+      ctx.fireChannelRead(msg);
+      return;
+    }
     if (!ctx.channel().isActive()) {
-      in.clear();
+      buf.release();
+      releaseCumulation();
       return;
     }
 
-    // skip any runs of 0x00 we might find
-    int packetStart = in.forEachByte(FIND_NON_NUL);
-    if (packetStart == -1) {
+    final ByteBuf in = cumulate(ctx, buf);
+    this.cumulation = in;
+    try {
+      readFrames(ctx.alloc(), in);
+    } finally {
+      fireFrames(ctx);
+      // Firing the frames may have removed this handler, which releases the cumulation.
+      if (this.cumulation == in) {
+        if (!in.isReadable()) {
+          releaseCumulation();
+        } else if (in.refCnt() == 1) {
+          // Only safe once every frame sliced from the cumulation has been released.
+          in.discardSomeReadBytes();
+        }
+      }
+    }
+  }
+
+  private ByteBuf cumulate(final ChannelHandlerContext ctx, final ByteBuf in) {
+    final ByteBuf cumulation = this.cumulation;
+    if (cumulation == null) {
+      return in;
+    }
+    this.cumulation = null;
+    return pendingLength >= COMPOSITE_THRESHOLD
+        ? ByteToMessageDecoder.COMPOSITE_CUMULATOR.cumulate(ctx.alloc(), cumulation, in)
+        : ByteToMessageDecoder.MERGE_CUMULATOR.cumulate(ctx.alloc(), cumulation, in);
+  }
+
+  private void readFrames(final ByteBufAllocator alloc, final ByteBuf in) {
+    while (in.isReadable()) {
+      if (pendingLength == 0) {
+        // skip any runs of 0x00 we might find
+        int packetStart = in.forEachByte(FIND_NON_NUL);
+        if (packetStart == -1) {
+          in.skipBytes(in.readableBytes());
+          return;
+        }
+        in.readerIndex(packetStart);
+
+        // try to read the length of the packet
+        int preIndex = in.readerIndex();
+        int length = readRawVarInt21(in);
+        if (preIndex == in.readerIndex()) {
+          return;
+        }
+        if (length < 0 || length > maxFrameLength) {
+          throw BAD_PACKET_LENGTH;
+        }
+        // note that zero-length packets are ignored
+        if (length == 0) {
+          continue;
+        }
+        pendingLength = length;
+      }
+
+      if (in.readableBytes() < pendingLength) {
+        return;
+      }
+      ByteBuf frame = in.readRetainedSlice(pendingLength);
+      if (frame.nioBufferCount() > 1) {
+        // The frame spans several components of a composite cumulation.
+        ByteBuf copy = alloc.directBuffer(pendingLength);
+        try {
+          copy.writeBytes(frame);
+        } finally {
+          frame.release();
+        }
+        frame = copy;
+      }
+      frames.add(frame);
+      pendingLength = 0;
+    }
+  }
+
+  private void fireFrames(final ChannelHandlerContext ctx) {
+    final int size = frames.size();
+    if (size == 0) {
       return;
     }
-    in.readerIndex(packetStart);
+    firedChannelRead = true;
+    for (int i = 0; i < size; i++) {
+      ctx.fireChannelRead(frames.get(i));
+    }
+    frames.clear();
+  }
+
+  @Override
+  public void channelReadComplete(final ChannelHandlerContext ctx) throws Exception {
+    if (!firedChannelRead && !ctx.channel().config().isAutoRead()) {
+      // Nothing was passed on, so nothing downstream will ask for more data.
+      ctx.read();
+    }
+    firedChannelRead = false;
+    ctx.fireChannelReadComplete();
+  }
 
-    // try to read the length of the packet
-    in.markReaderIndex();
-    int preIndex = in.readerIndex();
-    int length = readRawVarInt21(in);
-    if (preIndex == in.readerIndex()) {
+  @Override
+  public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+    releaseCumulation();
+    ctx.fireChannelInactive();
+  }
+
+  @Override
+  public void handlerRemoved(final ChannelHandlerContext ctx) {
+    final ByteBuf cumulation = this.cumulation;
+    this.cumulation = null;
+    this.pendingLength = 0;
+    if (cumulation == null) {
       return;
     }
-    if (length < 0) {
-      throw BAD_PACKET_LENGTH;
+    if (cumulation.isReadable()) {
+      // Hand whatever is left to the next handler, as ByteToMessageDecoder does.
+      ctx.fireChannelRead(cumulation);
+      ctx.fireChannelReadComplete();
+    } else {
+      cumulation.release();
     }
+  }
 
-    // note that zero-length packets are ignored
-    if (length > 0) {
-      if (in.readableBytes() < length) {
-        in.resetReaderIndex();
-      } else {
-        out.add(in.readRetainedSlice(length));
-      }
+  private void releaseCumulation() {
+    if (cumulation != null) {
+      cumulation.release();
+      cumulation = null;
     }
+    pendingLength = 0;
   }
 
   /**
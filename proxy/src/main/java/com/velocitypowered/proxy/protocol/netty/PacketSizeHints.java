@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks how large each type of packet usually is once encoded, so that {@link MinecraftEncoder}
+ * can allocate a buffer of the right size up front instead of growing it as the packet is
+ * written.
+ */
+public final class PacketSizeHints {
+
+  // Netty's default initial capacity, used until we have seen a packet of a given type.
+  static final int DEFAULT_SIZE = 256;
+  // Don't let a single huge packet make every later allocation of its type huge as well.
+  private static final int MAX_HINT = 1 << 21;
+  // Packet ID varint.
+  private static final int ID_BYTES = 5;
+
+  private static final ClassValue<Hint> HINTS = new ClassValue<>() {
+    @Override
+    protected Hint computeValue(final Class<?> type) {
+      return new Hint();
+    }
+  };
+
+  private static final LongAdder PRESIZED = new LongAdder();
+  private static final LongAdder REALLOCATED = new LongAdder();
+
+  private PacketSizeHints() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Returns the capacity to allocate for encoding {@code packet}, including its packet ID.
+   *
+   * @param packet the packet about to be encoded
+   * @param direction the direction the packet is encoded for
+   * @param version the protocol version the packet is encoded for
+   * @return the initial buffer capacity to use
+   */
+  static int initialCapacity(final MinecraftPacket packet,
+      final ProtocolUtils.Direction direction, final ProtocolVersion version) {
+    int estimate = packet.encodedSizeHint(direction, version);
+    if (estimate >= 0) {
+      return Math.min(estimate + ID_BYTES, MAX_HINT);
+    }
+    int learned = HINTS.get(packet.getClass()).size;
+    return learned == 0 ? DEFAULT_SIZE : learned;
+  }
+
+  /**
+   * Records the encoded size of a packet.
+   *
+   * @param packet the packet that was encoded
+   * @param encodedSize the number of bytes written for the packet, including its packet ID
+   * @param reallocated whether the buffer had to grow while the packet was being written
+   */
+  static void record(final MinecraftPacket packet, final int encodedSize,
+      final boolean reallocated) {
+    if (reallocated) {
+      REALLOCATED.increment();
+    } else if (encodedSize > DEFAULT_SIZE) {
+      // A default-sized buffer would have been grown to fit this packet.
+      PRESIZED.increment();
+    }
+
+    // A moving maximum: follow growth immediately, but only shrink slowly so that packets
+    // of varying size don't keep missing the hint.
+    Hint hint = HINTS.get(packet.getClass());
+    int current = hint.size;
+    int size = Math.min(encodedSize, MAX_HINT);
+    if (size >= current) {
+      hint.size = size;
+    } else {
+      hint.size = current - ((current - size) >> 4);
+    }
+  }
+
+  public static long reallocationsAvoided() {
+    return PRESIZED.sum();
+  }
+
+  public static long reallocations() {
+    return REALLOCATED.sum();
+  }
+
+  private static final class Hint {
+
+    // Updates from different event loops may race; losing one only makes the hint less exact.
+    private int size;
+  }
+}
@@ -99,6 +99,16 @@ public class LoginPluginMessagePacket extends DeferredByteBufHolder implements M
     buf.writeBytes(content());
   }
 
+  @Override
+  public int encodedSizeHint(final ProtocolUtils.Direction direction,
+      final ProtocolVersion version) {
+    int contentBytes = readableContentBytes();
+    if (channel == null || contentBytes < 0) {
+      return -1;
+    }
+    return channel.length() + contentBytes + 10;
+  }
+
   @Override
   public boolean handle(final MinecraftSessionHandler handler) {
     return handler.handle(this);
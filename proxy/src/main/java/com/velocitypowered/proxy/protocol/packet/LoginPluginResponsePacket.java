@@ -95,6 +95,13 @@ public class LoginPluginResponsePacket extends DeferredByteBufHolder implements
     buf.writeBytes(content());
   }
 
+  @Override
+  public int encodedSizeHint(final ProtocolUtils.Direction direction,
+      final ProtocolVersion version) {
+    int contentBytes = readableContentBytes();
+    return contentBytes < 0 ? -1 : contentBytes + 6;
+  }
+
   @Override
   public boolean handle(final MinecraftSessionHandler handler) {
     return handler.handle(this);
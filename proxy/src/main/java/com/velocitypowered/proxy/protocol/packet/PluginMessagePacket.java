@@ -109,6 +109,17 @@ public class PluginMessagePacket extends DeferredByteBufHolder implements Minecr
 
   }
 
+  @Override
+  public int encodedSizeHint(final ProtocolUtils.Direction direction,
+      final ProtocolVersion version) {
+    int contentBytes = readableContentBytes();
+    if (channel == null || contentBytes < 0) {
+      return -1;
+    }
+    // Channel names are ASCII in practice; the rest covers the length prefixes.
+    return channel.length() + contentBytes + 8;
+  }
+
   @Override
   public boolean handle(final MinecraftSessionHandler handler) {
     return handler.handle(this);
@@ -55,6 +55,12 @@ public class RegistrySyncPacket extends DeferredByteBufHolder implements Minecra
     buf.writeBytes(content());
   }
 
+  @Override
+  public int encodedSizeHint(final ProtocolUtils.Direction direction,
+      final ProtocolVersion protocolVersion) {
+    return readableContentBytes();
+  }
+
   @Override
   public boolean handle(final MinecraftSessionHandler handler) {
     return handler.handle(this);
@@ -47,6 +47,18 @@ public class DeferredByteBufHolder implements ByteBufHolder {
     return backing;
   }
 
+  /**
+   * Returns the number of readable bytes in the held buffer without checking its state.
+   *
+   * @return the readable bytes, or {@code -1} if no buffer is held or it has been released
+   */
+  protected int readableContentBytes() {
+    if (backing == null || backing.refCnt() <= 0) {
+      return -1;
+    }
+    return backing.readableBytes();
+  }
+
   @Override
   public ByteBufHolder copy() {
     if (backing == null) {
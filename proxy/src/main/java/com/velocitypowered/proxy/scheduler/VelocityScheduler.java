@@ -20,9 +20,6 @@ package com.velocitypowered.proxy.scheduler;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginManager;
@@ -30,21 +27,23 @@ import com.velocitypowered.api.scheduler.ScheduledTask;
 import com.velocitypowered.api.scheduler.Scheduler;
 import com.velocitypowered.api.scheduler.TaskStatus;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginContainer;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -54,17 +53,21 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.VisibleForTesting;
 
 /**
- * The Velocity "scheduler", which is actually a thin wrapper around
- * {@link ScheduledExecutorService} and a dynamically-sized {@link ExecutorService}.
- * Many plugins are accustomed to the Bukkit Scheduler model, although it is not relevant
- * in a proxy context.
+ * The Velocity "scheduler", which is actually a thin wrapper around a
+ * {@link HashedWheelTimer} and each plugin's {@link ExecutorService}. Scheduling and cancelling
+ * a task take constant time and never contend on a lock, so plugins that schedule a task per
+ * player do not slow each other down. Many plugins are accustomed to the Bukkit Scheduler
+ * model, although it is not relevant in a proxy context.
  */
 public class VelocityScheduler implements Scheduler {
 
+  // Tasks run up to one tick late; that is well below what a plugin task can rely on anyway.
+  private static final long TICK_MILLIS = Math.max(1,
+      Long.getLong("velocity.scheduler-tick-millis", 10));
+
   private final PluginManager pluginManager;
-  private final ScheduledExecutorService timerExecutionService;
-  private final Multimap<Object, ScheduledTask> tasksByPlugin = Multimaps.synchronizedMultimap(
-      Multimaps.newSetMultimap(new IdentityHashMap<>(), HashSet::new));
+  private final HashedWheelTimer timer;
+  private final Map<PluginContainer, PluginTasks> tasksByPlugin = new ConcurrentHashMap<>();
 
   /**
    * Initializes the scheduler.
@@ -73,9 +76,24 @@ public class VelocityScheduler implements Scheduler {
    */
   public VelocityScheduler(final PluginManager pluginManager) {
     this.pluginManager = pluginManager;
-    this.timerExecutionService = Executors
-        .newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true)
-            .setNameFormat("Velocity Task Scheduler Timer").build());
+    this.timer = new HashedWheelTimer(new ThreadFactoryBuilder().setDaemon(true)
+        .setNameFormat("Velocity Task Scheduler Timer").build(), TICK_MILLIS,
+        TimeUnit.MILLISECONDS, 512, false);
+  }
+
+  /**
+   * The tasks a plugin has scheduled, and how often its repeating tasks were due again while
+   * still running.
+   */
+  private record PluginTasks(Set<VelocityTask> tasks, LongAdder overruns) {
+
+    PluginTasks() {
+      this(ConcurrentHashMap.newKeySet(), new LongAdder());
+    }
+  }
+
+  private PluginTasks tasksFor(final PluginContainer container) {
+    return tasksByPlugin.computeIfAbsent(container, ignored -> new PluginTasks());
   }
 
   @Override
@@ -99,11 +117,34 @@ public class VelocityScheduler implements Scheduler {
   @Override
   public @NonNull Collection<ScheduledTask> tasksByPlugin(@NonNull final Object plugin) {
     checkNotNull(plugin, "plugin");
-    checkArgument(pluginManager.fromInstance(plugin).isPresent(), "plugin is not registered");
-    final Collection<ScheduledTask> tasks = tasksByPlugin.get(plugin);
-    synchronized (tasksByPlugin) {
-      return Set.copyOf(tasks);
-    }
+    final Optional<PluginContainer> container = pluginManager.fromInstance(plugin);
+    checkArgument(container.isPresent(), "plugin is not registered");
+    final PluginTasks tasks = tasksByPlugin.get(container.get());
+    return tasks == null ? Set.of() : Set.copyOf(tasks.tasks);
+  }
+
+  /**
+   * Returns the number of tasks the plugin has scheduled that have not yet finished or been
+   * cancelled.
+   *
+   * @param container the plugin
+   * @return the number of pending tasks
+   */
+  public int getTaskCount(final PluginContainer container) {
+    final PluginTasks tasks = tasksByPlugin.get(container);
+    return tasks == null ? 0 : tasks.tasks.size();
+  }
+
+  /**
+   * Returns how many times a repeating task of the plugin was due to run again while its
+   * previous run had not finished yet.
+   *
+   * @param container the plugin
+   * @return the number of overruns
+   */
+  public long getTaskOverruns(final PluginContainer container) {
+    final PluginTasks tasks = tasksByPlugin.get(container);
+    return tasks == null ? 0 : tasks.overruns.sum();
   }
 
   /**
@@ -113,14 +154,12 @@ public class VelocityScheduler implements Scheduler {
    * @throws InterruptedException if the current thread was interrupted
    */
   public boolean shutdown() throws InterruptedException {
-    Collection<ScheduledTask> terminating;
-    synchronized (tasksByPlugin) {
-      terminating = ImmutableList.copyOf(tasksByPlugin.values());
-    }
-    for (ScheduledTask task : terminating) {
-      task.cancel();
+    for (PluginTasks tasks : tasksByPlugin.values()) {
+      for (ScheduledTask task : List.copyOf(tasks.tasks)) {
+        task.cancel();
+      }
     }
-    timerExecutionService.shutdown();
+    timer.stop();
     final List<PluginContainer> plugins = new ArrayList<>(this.pluginManager.getPlugins());
     final Iterator<PluginContainer> pluginIterator = plugins.iterator();
     while (pluginIterator.hasNext()) {
@@ -204,27 +243,42 @@ public class VelocityScheduler implements Scheduler {
 
     @Override
     public ScheduledTask schedule() {
-      VelocityTask task = new VelocityTask(container, runnable, consumer, delay, repeat);
-      container.getInstance().ifPresent(instance -> tasksByPlugin.put(instance, task));
+      PluginTasks tasks = tasksFor(container);
+      VelocityTask task = new VelocityTask(container, tasks, runnable, consumer, delay, repeat);
+      tasks.tasks.add(task);
       task.schedule();
       return task;
     }
   }
 
+  private static final AtomicReferenceFieldUpdater<VelocityTask, TaskStatus> TASK_STATUS =
+      AtomicReferenceFieldUpdater.newUpdater(VelocityTask.class, TaskStatus.class, "status");
+  private static final AtomicIntegerFieldUpdater<VelocityTask> RUNS_IN_FLIGHT =
+      AtomicIntegerFieldUpdater.newUpdater(VelocityTask.class, "runsInFlight");
+
   @VisibleForTesting
-  final class VelocityTask implements Runnable, ScheduledTask {
+  final class VelocityTask implements TimerTask, ScheduledTask {
 
     private final PluginContainer container;
+    private final PluginTasks tasks;
     private final Runnable runnable;
     private final Consumer<ScheduledTask> consumer;
     private final long delay;
     private final long repeat;
-    private @Nullable ScheduledFuture<?> future;
-    private volatile @Nullable Thread currentTaskThread;
-
-    private VelocityTask(final PluginContainer container, final Runnable runnable,
-        final Consumer<ScheduledTask> consumer, final long delay, final long repeat) {
+    private volatile TaskStatus status = TaskStatus.SCHEDULED;
+    private volatile @Nullable Timeout timeout;
+    // Only touched while scheduling and then by the timer thread.
+    private long nextRunNanos;
+    // Runs handed to the plugin's executor that have not finished yet, including queued ones.
+    private volatile int runsInFlight;
+    // The threads currently running this task. Runs overlap once the task overruns.
+    private final Set<Thread> runningThreads = ConcurrentHashMap.newKeySet();
+
+    private VelocityTask(final PluginContainer container, final PluginTasks tasks,
+        final Runnable runnable, final Consumer<ScheduledTask> consumer, final long delay,
+        final long repeat) {
       this.container = container;
+      this.tasks = tasks;
       this.runnable = runnable;
       this.consumer = consumer;
       this.delay = delay;
@@ -232,12 +286,8 @@ public class VelocityScheduler implements Scheduler {
     }
 
     void schedule() {
-      if (repeat == 0) {
-        this.future = timerExecutionService.schedule(this, delay, TimeUnit.MILLISECONDS);
-      } else {
-        this.future = timerExecutionService
-            .scheduleAtFixedRate(this, delay, repeat, TimeUnit.MILLISECONDS);
-      }
+      this.nextRunNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+      this.timeout = timer.newTimeout(this, delay, TimeUnit.MILLISECONDS);
     }
 
     @Override
@@ -248,76 +298,101 @@ public class VelocityScheduler implements Scheduler {
 
     @Override
     public TaskStatus status() {
-      if (future == null) {
-        return TaskStatus.SCHEDULED;
-      }
+      return status;
+    }
 
-      if (future.isCancelled()) {
-        return TaskStatus.CANCELLED;
+    @Override
+    public void cancel() {
+      if (!TASK_STATUS.compareAndSet(this, TaskStatus.SCHEDULED, TaskStatus.CANCELLED)) {
+        return;
+      }
+      final Timeout timeout = this.timeout;
+      if (timeout != null) {
+        timeout.cancel();
       }
 
-      if (future.isDone()) {
-        return TaskStatus.FINISHED;
+      for (Thread thread : runningThreads) {
+        thread.interrupt();
       }
 
-      return TaskStatus.SCHEDULED;
+      onFinish();
     }
 
     @Override
-    public void cancel() {
-      if (future != null) {
-        future.cancel(false);
-
-        Thread cur = currentTaskThread;
-        if (cur != null) {
-          cur.interrupt();
+    public void run(final Timeout expired) {
+      if (status != TaskStatus.SCHEDULED) {
+        return;
+      }
+      if (repeat != 0) {
+        if (runsInFlight > 0) {
+          tasks.overruns.increment();
+        }
+        // Repeat at a fixed rate, like ScheduledExecutorService.scheduleAtFixedRate did
+        nextRunNanos += TimeUnit.MILLISECONDS.toNanos(repeat);
+        final Timeout next = timer.newTimeout(this,
+            Math.max(0, nextRunNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        this.timeout = next;
+        if (status != TaskStatus.SCHEDULED) {
+          // Cancelled while we were rescheduling, after cancel() looked at the old timeout
+          next.cancel();
         }
-
-        onFinish();
+      }
+      RUNS_IN_FLIGHT.incrementAndGet(this);
+      try {
+        container.getExecutorService().execute(this::runTask);
+      } catch (RejectedExecutionException e) {
+        RUNS_IN_FLIGHT.decrementAndGet(this);
+        throw e;
       }
     }
 
-    @Override
-    public void run() {
-      container.getExecutorService().execute(() -> {
-        currentTaskThread = Thread.currentThread();
-        try {
-          if (runnable != null) {
-            runnable.run();
-          } else {
-            consumer.accept(this);
-          }
-        } catch (Throwable e) {
-          //noinspection ConstantConditions
-          if (e instanceof InterruptedException) {
-            Thread.currentThread().interrupt();
-          } else {
-            String friendlyPluginName = container.getDescription().getName()
-                .orElse(container.getDescription().getId());
-            Object unit = consumer == null ? runnable : consumer;
-            Log.logger.error("Exception in task {} by plugin {}", unit, friendlyPluginName,
-                e);
-          }
-        } finally {
-          if (repeat == 0) {
-            onFinish();
-          }
-          currentTaskThread = null;
+    private void runTask() {
+      final Thread thread = Thread.currentThread();
+      runningThreads.add(thread);
+      try {
+        if (runnable != null) {
+          runnable.run();
+        } else {
+          consumer.accept(this);
+        }
+      } catch (Throwable e) {
+        //noinspection ConstantConditions
+        if (e instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
+        } else {
+          String friendlyPluginName = container.getDescription().getName()
+              .orElse(container.getDescription().getId());
+          Object unit = consumer == null ? runnable : consumer;
+          Log.logger.error("Exception in task {} by plugin {}", unit, friendlyPluginName,
+              e);
         }
-      });
+      } finally {
+        if (repeat == 0 && TASK_STATUS.compareAndSet(this, TaskStatus.SCHEDULED,
+            TaskStatus.FINISHED)) {
+          onFinish();
+        }
+        runningThreads.remove(thread);
+        RUNS_IN_FLIGHT.decrementAndGet(this);
+      }
     }
 
     private void onFinish() {
-      tasksByPlugin.remove(plugin(), this);
+      tasks.tasks.remove(this);
+      synchronized (this) {
+        notifyAll();
+      }
     }
 
     public void awaitCompletion() {
-      try {
-        Objects.requireNonNull(future).get();
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-      } catch (ExecutionException e) {
-        throw new RuntimeException(e);
+      synchronized (this) {
+        while (status == TaskStatus.SCHEDULED) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
       }
     }
   }
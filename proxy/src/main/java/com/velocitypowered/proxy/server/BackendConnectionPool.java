@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.util.AddressUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoop;
+import java.net.SocketAddress;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps a few connected but otherwise untouched channels to backend servers on each event loop,
+ * so that a player switching servers can skip the TCP handshake with the backend. Each pool sizes
+ * itself after how often players on its event loop recently connected to its server, and is left
+ * to drain once they stop.
+ *
+ * <p>Pooling is off by default. {@code velocity.backend-pool-size} sets the most idle channels
+ * kept per server and event loop, and {@code velocity.backend-pool-size.<server>} overrides it for
+ * a single server.
+ */
+public final class BackendConnectionPool {
+
+  private static final Logger logger = LogManager.getLogger(BackendConnectionPool.class);
+
+  private static final String SIZE_PROPERTY = "velocity.backend-pool-size";
+  private static final int DEFAULT_MAX_SIZE = Integer.getInteger(SIZE_PROPERTY, 0);
+  // Backends drop connections that stay silent for too long, so idle channels are replaced well
+  // before that happens.
+  private static final long MAX_IDLE_MILLIS =
+      Long.getLong("velocity.backend-pool-max-idle", 10_000);
+  private static final long MAINTENANCE_INTERVAL_MILLIS = 1000;
+  // Pools aim to hold this many seconds' worth of recent connections.
+  private static final double HEADROOM = 2.0;
+
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+  private static final LongAdder OPENED = new LongAdder();
+  private static final LongAdder EXPIRED = new LongAdder();
+
+  private final VelocityServer server;
+  private final boolean enabled;
+  private final Map<VelocityRegisteredServer, ServerPool> pools = new ConcurrentHashMap<>();
+  private @Nullable ScheduledFuture<?> task;
+
+  /**
+   * Creates the backend connection pool.
+   *
+   * @param server the proxy
+   */
+  public BackendConnectionPool(final VelocityServer server) {
+    this.server = server;
+    this.enabled = DEFAULT_MAX_SIZE > 0 || System.getProperties().stringPropertyNames().stream()
+        .anyMatch(name -> name.startsWith(SIZE_PROPERTY + "."));
+  }
+
+  /**
+   * Starts maintaining the pools, if pooling is enabled for any server.
+   */
+  public void start() {
+    if (!enabled || task != null) {
+      return;
+    }
+    task = server.getWorkerGroup().next().scheduleWithFixedDelay(
+        this::maintain, MAINTENANCE_INTERVAL_MILLIS, MAINTENANCE_INTERVAL_MILLIS,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops maintaining the pools and closes every idle channel.
+   */
+  public void shutdown() {
+    if (task != null) {
+      task.cancel(false);
+      task = null;
+    }
+    for (ServerPool pool : pools.values()) {
+      pool.close();
+    }
+    pools.clear();
+  }
+
+  /**
+   * Closes every idle channel, so that new ones are opened with the current configuration.
+   */
+  public void reset() {
+    for (ServerPool pool : pools.values()) {
+      pool.close();
+    }
+    pools.clear();
+  }
+
+  /**
+   * Takes an idle channel to {@code target} belonging to {@code eventLoop}, if there is one. The
+   * channel is connected and set up with the backend channel initializer, and nothing has been
+   * written to or read from it yet.
+   *
+   * @param target the server to connect to
+   * @param eventLoop the event loop the channel should belong to
+   * @return an idle channel, or {@code null} if none is available
+   */
+  public @Nullable Channel poll(final VelocityRegisteredServer target, final EventLoop eventLoop) {
+    if (!enabled) {
+      return null;
+    }
+    ServerPool pool = pools.computeIfAbsent(target, ServerPool::new);
+    if (pool.maxSize == 0) {
+      return null;
+    }
+    Channel channel = pool.forEventLoop(eventLoop).poll();
+    if (channel == null) {
+      MISSES.increment();
+    } else {
+      HITS.increment();
+    }
+    return channel;
+  }
+
+  @VisibleForTesting
+  void maintain() {
+    for (ServerPool pool : pools.values()) {
+      Optional<?> registered = server.getServer(pool.target.getServerInfo().getName());
+      if (registered.isEmpty() || registered.get() != pool.target) {
+        // The server was unregistered or replaced.
+        pools.remove(pool.target, pool);
+        pool.close();
+        continue;
+      }
+      for (EventLoopPool loopPool : pool.eventLoops.values()) {
+        loopPool.eventLoop.execute(loopPool::maintain);
+      }
+    }
+  }
+
+  private long maxIdleNanos() {
+    long readTimeout = server.getConfiguration().getReadTimeout();
+    return TimeUnit.MILLISECONDS.toNanos(Math.min(MAX_IDLE_MILLIS, readTimeout / 2));
+  }
+
+  private final class ServerPool {
+
+    private final VelocityRegisteredServer target;
+    private final int maxSize;
+    private final Map<EventLoop, EventLoopPool> eventLoops = new ConcurrentHashMap<>();
+
+    ServerPool(final VelocityRegisteredServer target) {
+      this.target = target;
+      this.maxSize = Math.max(0, Integer.getInteger(
+          SIZE_PROPERTY + "." + target.getServerInfo().getName(), DEFAULT_MAX_SIZE));
+    }
+
+    EventLoopPool forEventLoop(final EventLoop eventLoop) {
+      return eventLoops.computeIfAbsent(eventLoop, loop -> new EventLoopPool(this, loop));
+    }
+
+    void close() {
+      for (EventLoopPool pool : eventLoops.values()) {
+        pool.close();
+      }
+    }
+  }
+
+  private record IdleChannel(Channel channel, long openedAt) {
+
+  }
+
+  private final class EventLoopPool {
+
+    private final ServerPool pool;
+    private final EventLoop eventLoop;
+    private final Deque<IdleChannel> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger demand = new AtomicInteger();
+    // Only touched on the event loop.
+    private int connecting;
+    private int targetSize;
+    private double rate;
+    private volatile boolean closed;
+
+    EventLoopPool(final ServerPool pool, final EventLoop eventLoop) {
+      this.pool = pool;
+      this.eventLoop = eventLoop;
+    }
+
+    @Nullable Channel poll() {
+      demand.incrementAndGet();
+      long maxIdle = maxIdleNanos();
+      IdleChannel candidate;
+      while ((candidate = idle.pollFirst()) != null) {
+        if (candidate.channel.isActive() && System.nanoTime() - candidate.openedAt < maxIdle) {
+          eventLoop.execute(this::fill);
+          return candidate.channel;
+        }
+        EXPIRED.increment();
+        candidate.channel.close();
+      }
+      return null;
+    }
+
+    void maintain() {
+      long maxIdle = maxIdleNanos();
+      long now = System.nanoTime();
+      IdleChannel candidate;
+      // Channels are queued in the order they were opened, so only the head can be too old.
+      while ((candidate = idle.peekFirst()) != null
+          && (!candidate.channel.isActive() || now - candidate.openedAt >= maxIdle)) {
+        if (idle.remove(candidate)) {
+          EXPIRED.increment();
+          candidate.channel.close();
+        }
+      }
+
+      rate += (demand.getAndSet(0) * (1000.0 / MAINTENANCE_INTERVAL_MILLIS) - rate) * 0.25;
+      targetSize = rate < 0.05 ? 0 : (int) Math.min(pool.maxSize, Math.ceil(rate * HEADROOM));
+      fill();
+    }
+
+    private void fill() {
+      // Don't hammer a server that is failing, or take the probe meant for a player connection.
+      if (closed || pool.target.getHealth().getStatus() != BackendHealth.Status.CLOSED) {
+        return;
+      }
+      SocketAddress address = AddressUtil.toConnectAddress(pool.target.getServerInfo()
+          .getAddress());
+      for (int missing = targetSize - idle.size() - connecting; missing > 0; missing--) {
+        connecting++;
+        server.createBootstrap(eventLoop, address)
+            .handler(server.getBackendChannelInitializer())
+            .connect(address)
+            .addListener((ChannelFutureListener) future -> {
+              connecting--;
+              if (!future.isSuccess()) {
+                logger.debug("Unable to open an idle connection to {}",
+                    pool.target.getServerInfo().getName(), future.cause());
+                // Leave the server alone until the next round of maintenance.
+                targetSize = 0;
+                return;
+              }
+              Channel channel = future.channel();
+              if (closed) {
+                channel.close();
+                return;
+              }
+              OPENED.increment();
+              IdleChannel entry = new IdleChannel(channel, System.nanoTime());
+              idle.addLast(entry);
+              channel.closeFuture().addListener(closeFuture -> idle.remove(entry));
+            });
+      }
+    }
+
+    void close() {
+      closed = true;
+      IdleChannel candidate;
+      while ((candidate = idle.pollFirst()) != null) {
+        candidate.channel.close();
+      }
+    }
+  }
+
+  public static long hits() {
+    return HITS.sum();
+  }
+
+  public static long misses() {
+    return MISSES.sum();
+  }
+
+  public static long opened() {
+    return OPENED.sum();
+  }
+
+  public static long expired() {
+    return EXPIRED.sum();
+  }
+}
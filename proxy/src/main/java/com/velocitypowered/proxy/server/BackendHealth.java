@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.JsonObject;
+import com.velocitypowered.proxy.util.LatencyHistogram;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks whether connections to a backend server succeed, and acts as a circuit breaker: after
+ * several connection attempts in a row have failed, further attempts fail right away instead of
+ * each waiting for the connect timeout. Once the circuit has been open for a while, a single
+ * attempt is let through to probe the server, which either closes the circuit again or keeps it
+ * open for another round.
+ */
+public final class BackendHealth {
+
+  // Zero disables the circuit breaker.
+  private static final int FAILURE_THRESHOLD =
+      Integer.getInteger("velocity.circuit-breaker.failure-threshold", 3);
+  private static final long OPEN_MILLIS =
+      Long.getLong("velocity.circuit-breaker.open-time", 10_000);
+
+  /**
+   * The state of the circuit breaker.
+   */
+  public enum Status {
+    /**
+     * Connections go through.
+     */
+    CLOSED,
+    /**
+     * Connections fail right away until the server is probed again.
+     */
+    OPEN,
+    /**
+     * A single connection is probing whether the server is back.
+     */
+    HALF_OPEN
+  }
+
+  private record State(Status status, int consecutiveFailures, long since) {
+
+  }
+
+  private final int failureThreshold;
+  private final long openNanos;
+  private final LongSupplier nanoTime;
+  private final AtomicReference<State> state;
+  private final LatencyHistogram connectLatency = new LatencyHistogram();
+  private final LongAdder successes = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  public BackendHealth() {
+    this(FAILURE_THRESHOLD, OPEN_MILLIS, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  BackendHealth(final int failureThreshold, final long openMillis, final LongSupplier nanoTime) {
+    this.failureThreshold = failureThreshold;
+    this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    this.nanoTime = nanoTime;
+    this.state = new AtomicReference<>(new State(Status.CLOSED, 0, nanoTime.getAsLong()));
+  }
+
+  /**
+   * Returns whether a connection attempt would currently be let through, without claiming the
+   * probe of an open circuit.
+   *
+   * @return whether the server may be connected to
+   */
+  public boolean isAvailable() {
+    State current = state.get();
+    return current.status == Status.CLOSED || probeDue(current);
+  }
+
+  /**
+   * Claims permission to connect to the server. Every permitted attempt must be followed by
+   * {@link #recordSuccess(long)} or {@link #recordFailure()}.
+   *
+   * @return whether the connection attempt may go ahead
+   */
+  public boolean tryAcquire() {
+    return tryAcquire(false);
+  }
+
+  /**
+   * Claims permission to connect to the server. A last resort attempt, made because every other
+   * server is down as well, is always let through; while the circuit is not closed it takes over
+   * as the probe. Every permitted attempt must be followed by {@link #recordSuccess(long)} or
+   * {@link #recordFailure()}.
+   *
+   * @param lastResort whether there is no other server left to connect to
+   * @return whether the connection attempt may go ahead
+   */
+  public boolean tryAcquire(final boolean lastResort) {
+    while (true) {
+      State current = state.get();
+      if (current.status == Status.CLOSED) {
+        return true;
+      }
+      if (!lastResort && !probeDue(current)) {
+        rejected.increment();
+        return false;
+      }
+      State probing = new State(Status.HALF_OPEN, current.consecutiveFailures,
+          nanoTime.getAsLong());
+      if (state.compareAndSet(current, probing)) {
+        return true;
+      }
+    }
+  }
+
+  private boolean probeDue(final State current) {
+    // A half-open circuit whose probe never reported back gets another probe after a while.
+    return failureThreshold <= 0 || nanoTime.getAsLong() - current.since >= openNanos;
+  }
+
+  /**
+   * Records a successful connection, closing the circuit.
+   *
+   * @param latencyNanos how long it took to connect
+   */
+  public void recordSuccess(final long latencyNanos) {
+    connectLatency.record(latencyNanos);
+    recordSuccess();
+  }
+
+  /**
+   * Records a successful connection whose latency is not known, closing the circuit.
+   */
+  public void recordSuccess() {
+    successes.increment();
+    State current = state.get();
+    if (current.status != Status.CLOSED || current.consecutiveFailures != 0) {
+      state.set(new State(Status.CLOSED, 0, nanoTime.getAsLong()));
+    }
+  }
+
+  /**
+   * Records a failed connection attempt, which opens the circuit if enough attempts in a row have
+   * failed or if the attempt was probing an open circuit.
+   */
+  public void recordFailure() {
+    failures.increment();
+    state.updateAndGet(current -> {
+      int consecutive = current.consecutiveFailures + 1;
+      if (failureThreshold > 0
+          && (current.status != Status.CLOSED || consecutive >= failureThreshold)) {
+        return new State(Status.OPEN, consecutive, nanoTime.getAsLong());
+      }
+      return new State(current.status, consecutive, current.since);
+    });
+  }
+
+  public Status getStatus() {
+    return state.get().status;
+  }
+
+  public int getConsecutiveFailures() {
+    return state.get().consecutiveFailures;
+  }
+
+  /**
+   * Returns how long the circuit has been in its current state.
+   *
+   * @return the time since the last state change, in milliseconds
+   */
+  public long getMillisInStatus() {
+    return TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - state.get().since);
+  }
+
+  public LatencyHistogram getConnectLatency() {
+    return connectLatency;
+  }
+
+  /**
+   * Returns the state and counters of this server as JSON, for dumps.
+   *
+   * @return the health of the server
+   */
+  public JsonObject toJson() {
+    State current = state.get();
+    JsonObject json = new JsonObject();
+    json.addProperty("status", current.status.name().toLowerCase(Locale.ROOT));
+    json.addProperty("consecutiveFailures", current.consecutiveFailures);
+    json.addProperty("millisInStatus",
+        TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - current.since));
+    json.addProperty("successes", successes.sum());
+    json.addProperty("failures", failures.sum());
+    json.addProperty("rejected", rejected.sum());
+    json.add("connectLatency", connectLatency.toJson());
+    return json;
+  }
+}
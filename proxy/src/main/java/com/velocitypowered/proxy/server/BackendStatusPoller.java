@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.PingPassthroughMode;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.util.AddressUtil;
+import com.velocitypowered.proxy.util.except.QuietRuntimeException;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.unix.DomainSocketAddress;
+import java.net.SocketAddress;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Pings the backend servers used for ping passthrough on a fixed interval and keeps their latest
+ * response, so client server list pings can be answered without opening a connection to any
+ * backend.
+ *
+ * <p>Backends may answer differently depending on the protocol version they are pinged with, so
+ * a separate response is kept for every protocol version clients have recently asked about. The
+ * first request for a version pings the backend immediately.</p>
+ */
+public final class BackendStatusPoller {
+
+  private static final Logger logger = LogManager.getLogger(BackendStatusPoller.class);
+  private static final QuietRuntimeException NO_RECENT_STATUS = new QuietRuntimeException(
+      "Backend server has not answered a recent status poll");
+
+  // Zero disables the poller, and backends are pinged for every client ping instead.
+  private static final long POLL_INTERVAL_MILLIS =
+      Long.getLong("velocity.ping-passthrough-poll-interval", 5000);
+  // Responses older than this are no longer served, as the backend has likely gone away.
+  static final long MAX_AGE_NANOS = TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL_MILLIS * 3);
+  // Protocol versions no client has asked about for this long are no longer polled.
+  private static final long VERSION_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+  private final VelocityServer server;
+  private final LongSupplier nanoTime;
+  private final Map<StatusKey, BackendStatus> statuses = new ConcurrentHashMap<>();
+  private final Map<StatusKey, CompletableFuture<ServerPing>> inFlight = new ConcurrentHashMap<>();
+  private final Map<ProtocolVersion, Long> requestedVersions = new ConcurrentHashMap<>();
+  private volatile @Nullable Bootstrap tcpBootstrap;
+  private volatile @Nullable Bootstrap domainSocketBootstrap;
+  private @Nullable ScheduledFuture<?> task;
+
+  public BackendStatusPoller(final VelocityServer server) {
+    this(server, System::nanoTime);
+  }
+
+  BackendStatusPoller(final VelocityServer server, final LongSupplier nanoTime) {
+    this.server = server;
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * Returns whether backend servers are polled in the background.
+   *
+   * @return whether the poller is enabled
+   */
+  public static boolean isEnabled() {
+    return POLL_INTERVAL_MILLIS > 0;
+  }
+
+  /**
+   * Starts polling backend servers, if enabled.
+   */
+  public void start() {
+    if (!isEnabled() || task != null) {
+      return;
+    }
+    task = server.getWorkerGroup().next().scheduleWithFixedDelay(this::poll, 0,
+        POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops polling backend servers.
+   */
+  public void shutdown() {
+    if (task != null) {
+      task.cancel(false);
+      task = null;
+    }
+    statuses.clear();
+    requestedVersions.clear();
+  }
+
+  /**
+   * Drops the bootstraps used for polling, so that they are recreated with the current
+   * configuration.
+   */
+  public void reset() {
+    tcpBootstrap = null;
+    domainSocketBootstrap = null;
+  }
+
+  /**
+   * Returns the most recent status of every polled backend server, by server name and the
+   * protocol version it was pinged with.
+   *
+   * @return a snapshot of the polled statuses
+   */
+  public Map<String, Map<ProtocolVersion, BackendStatus>> getStatuses() {
+    Map<String, Map<ProtocolVersion, BackendStatus>> result = new TreeMap<>();
+    statuses.forEach((key, status) -> result
+        .computeIfAbsent(key.server(), name -> new EnumMap<>(ProtocolVersion.class))
+        .put(key.version(), status));
+    return result;
+  }
+
+  /**
+   * Returns how long ago the given status was last answered by its backend server.
+   *
+   * @param status the status to check
+   * @return the age of the last response in milliseconds, or -1 if there never was one
+   */
+  public long getAgeMillis(final BackendStatus status) {
+    if (status.ping() == null) {
+      return -1;
+    }
+    return TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - status.respondedAt());
+  }
+
+  /**
+   * Returns the latest ping response of the given backend server for clients using the given
+   * protocol version. If no client has asked about this version recently, the server is pinged
+   * now and polled from then on. Otherwise the future fails if the server did not answer the last
+   * poll, or has not been polled recently.
+   *
+   * @param name the name of the server
+   * @param version the protocol version of the client
+   * @return a future completed with the latest ping response
+   */
+  public CompletableFuture<ServerPing> getLatestPing(final String name,
+      final ProtocolVersion version) {
+    requestedVersions.put(version, nanoTime.getAsLong());
+    BackendStatus status = statuses.get(new StatusKey(name, version));
+    if (status == null) {
+      return server.getServer(name)
+          .map(target -> poll((VelocityRegisteredServer) target, version))
+          .orElseGet(() -> CompletableFuture.failedFuture(NO_RECENT_STATUS));
+    }
+    if (status.ping() == null || status.consecutiveFailures() > 0
+        || nanoTime.getAsLong() - status.respondedAt() > MAX_AGE_NANOS) {
+      return CompletableFuture.failedFuture(NO_RECENT_STATUS);
+    }
+    return CompletableFuture.completedFuture(status.ping());
+  }
+
+  private void poll() {
+    VelocityConfiguration configuration = server.getConfiguration();
+    if (configuration.getPingPassthrough() == PingPassthroughMode.DISABLED) {
+      statuses.clear();
+      return;
+    }
+
+    Set<String> names = new HashSet<>(configuration.getAttemptConnectionOrder());
+    for (List<String> servers : configuration.getForcedHosts().values()) {
+      names.addAll(servers);
+    }
+    long cutoff = nanoTime.getAsLong() - VERSION_RETENTION_NANOS;
+    requestedVersions.values().removeIf(requestedAt -> requestedAt - cutoff < 0);
+    statuses.keySet().removeIf(key -> !names.contains(key.server())
+        || !requestedVersions.containsKey(key.version()));
+
+    for (String name : names) {
+      server.getServer(name).ifPresent(target -> {
+        for (ProtocolVersion version : requestedVersions.keySet()) {
+          poll((VelocityRegisteredServer) target, version);
+        }
+      });
+    }
+  }
+
+  private CompletableFuture<ServerPing> poll(final VelocityRegisteredServer target,
+      final ProtocolVersion version) {
+    StatusKey key = new StatusKey(target.getServerInfo().getName(), version);
+    CompletableFuture<ServerPing> result = new CompletableFuture<>();
+    CompletableFuture<ServerPing> existing = inFlight.putIfAbsent(key, result);
+    if (existing != null) {
+      return existing;
+    }
+
+    SocketAddress address = AddressUtil.toConnectAddress(target.getServerInfo().getAddress());
+    long start = nanoTime.getAsLong();
+    target.ping(bootstrap(address), version).whenComplete((ping, ex) -> {
+      long now = nanoTime.getAsLong();
+      if (ex != null) {
+        logger.debug("Unable to poll the status of server {} for {}", key.server(), version, ex);
+      }
+      statuses.compute(key, (k, previous) -> ex == null
+          ? BackendStatus.success(previous, ping, now, now - start)
+          : BackendStatus.failure(previous));
+      inFlight.remove(key, result);
+      if (ex == null) {
+        result.complete(ping);
+      } else {
+        result.completeExceptionally(ex);
+      }
+    });
+    return result;
+  }
+
+  private Bootstrap bootstrap(final @Nullable SocketAddress target) {
+    boolean domainSocket = target instanceof DomainSocketAddress;
+    Bootstrap bootstrap = domainSocket ? domainSocketBootstrap : tcpBootstrap;
+    if (bootstrap == null) {
+      bootstrap = domainSocket ? server.createBootstrap(null, target) : server.createBootstrap(null);
+      bootstrap.handler(VelocityRegisteredServer.createPingInitializer(server,
+          server.getConfiguration().getReadTimeout()));
+      if (domainSocket) {
+        domainSocketBootstrap = bootstrap;
+      } else {
+        tcpBootstrap = bootstrap;
+      }
+    }
+    return bootstrap;
+  }
+
+  private record StatusKey(String server, ProtocolVersion version) {
+  }
+
+  /**
+   * The outcome of the most recent polls of a backend server.
+   *
+   * @param ping the last response received from the server, if any
+   * @param respondedAt when the last response was received, in {@link System#nanoTime()} units
+   * @param latencyNanos how long the last successful poll took
+   * @param averageLatencyNanos a moving average of how long successful polls take
+   * @param consecutiveFailures how many polls in a row have failed since the last response
+   */
+  public record BackendStatus(@Nullable ServerPing ping, long respondedAt, long latencyNanos,
+                              long averageLatencyNanos, int consecutiveFailures) {
+
+    static BackendStatus success(final @Nullable BackendStatus previous, final ServerPing ping,
+        final long respondedAt, final long latencyNanos) {
+      long average = previous == null || previous.ping() == null
+          ? latencyNanos
+          : previous.averageLatencyNanos() + ((latencyNanos - previous.averageLatencyNanos()) >> 3);
+      return new BackendStatus(ping, respondedAt, latencyNanos, average, 0);
+    }
+
+    static BackendStatus failure(final @Nullable BackendStatus previous) {
+      if (previous == null) {
+        return new BackendStatus(null, 0, 0, 0, 1);
+      }
+      return new BackendStatus(previous.ping(), previous.respondedAt(), previous.latencyNanos(),
+          previous.averageLatencyNanos(), previous.consecutiveFailures() + 1);
+    }
+  }
+}
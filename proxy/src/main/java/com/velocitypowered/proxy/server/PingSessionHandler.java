@@ -28,8 +28,10 @@ import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.packet.HandshakePacket;
 import com.velocitypowered.proxy.protocol.packet.StatusRequestPacket;
 import com.velocitypowered.proxy.protocol.packet.StatusResponsePacket;
+import com.velocitypowered.proxy.util.AddressUtil;
 import io.netty.channel.EventLoop;
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -56,8 +58,10 @@ public class PingSessionHandler implements MinecraftSessionHandler {
   public void activated() {
     HandshakePacket handshake = new HandshakePacket();
     handshake.setIntent(HandshakeIntent.STATUS);
-    handshake.setServerAddress(server.getServerInfo().getAddress().getHostString());
-    handshake.setPort(server.getServerInfo().getAddress().getPort());
+    InetSocketAddress address = AddressUtil.toHandshakeAddress(
+        server.getServerInfo().getAddress());
+    handshake.setServerAddress(address.getHostString());
+    handshake.setPort(address.getPort());
     handshake.setProtocolVersion(version);
     connection.delayedWrite(handshake);
 
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Picks which of several servers a player should be sent to, for instance when falling back
+ * after being kicked.
+ *
+ * <p>This is internal to the proxy and not part of the plugin API. Server owners choose one of
+ * the {@link ServerBalancers} with the {@code velocity.fallback-balancer} system property.</p>
+ */
+@FunctionalInterface
+public interface ServerBalancer {
+
+  /**
+   * Selects one of {@code candidates}. The candidates are listed in the order they were
+   * configured in, which balancers may use to break ties.
+   *
+   * @param candidates the servers to choose from
+   * @return the selected server, or {@code null} if there are no candidates
+   */
+  @Nullable RegisteredServer select(List<RegisteredServer> candidates);
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The built-in {@link ServerBalancer}s. All of them look at player counts through
+ * {@link VelocityRegisteredServer#getPlayerCount(RegisteredServer)}, which does not copy the
+ * players of a server.
+ */
+public final class ServerBalancers {
+
+  private static final Logger logger = LogManager.getLogger(ServerBalancers.class);
+
+  /**
+   * Sends players to the server with the fewest players.
+   */
+  public static final ServerBalancer LEAST_CONNECTIONS = candidates -> {
+    RegisteredServer selected = null;
+    int selectedCount = Integer.MAX_VALUE;
+    for (RegisteredServer candidate : candidates) {
+      int count = VelocityRegisteredServer.getPlayerCount(candidate);
+      if (selected == null || count < selectedCount) {
+        selected = candidate;
+        selectedCount = count;
+      }
+    }
+    return selected;
+  };
+
+  /**
+   * Sends players to the server with the most players.
+   */
+  public static final ServerBalancer MOST_CONNECTIONS = candidates -> {
+    RegisteredServer selected = null;
+    int selectedCount = -1;
+    for (RegisteredServer candidate : candidates) {
+      int count = VelocityRegisteredServer.getPlayerCount(candidate);
+      if (selected == null || count > selectedCount) {
+        selected = candidate;
+        selectedCount = count;
+      }
+    }
+    return selected;
+  };
+
+  /**
+   * Picks two servers at random and sends players to the one with fewer players. This spreads
+   * players nearly as evenly as {@link #LEAST_CONNECTIONS} while only ever counting the players
+   * of two servers, and keeps a burst of players from all being sent to the same server.
+   */
+  public static final ServerBalancer POWER_OF_TWO_CHOICES = candidates -> {
+    int size = candidates.size();
+    if (size <= 1) {
+      return size == 0 ? null : candidates.get(0);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(size);
+    int second = random.nextInt(size - 1);
+    if (second >= first) {
+      second++;
+    }
+    RegisteredServer a = candidates.get(Math.min(first, second));
+    RegisteredServer b = candidates.get(Math.max(first, second));
+    return VelocityRegisteredServer.getPlayerCount(b) < VelocityRegisteredServer.getPlayerCount(a)
+        ? b : a;
+  };
+
+  /**
+   * Sends players to the server with the fewest players relative to its weight. Weights are read
+   * from the {@code velocity.server-weight.<server>} system property and default to 1.
+   */
+  public static final ServerBalancer WEIGHTED = candidates -> {
+    RegisteredServer selected = null;
+    long selectedCount = 0;
+    long selectedWeight = 1;
+    for (RegisteredServer candidate : candidates) {
+      long count = VelocityRegisteredServer.getPlayerCount(candidate);
+      long weight = weight(candidate);
+      if (selected == null || count * selectedWeight < selectedCount * weight) {
+        selected = candidate;
+        selectedCount = count;
+        selectedWeight = weight;
+      }
+    }
+    return selected;
+  };
+
+  private static final @Nullable ServerBalancer CONFIGURED =
+      fromName(System.getProperty("velocity.fallback-balancer"));
+
+  private ServerBalancers() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Returns the balancer to use for dynamic fallbacks. The {@code velocity.fallback-balancer}
+   * system property takes precedence; otherwise the configuration decides between the most and
+   * the least populated server.
+   *
+   * @param configuration the proxy configuration
+   * @return the balancer to use
+   */
+  public static ServerBalancer forConfiguration(final VelocityConfiguration configuration) {
+    if (CONFIGURED != null) {
+      return CONFIGURED;
+    }
+    return configuration.isEnableMostPopulatedFallbacks() ? MOST_CONNECTIONS : LEAST_CONNECTIONS;
+  }
+
+  /**
+   * Looks up a built-in balancer by name.
+   *
+   * @param name the name of the balancer
+   * @return the balancer, or {@code null} if there is none by that name
+   */
+  public static @Nullable ServerBalancer fromName(final @Nullable String name) {
+    if (name == null) {
+      return null;
+    }
+    switch (name.toLowerCase(Locale.ROOT)) {
+      case "least-connections":
+        return LEAST_CONNECTIONS;
+      case "most-connections":
+        return MOST_CONNECTIONS;
+      case "power-of-two-choices":
+        return POWER_OF_TWO_CHOICES;
+      case "weighted":
+        return WEIGHTED;
+      default:
+        logger.warn("Unknown fallback balancer {}, using the configured default", name);
+        return null;
+    }
+  }
+
+  private static long weight(final RegisteredServer server) {
+    return Math.max(1, Integer.getInteger(
+        "velocity.server-weight." + server.getServerInfo().getName(), 1));
+  }
+}
@@ -24,6 +24,8 @@ import com.velocitypowered.api.event.proxy.server.ServerUnregisteredEvent;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.network.TransportType;
+import com.velocitypowered.proxy.util.AddressUtil;
 import java.util.Collection;
 import java.util.Locale;
 import java.util.Map;
@@ -65,16 +67,33 @@ public class ServerMap {
    *
    * @param serverInfo the server to create a registered server with
    * @return the {@link RegisteredServer} built from the {@link ServerInfo}
+   * @throws IllegalArgumentException if the server is a Unix domain socket and the selected
+   *     transport cannot connect to one
    */
   public RegisteredServer createRawRegisteredServer(final ServerInfo serverInfo) {
+    checkTransport(serverInfo);
     return new VelocityRegisteredServer(server, serverInfo);
   }
 
+  private void checkTransport(final ServerInfo serverInfo) {
+    if (server == null || !AddressUtil.isDomainSocket(serverInfo.getAddress())) {
+      return;
+    }
+    TransportType transport = server.getTransportType();
+    if (transport != null && !transport.supportsDomainSockets()) {
+      throw new IllegalArgumentException("Server " + serverInfo.getName()
+          + " is a Unix domain socket, which the " + transport + " transport cannot connect to. "
+          + "Restart the proxy with -Dvelocity.transport=epoll to use it");
+    }
+  }
+
   /**
    * Registers a server with the proxy.
    *
    * @param serverInfo the server to register
    * @return the registered server
+   * @throws IllegalArgumentException if a different server is already registered under the same
+   *     name, or the server cannot be reached with the selected transport
    */
   public RegisteredServer register(final ServerInfo serverInfo) {
     Preconditions.checkNotNull(serverInfo, "serverInfo");
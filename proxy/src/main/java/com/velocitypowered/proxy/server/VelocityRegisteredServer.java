@@ -27,6 +27,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
 import com.velocitypowered.api.proxy.messages.PluginMessageEncoder;
@@ -35,6 +36,7 @@ import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.api.proxy.server.ServerPing;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.adventure.BroadcastingAudience;
 import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
@@ -45,6 +47,8 @@ import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintFrameDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintLengthEncoder;
 import com.velocitypowered.proxy.protocol.util.ByteBufDataOutput;
+import com.velocitypowered.proxy.util.AddressUtil;
+import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
@@ -52,6 +56,7 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.EventLoop;
 import io.netty.handler.timeout.ReadTimeoutHandler;
+import java.net.SocketAddress;
 import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
@@ -59,7 +64,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import net.kyori.adventure.audience.Audience;
-import net.kyori.adventure.audience.ForwardingAudience;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jetbrains.annotations.NotNull;
@@ -67,11 +71,12 @@ import org.jetbrains.annotations.NotNull;
 /**
  * Represents a server registered on the proxy.
  */
-public class VelocityRegisteredServer implements RegisteredServer, ForwardingAudience {
+public class VelocityRegisteredServer implements RegisteredServer, BroadcastingAudience {
 
   private final @Nullable VelocityServer server;
   private final ServerInfo serverInfo;
   private final Map<UUID, ConnectedPlayer> players = new ConcurrentHashMap<>();
+  private final BackendHealth health = new BackendHealth();
 
   public VelocityRegisteredServer(@Nullable final VelocityServer server, final ServerInfo serverInfo) {
     this.server = server;
@@ -88,6 +93,32 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
     return ImmutableList.copyOf(players.values());
   }
 
+  /**
+   * Returns the number of players connected to this server, without copying them.
+   *
+   * @return the number of connected players
+   */
+  public int getPlayerCount() {
+    return players.size();
+  }
+
+  /**
+   * Returns the number of players connected to {@code server}, without copying them if possible.
+   *
+   * @param server the server to count the players of
+   * @return the number of connected players
+   */
+  public static int getPlayerCount(final RegisteredServer server) {
+    if (server instanceof VelocityRegisteredServer velocityServer) {
+      return velocityServer.getPlayerCount();
+    }
+    return server.getPlayersConnected().size();
+  }
+
+  public BackendHealth getHealth() {
+    return health;
+  }
+
   public ConnectedPlayer getPlayer(final UUID uuid) {
     return players.get(uuid);
   }
@@ -114,26 +145,32 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
     if (server == null) {
       throw new IllegalStateException("No Velocity proxy instance available");
     }
-    CompletableFuture<ServerPing> pingFuture = new CompletableFuture<>();
-    server.createBootstrap(loop).handler(new ChannelInitializer<>() {
-      @Override
-      protected void initChannel(@NotNull final Channel ch) {
-        ch.pipeline().addLast(FRAME_DECODER, new MinecraftVarintFrameDecoder())
-            .addLast(READ_TIMEOUT, new ReadTimeoutHandler(
-                pingOptions.getTimeout() == 0
-                    ? server.getConfiguration().getReadTimeout()
-                    : pingOptions.getTimeout(), TimeUnit.MILLISECONDS))
-            .addLast(FRAME_ENCODER, MinecraftVarintLengthEncoder.INSTANCE)
-            .addLast(MINECRAFT_DECODER, new MinecraftDecoder(ProtocolUtils.Direction.CLIENTBOUND))
-            .addLast(MINECRAFT_ENCODER, new MinecraftEncoder(ProtocolUtils.Direction.SERVERBOUND));
+    SocketAddress target = AddressUtil.toConnectAddress(serverInfo.getAddress());
+    long readTimeout = pingOptions.getTimeout() == 0
+        ? server.getConfiguration().getReadTimeout()
+        : pingOptions.getTimeout();
+    return ping(server.createBootstrap(loop, target)
+        .handler(createPingInitializer(server, readTimeout)), pingOptions.getProtocolVersion());
+  }
 
-        ch.pipeline().addLast(HANDLER, new MinecraftConnection(ch, server));
-      }
-    }).connect(serverInfo.getAddress()).addListener((ChannelFutureListener) future -> {
+  /**
+   * Pings the specified server through an existing {@code bootstrap}, claiming to be
+   * {@code version}. The bootstrap must use a handler created by
+   * {@link #createPingInitializer(VelocityServer, long)} and may be reused for any number of pings.
+   *
+   * @param bootstrap the bootstrap to connect with
+   * @param version the protocol version to claim
+   * @return the server list ping response
+   */
+  public CompletableFuture<ServerPing> ping(final Bootstrap bootstrap,
+      final ProtocolVersion version) {
+    CompletableFuture<ServerPing> pingFuture = new CompletableFuture<>();
+    SocketAddress target = AddressUtil.toConnectAddress(serverInfo.getAddress());
+    bootstrap.connect(target).addListener((ChannelFutureListener) future -> {
       if (future.isSuccess()) {
         MinecraftConnection conn = future.channel().pipeline().get(MinecraftConnection.class);
         PingSessionHandler handler = new PingSessionHandler(pingFuture,
-            VelocityRegisteredServer.this, conn, pingOptions.getProtocolVersion());
+            VelocityRegisteredServer.this, conn, version);
         conn.setActiveSessionHandler(StateRegistry.HANDSHAKE, handler);
       } else {
         pingFuture.completeExceptionally(future.cause());
@@ -142,6 +179,30 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
     return pingFuture;
   }
 
+  /**
+   * Creates the channel initializer for connections that ping a backend server.
+   *
+   * @param server the proxy
+   * @param readTimeout the read timeout, in milliseconds
+   * @return the channel initializer, which can be shared between bootstraps
+   */
+  public static ChannelInitializer<Channel> createPingInitializer(final VelocityServer server,
+      final long readTimeout) {
+    return new ChannelInitializer<>() {
+      @Override
+      protected void initChannel(@NotNull final Channel ch) {
+        ch.pipeline().addLast(FRAME_DECODER,
+                new MinecraftVarintFrameDecoder(ProtocolUtils.Direction.CLIENTBOUND))
+            .addLast(READ_TIMEOUT, new ReadTimeoutHandler(readTimeout, TimeUnit.MILLISECONDS))
+            .addLast(FRAME_ENCODER, MinecraftVarintLengthEncoder.INSTANCE)
+            .addLast(MINECRAFT_DECODER, new MinecraftDecoder(ProtocolUtils.Direction.CLIENTBOUND))
+            .addLast(MINECRAFT_ENCODER, new MinecraftEncoder(ProtocolUtils.Direction.SERVERBOUND));
+
+        ch.pipeline().addLast(HANDLER, new MinecraftConnection(ch, server));
+      }
+    };
+  }
+
   public void addPlayer(final ConnectedPlayer player) {
     players.put(player.getUniqueId(), player);
   }
@@ -19,8 +19,10 @@ package com.velocitypowered.proxy.util;
 
 import com.google.common.base.Preconditions;
 import com.google.common.net.InetAddresses;
+import io.netty.channel.unix.DomainSocketAddress;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.net.URI;
 
 /**
@@ -29,6 +31,7 @@ import java.net.URI;
 public final class AddressUtil {
 
   private static final int DEFAULT_MINECRAFT_PORT = 25565;
+  private static final String UNIX_SOCKET_PREFIX = "unix:";
 
   private AddressUtil() {
     throw new AssertionError();
@@ -38,11 +41,23 @@ public final class AddressUtil {
    * Attempts to parse an IP address of the form {@code 127.0.0.1:25565}. The returned
    * {@link InetSocketAddress} is not resolved.
    *
+   * <p>Unix domain sockets may be specified as {@code unix:/path/to/socket}. Since
+   * {@link com.velocitypowered.api.proxy.server.ServerInfo} only holds an
+   * {@link InetSocketAddress}, these are returned as an unresolved address with the original
+   * string as the host; use {@link #toConnectAddress(InetSocketAddress)} to obtain the
+   * address to connect to.</p>
+   *
    * @param ip the IP to parse
    * @return the parsed address
    */
   public static InetSocketAddress parseAddress(final String ip) {
     Preconditions.checkNotNull(ip, "ip");
+    if (ip.startsWith(UNIX_SOCKET_PREFIX)) {
+      Preconditions.checkArgument(ip.length() > UNIX_SOCKET_PREFIX.length(),
+          "Unix domain socket path is empty");
+      return InetSocketAddress.createUnresolved(ip, 0);
+    }
+
     URI uri = URI.create("tcp://" + ip);
     if (uri.getHost() == null) {
       throw new IllegalStateException("Invalid hostname/IP " + ip);
@@ -74,4 +89,45 @@ public final class AddressUtil {
     int port = uri.getPort() == -1 ? DEFAULT_MINECRAFT_PORT : uri.getPort();
     return new InetSocketAddress(uri.getHost(), port);
   }
+
+  /**
+   * Determines whether the specified address denotes a Unix domain socket, as returned by
+   * {@link #parseAddress(String)}.
+   *
+   * @param address the address to check
+   * @return whether the address is a Unix domain socket
+   */
+  public static boolean isDomainSocket(final InetSocketAddress address) {
+    return address.isUnresolved() && address.getHostString().startsWith(UNIX_SOCKET_PREFIX);
+  }
+
+  /**
+   * Converts an address returned by {@link #parseAddress(String)} to the host and port that should
+   * be announced in a handshake. Unix domain sockets have neither, so a loopback placeholder is
+   * used instead of the socket path.
+   *
+   * @param address the address to convert
+   * @return the address to put in a handshake
+   */
+  public static InetSocketAddress toHandshakeAddress(final InetSocketAddress address) {
+    if (isDomainSocket(address)) {
+      return InetSocketAddress.createUnresolved("localhost", DEFAULT_MINECRAFT_PORT);
+    }
+    return address;
+  }
+
+  /**
+   * Converts an address returned by {@link #parseAddress(String)} to the address that should be
+   * connected to.
+   *
+   * @param address the address to convert
+   * @return a {@link DomainSocketAddress} for Unix domain sockets, otherwise {@code address}
+   */
+  public static SocketAddress toConnectAddress(final InetSocketAddress address) {
+    if (isDomainSocket(address)) {
+      return new DomainSocketAddress(
+          address.getHostString().substring(UNIX_SOCKET_PREFIX.length()));
+    }
+    return address;
+  }
 }
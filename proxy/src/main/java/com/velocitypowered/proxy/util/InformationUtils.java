@@ -33,13 +33,30 @@ import com.velocitypowered.api.proxy.config.ProxyConfig;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.util.ProxyVersion;
 import com.velocitypowered.natives.util.Natives;
+import com.velocitypowered.proxy.adventure.PacketBroadcaster;
+import com.velocitypowered.proxy.connection.client.SessionServerClient;
+import com.velocitypowered.proxy.crypto.CryptoExecutor;
+import com.velocitypowered.proxy.event.VelocityEventManager;
 import com.velocitypowered.proxy.network.TransportType;
+import com.velocitypowered.proxy.network.netty.HostnameCache;
+import com.velocitypowered.proxy.plugin.loader.VelocityPluginContainer;
+import com.velocitypowered.proxy.protocol.netty.CompressionStatistics;
+import com.velocitypowered.proxy.protocol.netty.EventLoopCompressor;
+import com.velocitypowered.proxy.protocol.netty.FlushCoalescingHandler;
+import com.velocitypowered.proxy.protocol.netty.MinecraftCipherEncoder;
+import com.velocitypowered.proxy.protocol.netty.PacketSizeHints;
+import com.velocitypowered.proxy.scheduler.VelocityScheduler;
+import com.velocitypowered.proxy.server.BackendConnectionPool;
+import com.velocitypowered.proxy.server.BackendStatusPoller;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import com.velocitypowered.proxy.util.ratelimit.LoginAdmissionController;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -59,6 +76,8 @@ public enum InformationUtils {
     List<PluginContainer> allPlugins = ImmutableList.copyOf(
         proxy.getPluginManager().getPlugins());
     JsonArray plugins = new JsonArray();
+    VelocityScheduler scheduler = proxy.getScheduler() instanceof VelocityScheduler velocity
+        ? velocity : null;
 
     for (PluginContainer plugin : allPlugins) {
       PluginDescription desc = plugin.getDescription();
@@ -90,6 +109,13 @@ public enum InformationUtils {
         }
         current.add("dependencies", dependencies);
       }
+      if (plugin instanceof VelocityPluginContainer container && container.hasExecutorService()) {
+        current.addProperty("liveTasks", container.getLiveTasks());
+      }
+      if (scheduler != null) {
+        current.addProperty("scheduledTasks", scheduler.getTaskCount(plugin));
+        current.addProperty("taskOverruns", scheduler.getTaskOverruns(plugin));
+      }
       plugins.add(current);
     }
     return plugins;
@@ -99,9 +125,10 @@ public enum InformationUtils {
    * Creates a {@link JsonObject} containing information about the current environment the project
    * is run under.
    *
+   * @param transportType the transport the proxy is using
    * @return {@link JsonObject} containing environment info
    */
-  public static JsonObject collectEnvironmentInfo() {
+  public static JsonObject collectEnvironmentInfo(final TransportType transportType) {
     JsonObject envInfo = new JsonObject();
     envInfo.addProperty("operatingSystemType", System.getProperty("os.name"));
     envInfo.addProperty("operatingSystemVersion", System.getProperty("os.version"));
@@ -110,7 +137,7 @@ public enum InformationUtils {
     envInfo.addProperty("javaVendor", System.getProperty("java.vendor"));
 
     JsonObject listenerInfo = new JsonObject();
-    listenerInfo.addProperty("listenerType", TransportType.bestType().toString());
+    listenerInfo.addProperty("listenerType", transportType.toString());
     listenerInfo.addProperty("compression", Natives.compress.getLoadedVariant());
     listenerInfo.addProperty("encryption", Natives.cipher.getLoadedVariant());
 
@@ -199,7 +226,7 @@ public enum InformationUtils {
    */
   public static JsonObject collectServerInfo(final RegisteredServer server) {
     JsonObject info = new JsonObject();
-    info.addProperty("currentPlayers", server.getPlayersConnected().size());
+    info.addProperty("currentPlayers", VelocityRegisteredServer.getPlayerCount(server));
     InetSocketAddress iaddr = server.getServerInfo().getAddress();
     if (iaddr.isUnresolved()) {
       // Greetings form Netty 4aa10db9
@@ -208,6 +235,9 @@ public enum InformationUtils {
       info.addProperty("host", anonymizeInetAddress(iaddr.getAddress()));
     }
     info.addProperty("port", iaddr.getPort());
+    if (server instanceof VelocityRegisteredServer velocityServer) {
+      info.add("health", velocityServer.getHealth().toJson());
+    }
     return info;
   }
 
@@ -233,6 +263,134 @@ public enum InformationUtils {
     return (JsonObject) serializeObject(config, true);
   }
 
+  /**
+   * Creates a {@link JsonObject} containing runtime statistics of the proxy for diagnosis.
+   *
+   * @return {@link JsonObject} containing runtime statistics
+   */
+  public static JsonObject collectStatistics() {
+    JsonObject compression = new JsonObject();
+    compression.addProperty("passthroughFrames", CompressionStatistics.passthroughFrames());
+    compression.addProperty("passthroughBytes", CompressionStatistics.passthroughBytes());
+    compression.addProperty("recompressedFrames", CompressionStatistics.recompressedFrames());
+    compression.addProperty("recompressedBytes", CompressionStatistics.recompressedBytes());
+    compression.addProperty("liveContexts", EventLoopCompressor.liveContexts());
+
+    JsonObject flushes = new JsonObject();
+    flushes.addProperty("packetsWritten", FlushCoalescingHandler.writes());
+    flushes.addProperty("flushesRequested", FlushCoalescingHandler.requestedFlushes());
+    flushes.addProperty("flushesPerformed", FlushCoalescingHandler.flushes());
+
+    JsonObject encoder = new JsonObject();
+    encoder.addProperty("reallocationsAvoided", PacketSizeHints.reallocationsAvoided());
+    encoder.addProperty("reallocations", PacketSizeHints.reallocations());
+
+    JsonObject encryption = new JsonObject();
+    encryption.addProperty("framesEncrypted", MinecraftCipherEncoder.framesEncrypted());
+    encryption.addProperty("cipherCalls", MinecraftCipherEncoder.cipherCalls());
+
+    JsonObject broadcast = new JsonObject();
+    broadcast.addProperty("encodesSaved", PacketBroadcaster.encodesSaved());
+
+    JsonObject statusCodes = new JsonObject();
+    SessionServerClient.statusCodes().forEach(
+        (code, count) -> statusCodes.addProperty(String.valueOf(code), count));
+    JsonObject sessionServer = new JsonObject();
+    sessionServer.addProperty("requests", SessionServerClient.requests());
+    sessionServer.addProperty("retries", SessionServerClient.retries());
+    sessionServer.addProperty("timeouts", SessionServerClient.timeouts());
+    sessionServer.addProperty("failures", SessionServerClient.failures());
+    sessionServer.add("statusCodes", statusCodes);
+    sessionServer.add("latency", SessionServerClient.latency().toJson());
+
+    JsonObject crypto = new JsonObject();
+    crypto.addProperty("queueDepth", CryptoExecutor.queueDepth());
+    crypto.addProperty("ranInline", CryptoExecutor.ranInline());
+    crypto.add("queueLatency", CryptoExecutor.queueLatency().toJson());
+    crypto.add("taskLatency", CryptoExecutor.taskLatency().toJson());
+
+    JsonObject loginAdmission = new JsonObject();
+    loginAdmission.addProperty("admitted", LoginAdmissionController.admitted());
+    loginAdmission.addProperty("queued", LoginAdmissionController.queued());
+    loginAdmission.addProperty("rejectedByRate", LoginAdmissionController.rejectedByRate());
+    loginAdmission.addProperty("rejectedByQueue", LoginAdmissionController.rejectedByQueue());
+
+    JsonObject dns = new JsonObject();
+    dns.addProperty("hits", HostnameCache.hits());
+    dns.addProperty("staleHits", HostnameCache.staleHits());
+    dns.addProperty("misses", HostnameCache.misses());
+    dns.addProperty("coalesced", HostnameCache.coalesced());
+    dns.addProperty("refreshes", HostnameCache.refreshes());
+    dns.addProperty("failures", HostnameCache.failures());
+
+    JsonObject backendPool = new JsonObject();
+    backendPool.addProperty("hits", BackendConnectionPool.hits());
+    backendPool.addProperty("misses", BackendConnectionPool.misses());
+    backendPool.addProperty("opened", BackendConnectionPool.opened());
+    backendPool.addProperty("expired", BackendConnectionPool.expired());
+
+    JsonObject statistics = new JsonObject();
+    statistics.add("compression", compression);
+    statistics.add("flushes", flushes);
+    statistics.add("encoder", encoder);
+    statistics.add("encryption", encryption);
+    statistics.add("broadcast", broadcast);
+    statistics.add("sessionServer", sessionServer);
+    statistics.add("crypto", crypto);
+    statistics.add("loginAdmission", loginAdmission);
+    statistics.add("dns", dns);
+    statistics.add("backendPool", backendPool);
+    return statistics;
+  }
+
+  /**
+   * Creates a {@link JsonObject} containing the latencies recorded for each event handler.
+   *
+   * @param eventManager the event manager
+   * @return {@link JsonObject} containing event handler latencies
+   */
+  public static JsonObject collectEventLatencies(final VelocityEventManager eventManager) {
+    JsonArray handlers = new JsonArray();
+    for (VelocityEventManager.HandlerLatency latency : eventManager.getHandlerLatencies()) {
+      JsonObject handler = latency.latency().toJson();
+      handler.addProperty("event", latency.eventType().getName());
+      handler.addProperty("plugin", latency.plugin().getDescription().getId());
+      handler.addProperty("handler", latency.handler());
+      handlers.add(handler);
+    }
+
+    JsonObject events = new JsonObject();
+    events.addProperty("sampling", eventManager.isLatencySampling());
+    events.add("handlers", handlers);
+    return events;
+  }
+
+  /**
+   * Creates a {@link JsonObject} containing the latest status polled from each backend server,
+   * per protocol version.
+   *
+   * @param poller the backend status poller
+   * @return {@link JsonObject} containing the polled backend statuses
+   */
+  public static JsonObject collectBackendStatuses(final BackendStatusPoller poller) {
+    JsonObject servers = new JsonObject();
+    poller.getStatuses().forEach((name, byVersion) -> {
+      JsonObject versions = new JsonObject();
+      byVersion.forEach((version, status) -> {
+        JsonObject entry = new JsonObject();
+        entry.addProperty("ageMillis", poller.getAgeMillis(status));
+        entry.addProperty("latencyMillis",
+            TimeUnit.NANOSECONDS.toMillis(status.latencyNanos()));
+        entry.addProperty("averageLatencyMillis",
+            TimeUnit.NANOSECONDS.toMillis(status.averageLatencyNanos()));
+        entry.addProperty("consecutiveFailures", status.consecutiveFailures());
+        versions.add(version.getVersionIntroducedIn(), entry);
+      });
+      servers.add(name, versions);
+    });
+    return servers;
+  }
+
   /**
    * Creates a human-readable String from a {@link JsonElement}.
    *
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util;
+
+import com.google.gson.JsonObject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies. Samples are counted in power-of-two buckets of
+ * microseconds, so percentiles are accurate to within a factor of two, which is plenty for
+ * telling a healthy dependency from a struggling one.
+ */
+public final class LatencyHistogram {
+
+  // Bucket i counts samples below 2^i microseconds; the last one also takes everything above.
+  private static final int BUCKETS = 40;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKETS];
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+  /**
+   * Creates an empty histogram.
+   */
+  public LatencyHistogram() {
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a sample.
+   *
+   * @param nanos the latency, in nanoseconds
+   */
+  public void record(final long nanos) {
+    long sample = Math.max(0, nanos);
+    long micros = TimeUnit.NANOSECONDS.toMicros(sample);
+    buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros))].increment();
+    totalNanos.add(sample);
+    maxNanos.accumulate(sample);
+  }
+
+  /**
+   * Returns the number of samples recorded.
+   *
+   * @return the number of samples
+   */
+  public long count() {
+    long count = 0;
+    for (LongAdder bucket : buckets) {
+      count += bucket.sum();
+    }
+    return count;
+  }
+
+  /**
+   * Returns the largest sample recorded.
+   *
+   * @return the largest sample, in nanoseconds
+   */
+  public long maxNanos() {
+    return maxNanos.get();
+  }
+
+  /**
+   * Returns an upper bound for the given percentile of the recorded samples.
+   *
+   * @param percentile the percentile, between 0 and 1
+   * @return the percentile, in nanoseconds, or 0 if nothing was recorded
+   */
+  public long percentileNanos(final double percentile) {
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets[i].sum();
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long target = Math.max(1, (long) Math.ceil(percentile * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= target) {
+        return Math.min(TimeUnit.MICROSECONDS.toNanos(1L << i), maxNanos());
+      }
+    }
+    return maxNanos();
+  }
+
+  /**
+   * Summarizes the histogram for diagnostics.
+   *
+   * @return a {@link JsonObject} with the sample count and common percentiles in milliseconds
+   */
+  public JsonObject toJson() {
+    long count = count();
+    JsonObject json = new JsonObject();
+    json.addProperty("count", count);
+    json.addProperty("meanMillis", count == 0 ? 0 : toMillis(totalNanos.sum() / count));
+    json.addProperty("p50Millis", toMillis(percentileNanos(0.5)));
+    json.addProperty("p90Millis", toMillis(percentileNanos(0.9)));
+    json.addProperty("p99Millis", toMillis(percentileNanos(0.99)));
+    json.addProperty("maxMillis", toMillis(maxNanos()));
+    return json;
+  }
+
+  private static double toMillis(final long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.net.InetAddress;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Decides which logins the proxy takes on. A login has to get past two token buckets, one for its
+ * IP address and one for its /24 (IPv4) or /48 (IPv6) subnet, and then wait for one of a fixed
+ * number of login slots. Logins waiting for a slot are admitted in arrival order, and are turned
+ * away once the wait queue is full.
+ */
+public final class LoginAdmissionController implements Ratelimiter {
+
+  private static final int IP_BURST = Integer.getInteger("velocity.login-ip-burst", 1);
+  private static final int SUBNET_BURST = Integer.getInteger("velocity.login-subnet-burst", 32);
+  // How many logins a subnet regains per login-ratelimit period.
+  private static final int SUBNET_RATE = Integer.getInteger("velocity.login-subnet-rate", 8);
+  private static final int MAX_IN_FLIGHT =
+      Integer.getInteger("velocity.max-logins-in-flight", 512);
+  private static final int QUEUE_SIZE = Integer.getInteger("velocity.login-queue-size", 4096);
+  private static final int TABLE_SIZE =
+      Integer.getInteger("velocity.login-ratelimit-table-size", 1 << 16);
+
+  private static final Logger logger = LogManager.getLogger(LoginAdmissionController.class);
+
+  private static final long IPV4_TAG = 1L << 62;
+
+  private static final LongAdder ADMITTED = new LongAdder();
+  private static final LongAdder QUEUED = new LongAdder();
+  private static final LongAdder REJECTED_RATE = new LongAdder();
+  private static final LongAdder REJECTED_QUEUE_FULL = new LongAdder();
+
+  private final TokenBucketTable ipBuckets;
+  private final TokenBucketTable subnetBuckets;
+  private final int subnetRate;
+  private final int maxInFlight;
+  private final int queueSize;
+  private final LongSupplier nanoTime;
+  private final long origin;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final AtomicInteger drainRequests = new AtomicInteger();
+  private final Queue<Consumer<Runnable>> queue = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Creates an admission controller.
+   *
+   * @param ratelimitMillis the time it takes an IP address to earn another login, or 0 to not
+   *                        rate limit logins
+   */
+  public LoginAdmissionController(final long ratelimitMillis) {
+    this(ratelimitMillis, IP_BURST, SUBNET_BURST, SUBNET_RATE, MAX_IN_FLIGHT, QUEUE_SIZE,
+        TABLE_SIZE, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  LoginAdmissionController(final long ratelimitMillis, final int ipBurst, final int subnetBurst,
+      final int subnetRate, final int maxInFlight, final int queueSize, final int tableSize,
+      final LongSupplier nanoTime) {
+    Preconditions.checkArgument(maxInFlight > 0, "maxInFlight");
+    this.subnetRate = Math.max(1, subnetRate);
+    this.ipBuckets = new TokenBucketTable(tableSize, ipBurst, ratelimitMillis);
+    this.subnetBuckets = new TokenBucketTable(tableSize, subnetBurst,
+        ratelimitMillis / this.subnetRate);
+    this.maxInFlight = maxInFlight;
+    this.queueSize = queueSize;
+    this.nanoTime = nanoTime;
+    // Keep timestamps positive; a zero bucket state has a special meaning.
+    this.origin = nanoTime.getAsLong() - TimeUnit.SECONDS.toNanos(1);
+  }
+
+  /**
+   * Changes how quickly addresses earn logins, for instance after a configuration reload.
+   *
+   * @param ratelimitMillis the time it takes an IP address to earn another login, or 0 to not
+   *                        rate limit logins
+   */
+  public void setRatelimit(final long ratelimitMillis) {
+    ipBuckets.setRefillMillis(ratelimitMillis);
+    subnetBuckets.setRefillMillis(ratelimitMillis / subnetRate);
+  }
+
+  /**
+   * Takes a login token for {@code address} and its subnet.
+   *
+   * @param address the address to rate limit
+   * @return true if the login may go ahead, false if it should be rate-limited
+   */
+  @Override
+  public boolean attempt(final InetAddress address) {
+    Preconditions.checkNotNull(address, "address");
+    long now = TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - origin);
+    byte[] bytes = address.getAddress();
+    long ipKey;
+    long subnetKey;
+    if (bytes.length == 4) {
+      long ipv4 = readLong(bytes, 0, 4);
+      ipKey = IPV4_TAG | ipv4;
+      subnetKey = IPV4_TAG | (ipv4 >>> 8);
+    } else {
+      long high = readLong(bytes, 0, 8);
+      long low = readLong(bytes, 8, 8);
+      ipKey = high ^ Long.rotateLeft(low, 29);
+      subnetKey = high >>> 16;
+    }
+
+    // Check the address first, so that one address retrying too fast is turned away without
+    // using up logins its neighbours are entitled to.
+    if (ipBuckets.tryAcquire(ipKey, now) && subnetBuckets.tryAcquire(subnetKey, now)) {
+      return true;
+    }
+    REJECTED_RATE.increment();
+    return false;
+  }
+
+  /**
+   * Requests a login slot. If one is free, {@code whenAdmitted} runs right away on the calling
+   * thread; otherwise the login waits its turn and {@code whenAdmitted} runs on whichever thread
+   * frees up a slot. It is given a task that gives the slot back, which may safely be run more
+   * than once.
+   *
+   * @param whenAdmitted run once the login has a slot
+   * @return false if the wait queue is full and the login was rejected
+   */
+  public boolean admit(final Consumer<Runnable> whenAdmitted) {
+    if (waiting.incrementAndGet() > queueSize) {
+      waiting.decrementAndGet();
+      REJECTED_QUEUE_FULL.increment();
+      return false;
+    }
+    if (!queue.isEmpty() || inFlight.get() >= maxInFlight) {
+      QUEUED.increment();
+    }
+    queue.add(whenAdmitted);
+    drain();
+    return true;
+  }
+
+  private void drain() {
+    // Only one thread drains at a time; anyone else just asks it to go around again. This also
+    // stops a slot released from inside a callback from recursing back into here.
+    if (drainRequests.getAndIncrement() != 0) {
+      return;
+    }
+    int requests = 1;
+    do {
+      while (!queue.isEmpty() && tryTakeSlot()) {
+        Consumer<Runnable> next = queue.poll();
+        if (next == null) {
+          inFlight.decrementAndGet();
+          continue;
+        }
+        waiting.decrementAndGet();
+        ADMITTED.increment();
+        Runnable release = newRelease();
+        try {
+          next.accept(release);
+        } catch (RuntimeException e) {
+          logger.error("Exception while admitting a login", e);
+          release.run();
+        }
+      }
+      requests = drainRequests.addAndGet(-requests);
+    } while (requests != 0);
+  }
+
+  private Runnable newRelease() {
+    AtomicBoolean released = new AtomicBoolean();
+    return () -> {
+      if (released.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+        drain();
+      }
+    };
+  }
+
+  private boolean tryTakeSlot() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= maxInFlight) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private static long readLong(final byte[] bytes, final int offset, final int length) {
+    long value = 0;
+    for (int i = offset; i < offset + length; i++) {
+      value = (value << 8) | (bytes[i] & 0xFF);
+    }
+    return value;
+  }
+
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  public int waiting() {
+    return waiting.get();
+  }
+
+  public static long admitted() {
+    return ADMITTED.sum();
+  }
+
+  public static long queued() {
+    return QUEUED.sum();
+  }
+
+  public static long rejectedByRate() {
+    return REJECTED_RATE.sum();
+  }
+
+  public static long rejectedByQueue() {
+    return REJECTED_QUEUE_FULL.sum();
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, lock-free table of token buckets keyed by primitive {@code long}s. Keys live in
+ * an open-addressing table probed linearly; each bucket is a single {@code long} packing its last
+ * refill time and its remaining tokens, so taking a token is a single compare-and-set.
+ *
+ * <p>Entries are never removed. Instead, a bucket that has refilled completely is
+ * indistinguishable from a fresh one, so its slot may be handed to another key when the probe
+ * sequence runs out of room. When every slot in the probe sequence belongs to an active bucket the
+ * table fails open, leaving it to the coarser limits to hold the line.
+ */
+final class TokenBucketTable {
+
+  private static final long EMPTY = 0;
+  private static final int MAX_PROBES = 16;
+  // Tokens are tracked in thousandths so that slow refill rates still make progress.
+  private static final long TOKEN = 1000;
+  private static final int TOKEN_BITS = 20;
+  private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+  // A bucket state of zero means "full", which is also what a never-used slot holds.
+  private static final long FULL = 0;
+
+  private final AtomicLongArray keys;
+  private final AtomicLongArray states;
+  private final int mask;
+  private final long capacity;
+  private volatile long refillMillis;
+
+  /**
+   * Creates a table of token buckets.
+   *
+   * @param size the number of slots, rounded up to a power of two
+   * @param burst the number of tokens a full bucket holds
+   * @param refillMillis how long it takes to regain one token, or 0 to never limit
+   */
+  TokenBucketTable(final int size, final int burst, final long refillMillis) {
+    int slots = Integer.highestOneBit(Math.max(MAX_PROBES, size - 1)) << 1;
+    this.keys = new AtomicLongArray(slots);
+    this.states = new AtomicLongArray(slots);
+    this.mask = slots - 1;
+    this.capacity = Math.min(TOKEN_MASK, Math.max(1, burst) * TOKEN);
+    this.refillMillis = refillMillis;
+  }
+
+  void setRefillMillis(final long refillMillis) {
+    this.refillMillis = refillMillis;
+  }
+
+  /**
+   * Takes a token from the bucket of {@code key}.
+   *
+   * @param key the key of the bucket
+   * @param nowMillis the current time, in milliseconds from an arbitrary positive origin
+   * @return whether a token was available
+   */
+  boolean tryAcquire(final long key, final long nowMillis) {
+    final long refill = this.refillMillis;
+    if (refill <= 0) {
+      return true;
+    }
+
+    long mixed = mix(key);
+    if (mixed == EMPTY) {
+      mixed = 1;
+    }
+    final int start = (int) mixed & mask;
+    int reclaimable = -1;
+    long reclaimableKey = EMPTY;
+    for (int probe = 0; probe < MAX_PROBES; probe++) {
+      int slot = (start + probe) & mask;
+      long current = keys.get(slot);
+      if (current == mixed) {
+        return consume(slot, nowMillis, refill);
+      }
+      if (current == EMPTY) {
+        if (keys.compareAndSet(slot, EMPTY, mixed) || keys.get(slot) == mixed) {
+          return consume(slot, nowMillis, refill);
+        }
+        continue;
+      }
+      if (reclaimable < 0 && available(states.get(slot), nowMillis, refill) == capacity) {
+        reclaimable = slot;
+        reclaimableKey = current;
+      }
+    }
+
+    if (reclaimable >= 0 && keys.compareAndSet(reclaimable, reclaimableKey, mixed)) {
+      states.set(reclaimable, FULL);
+      return consume(reclaimable, nowMillis, refill);
+    }
+    return true;
+  }
+
+  private boolean consume(final int slot, final long nowMillis, final long refill) {
+    while (true) {
+      long state = states.get(slot);
+      long available = available(state, nowMillis, refill);
+      if (available < TOKEN) {
+        return false;
+      }
+      long next = (nowMillis << TOKEN_BITS) | (available - TOKEN);
+      if (states.compareAndSet(slot, state, next)) {
+        return true;
+      }
+    }
+  }
+
+  private long available(final long state, final long nowMillis, final long refill) {
+    if (state == FULL) {
+      return capacity;
+    }
+    long elapsed = Math.max(0, nowMillis - (state >>> TOKEN_BITS));
+    long tokens = state & TOKEN_MASK;
+    if (elapsed >= refill * (capacity / TOKEN)) {
+      return capacity;
+    }
+    return Math.min(capacity, tokens + elapsed * TOKEN / refill);
+  }
+
+  private static long mix(final long key) {
+    // The finalizer of MurmurHash3, which is a bijection and spreads neighbouring keys apart.
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.api.util.GameProfile;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.connection.ConnectionTypes;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.server.BackendHealth;
+import com.velocitypowered.proxy.server.ServerBalancers;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectedPlayerTest {
+
+  private VelocityServer server;
+  private VelocityConfiguration configuration;
+  private VelocityRegisteredServer lobby;
+  private VelocityRegisteredServer hub;
+
+  @BeforeEach
+  void setUp() {
+    server = mock(VelocityServer.class);
+    configuration = mock(VelocityConfiguration.class);
+    when(server.getConfiguration()).thenReturn(configuration);
+    when(server.getServerBalancer()).thenReturn(ServerBalancers.LEAST_CONNECTIONS);
+    when(configuration.getForcedHosts()).thenReturn(Map.of());
+    when(configuration.getAttemptConnectionOrder()).thenReturn(List.of("lobby", "hub"));
+
+    lobby = register("lobby", 25566);
+    hub = register("hub", 25567);
+  }
+
+  private VelocityRegisteredServer register(final String name, final int port) {
+    VelocityRegisteredServer registered = new VelocityRegisteredServer(null,
+        new ServerInfo(name, InetSocketAddress.createUnresolved("localhost", port)));
+    when(server.getServer(name)).thenReturn(Optional.of(registered));
+    return registered;
+  }
+
+  private ConnectedPlayer player() {
+    MinecraftConnection connection = mock(MinecraftConnection.class);
+    when(connection.getType()).thenReturn(ConnectionTypes.VANILLA);
+    when(connection.getProtocolVersion()).thenReturn(ProtocolVersion.MAXIMUM_VERSION);
+    return new ConnectedPlayer(server, new GameProfile(UUID.randomUUID(), "player", List.of()),
+        connection, null, null, true, null);
+  }
+
+  private static void open(final VelocityRegisteredServer registered) {
+    BackendHealth health = registered.getHealth();
+    while (health.getStatus() != BackendHealth.Status.OPEN) {
+      health.recordFailure();
+    }
+  }
+
+  @Test
+  void skipsServerWithOpenCircuit() {
+    open(lobby);
+    ConnectedPlayer player = player();
+    Optional<RegisteredServer> next = player.getNextServerToTry();
+    assertEquals(Optional.of(hub), next);
+    assertFalse(player.isLastResort(hub));
+  }
+
+  @Test
+  void fallsBackPastOpenCircuitsWhenEveryServerIsDown() {
+    open(lobby);
+    open(hub);
+    ConnectedPlayer player = player();
+    Optional<RegisteredServer> next = player.getNextServerToTry();
+    assertEquals(Optional.of(lobby), next);
+    assertTrue(player.isLastResort(lobby));
+
+    // The last resort connection is let through, and takes over as the probe.
+    assertFalse(lobby.getHealth().tryAcquire());
+    assertTrue(lobby.getHealth().tryAcquire(true));
+    assertEquals(BackendHealth.Status.HALF_OPEN, lobby.getHealth().getStatus());
+  }
+
+  @Test
+  void dynamicFallbackPastOpenCircuitsWhenEveryServerIsDown() {
+    when(configuration.isEnableDynamicFallbacks()).thenReturn(true);
+    open(lobby);
+    open(hub);
+    ConnectedPlayer player = player();
+    RegisteredServer next = player.getNextServerToTry().orElseThrow();
+    assertTrue(player.isLastResort(next));
+  }
+}
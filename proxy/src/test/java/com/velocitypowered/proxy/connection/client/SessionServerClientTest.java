@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SessionServerClientTest {
+
+  private final List<String> queries = new CopyOnWriteArrayList<>();
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private HttpServer stub;
+  private HttpClient httpClient;
+  private volatile Handler handler = (exchange, call) -> respond(exchange, 200, "{}");
+
+  @BeforeEach
+  void startStub() throws IOException {
+    stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    AtomicInteger calls = new AtomicInteger();
+    stub.createContext("/hasJoined", exchange -> {
+      queries.add(exchange.getRequestURI().getQuery());
+      handler.handle(exchange, calls.getAndIncrement());
+    });
+    stub.setExecutor(executor);
+    stub.start();
+    httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+  }
+
+  @AfterEach
+  void stopStub() {
+    stub.stop(0);
+    executor.shutdownNow();
+  }
+
+  private String url() {
+    return "http://127.0.0.1:" + stub.getAddress().getPort() + "/hasJoined";
+  }
+
+  private SessionServerClient client(final int maxInFlight, final int maxRetries) {
+    return new SessionServerClient(httpClient, url(), "Velocity/test", maxInFlight,
+        Duration.ofSeconds(5), maxRetries);
+  }
+
+  @Test
+  void usesSessionServerProperty() throws Exception {
+    System.setProperty("mojang.sessionserver", url());
+    try {
+      SessionServerClient client = new SessionServerClient(httpClient, "Velocity/test");
+      HttpResponse<String> response = client.hasJoined("Notch", "abc", "127.0.0.1")
+          .get(10, TimeUnit.SECONDS);
+      assertEquals(200, response.statusCode());
+      assertEquals(List.of("username=Notch&serverId=abc&ip=127.0.0.1"), queries);
+    } finally {
+      System.clearProperty("mojang.sessionserver");
+    }
+  }
+
+  @Test
+  void retriesServerErrors() throws Exception {
+    handler = (exchange, call) -> respond(exchange, call == 0 ? 503 : 200, "{}");
+    HttpResponse<String> response = client(4, 2).hasJoined("Notch", "abc", null)
+        .get(10, TimeUnit.SECONDS);
+    assertEquals(200, response.statusCode());
+    assertEquals(2, queries.size());
+  }
+
+  @Test
+  void doesNotRetryNoContent() throws Exception {
+    handler = (exchange, call) -> respond(exchange, 204, null);
+    HttpResponse<String> response = client(4, 2).hasJoined("Notch", "abc", null)
+        .get(10, TimeUnit.SECONDS);
+    assertEquals(204, response.statusCode());
+    assertEquals(1, queries.size());
+  }
+
+  @Test
+  void boundsRequestsInFlight() {
+    PendingHttpClient transport = new PendingHttpClient();
+    SessionServerClient client = new SessionServerClient(transport, url(), "Velocity/test", 2,
+        Duration.ofSeconds(5), 0);
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      responses.add(client.hasJoined("Player" + i, "abc", null));
+    }
+    assertEquals(2, transport.sent.size());
+
+    // Each completed request lets exactly one queued request through.
+    HttpResponse<String> ok = response(200);
+    for (int completed = 0; completed < transport.sent.size(); completed++) {
+      transport.sent.get(completed).complete(ok);
+      assertEquals(Math.min(completed + 3, 6), transport.sent.size());
+    }
+    for (CompletableFuture<HttpResponse<String>> response : responses) {
+      assertSame(ok, response.join());
+    }
+  }
+
+  @Test
+  void releasesPermitWhenSendThrows() throws Exception {
+    HttpClient throwing = new ThrowingHttpClient();
+    SessionServerClient client = new SessionServerClient(throwing, url(), "Velocity/test", 1,
+        Duration.ofSeconds(5), 2);
+
+    // With a single permit, the second request only runs if the first gave its permit back.
+    for (int i = 0; i < 2; i++) {
+      ExecutionException e = assertThrows(ExecutionException.class,
+          () -> client.hasJoined("Notch", "abc", null).get(10, TimeUnit.SECONDS));
+      assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+    assertTrue(queries.isEmpty());
+  }
+
+  private static void respond(final HttpExchange exchange, final int status,
+      final String body) throws IOException {
+    if (body == null) {
+      exchange.sendResponseHeaders(status, -1);
+    } else {
+      byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(status, bytes.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(bytes);
+      }
+    }
+    exchange.close();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static HttpResponse<String> response(final int status) {
+    HttpResponse<String> response = mock(HttpResponse.class);
+    when(response.statusCode()).thenReturn(status);
+    return response;
+  }
+
+  private static final class ThrowingHttpClient extends FakeHttpClient {
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request,
+        final HttpResponse.BodyHandler<T> responseBodyHandler) {
+      throw new IllegalStateException("closed");
+    }
+  }
+
+  // Hands out one incomplete future per request, for the test to complete.
+  private static final class PendingHttpClient extends FakeHttpClient {
+
+    private final List<CompletableFuture<HttpResponse<String>>> sent = new ArrayList<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request,
+        final HttpResponse.BodyHandler<T> responseBodyHandler) {
+      CompletableFuture<HttpResponse<String>> future = new CompletableFuture<>();
+      sent.add(future);
+      return (CompletableFuture<HttpResponse<T>>) (CompletableFuture<?>) future;
+    }
+  }
+
+  private abstract static class FakeHttpClient extends HttpClient {
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request,
+        final HttpResponse.BodyHandler<T> responseBodyHandler,
+        final HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+      return sendAsync(request, responseBodyHandler);
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request,
+        final HttpResponse.BodyHandler<T> responseBodyHandler) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+      return Optional.empty();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+      return Optional.empty();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+      return Redirect.NEVER;
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+      return Optional.empty();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+      return Optional.empty();
+    }
+
+    @Override
+    public Version version() {
+      return Version.HTTP_1_1;
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+      return Optional.empty();
+    }
+  }
+
+  private interface Handler {
+
+    void handle(HttpExchange exchange, int call) throws IOException;
+  }
+}
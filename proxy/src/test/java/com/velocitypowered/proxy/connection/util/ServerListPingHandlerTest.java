@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import com.velocitypowered.api.util.ProxyVersion;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.PingPassthroughMode;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+class ServerListPingHandlerTest {
+
+  private static final long TTL = TimeUnit.SECONDS.toNanos(1);
+
+  private final AtomicLong nanos = new AtomicLong(System.nanoTime());
+  // Every ping that is actually computed reports one more player than the last.
+  private final AtomicInteger computed = new AtomicInteger();
+  private final VelocityConfiguration configuration = mock(VelocityConfiguration.class);
+  private final ServerListPingHandler handler;
+
+  ServerListPingHandlerTest() {
+    VelocityServer server = mock(VelocityServer.class);
+    when(server.getConfiguration()).thenReturn(configuration);
+    when(server.getVersion()).thenReturn(new ProxyVersion("Velocity", "Velocity", "test"));
+    when(server.getPlayerCount()).thenAnswer(invocation -> computed.incrementAndGet());
+    when(configuration.getMinimumVersion()).thenReturn("1.7.2");
+    when(configuration.getFallbackVersionPing()).thenReturn("{proxy-brand}");
+    when(configuration.getOutdatedVersionPing()).thenReturn("{proxy-brand}");
+    when(configuration.getMotd()).thenReturn(Component.text("A Velocity Server"));
+    when(configuration.getPingPassthrough()).thenReturn(PingPassthroughMode.DISABLED);
+    when(configuration.getForcedHosts()).thenReturn(
+        Map.of("lobby.example.com", List.of("lobby")));
+    when(configuration.getAttemptConnectionOrder()).thenReturn(List.of("hub"));
+    this.handler = new ServerListPingHandler(server, TTL, nanos::get);
+  }
+
+  private static VelocityInboundConnection connection(final ProtocolVersion version,
+      final String host) {
+    VelocityInboundConnection connection = mock(VelocityInboundConnection.class);
+    when(connection.getProtocolVersion()).thenReturn(version);
+    when(connection.getVirtualHost()).thenReturn(
+        Optional.of(InetSocketAddress.createUnresolved(host, 25565)));
+    return connection;
+  }
+
+  private int online(final VelocityInboundConnection connection) {
+    ServerPing ping = handler.getInitialPing(connection).join();
+    return ping.getPlayers().orElseThrow().getOnline();
+  }
+
+  @Test
+  void servesCachedPingWithinTtl() {
+    VelocityInboundConnection connection =
+        connection(ProtocolVersion.MINECRAFT_1_21, "play.example.com");
+    assertEquals(1, online(connection));
+    nanos.addAndGet(TTL - 1);
+    assertEquals(1, online(connection));
+    assertEquals(1, computed.get());
+  }
+
+  @Test
+  void servesStalePingOnceWhileRefreshing() {
+    VelocityInboundConnection connection =
+        connection(ProtocolVersion.MINECRAFT_1_21, "play.example.com");
+    assertEquals(1, online(connection));
+    nanos.addAndGet(TTL);
+    // The expired ping is still served, and its replacement is computed meanwhile.
+    assertEquals(1, online(connection));
+    assertEquals(2, computed.get());
+    assertEquals(2, online(connection));
+  }
+
+  @Test
+  void recomputesPingTooStaleToServe() {
+    VelocityInboundConnection connection =
+        connection(ProtocolVersion.MINECRAFT_1_21, "play.example.com");
+    assertEquals(1, online(connection));
+    nanos.addAndGet(TTL * 5);
+    assertEquals(2, online(connection));
+    assertEquals(2, computed.get());
+  }
+
+  @Test
+  void keepsProtocolVersionsApart() {
+    VelocityInboundConnection modern =
+        connection(ProtocolVersion.MINECRAFT_1_21, "play.example.com");
+    VelocityInboundConnection older =
+        connection(ProtocolVersion.MINECRAFT_1_20_3, "play.example.com");
+    ServerPing modernPing = handler.getInitialPing(modern).join();
+    ServerPing olderPing = handler.getInitialPing(older).join();
+
+    assertEquals(2, computed.get());
+    assertEquals(ProtocolVersion.MINECRAFT_1_21.getProtocol(),
+        modernPing.getVersion().getProtocol());
+    assertEquals(ProtocolVersion.MINECRAFT_1_20_3.getProtocol(),
+        olderPing.getVersion().getProtocol());
+    assertSame(modernPing, handler.getInitialPing(modern).join());
+  }
+
+  @Test
+  void keepsForcedHostsApart() {
+    when(configuration.getPingPassthrough()).thenReturn(PingPassthroughMode.ALL);
+    ProtocolVersion version = ProtocolVersion.MINECRAFT_1_21;
+    ServerPing forced = handler.getInitialPing(connection(version, "lobby.example.com")).join();
+    ServerPing first = handler.getInitialPing(connection(version, "a.example.com")).join();
+    ServerPing second = handler.getInitialPing(connection(version, "b.example.com")).join();
+
+    // Hosts that are not forced hosts all share the default entry.
+    assertNotSame(forced, first);
+    assertSame(first, second);
+    assertEquals(2, computed.get());
+  }
+
+  @Test
+  void invalidateDropsCachedPings() {
+    VelocityInboundConnection connection =
+        connection(ProtocolVersion.MINECRAFT_1_21, "play.example.com");
+    assertEquals(1, online(connection));
+    handler.invalidateCache();
+    assertEquals(2, online(connection));
+  }
+}
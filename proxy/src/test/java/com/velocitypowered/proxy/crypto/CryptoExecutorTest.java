@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.crypto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class CryptoExecutorTest {
+
+  @Test
+  void runsTasksOffTheCallingThread() throws Exception {
+    CryptoExecutor executor = new CryptoExecutor();
+    try {
+      Thread worker = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+      assertNotSame(Thread.currentThread(), worker);
+      int result = executor.submit(() -> 42).get(5, TimeUnit.SECONDS);
+      assertEquals(42, result);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void propagatesCheckedExceptions() {
+    CryptoExecutor executor = new CryptoExecutor();
+    try {
+      ExecutionException e = assertThrows(ExecutionException.class, () -> executor.submit(() -> {
+        throw new GeneralSecurityException("bad padding");
+      }).get(5, TimeUnit.SECONDS));
+      assertInstanceOf(GeneralSecurityException.class, e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void runsInlineOnceShutDown() throws Exception {
+    CryptoExecutor executor = new CryptoExecutor();
+    executor.shutdown();
+    long inline = CryptoExecutor.ranInline();
+    assertSame(Thread.currentThread(), executor.submit(Thread::currentThread).get());
+    assertEquals(inline + 1, CryptoExecutor.ranInline());
+  }
+}
@@ -18,7 +18,12 @@
 package com.velocitypowered.proxy.event;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.google.common.reflect.TypeToken;
 import com.velocitypowered.api.event.AwaitingEventExecutor;
@@ -26,9 +31,19 @@ import com.velocitypowered.api.event.Continuation;
 import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.plugin.PluginContainer;
+import com.velocitypowered.api.plugin.PluginManager;
 import com.velocitypowered.proxy.testutil.FakePluginManager;
+import com.velocitypowered.proxy.util.LatencyHistogram;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
@@ -144,6 +159,125 @@ public class EventTest {
     }
   }
 
+  @Test
+  void testSyncHandlersCompleteBeforeFireReturns() {
+    final AlwaysSyncListener listener = new AlwaysSyncListener();
+    eventManager.register(FakePluginManager.PLUGIN_A, listener);
+    try {
+      assertTrue(eventManager.fire(new TestEvent()).isDone());
+      eventManager.fireAndForget(new TestEvent());
+    } finally {
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+    }
+    assertSyncThread(listener.thread);
+    assertEquals(2, listener.result);
+  }
+
+  @Test
+  void testLatencySamplingIsOffByDefault() throws Exception {
+    final VelocityEventManager manager = new VelocityEventManager(pluginManager);
+    assertFalse(manager.isLatencySampling());
+    manager.register(FakePluginManager.PLUGIN_A, TestEvent.class, (short) 0, event -> { });
+    manager.fire(new TestEvent()).get();
+    assertEquals(0, manager.getHandlerLatencies().get(0).latency().count());
+  }
+
+  @Test
+  void testLatencyIncludesExecutorQueue() throws Exception {
+    final Object plugin = new Object();
+    final List<Runnable> queued = new ArrayList<>();
+    final ExecutorService executor = mock(ExecutorService.class);
+    doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(executor).execute(any());
+    final PluginContainer container = mock(PluginContainer.class);
+    when(container.getExecutorService()).thenReturn(executor);
+    final PluginManager plugins = mock(PluginManager.class);
+    when(plugins.ensurePluginContainer(plugin)).thenReturn(container);
+
+    final VelocityEventManager manager = new VelocityEventManager(plugins);
+    manager.setLatencySampling(true);
+    // Registered this way, the handler always starts on the plugin's executor.
+    manager.register(plugin, TestEvent.class, PostOrder.NORMAL, event -> { });
+    final CompletableFuture<TestEvent> future = manager.fire(new TestEvent());
+    assertEquals(1, queued.size());
+    Thread.sleep(20);
+    queued.get(0).run();
+
+    assertTrue(future.isDone());
+    final LatencyHistogram latency = manager.getHandlerLatencies().get(0).latency();
+    assertEquals(1, latency.count());
+    assertTrue(latency.maxNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+  }
+
+  @Test
+  void testLatencyIncludesContinuation() throws Exception {
+    eventManager.setLatencySampling(true);
+    eventManager.register(FakePluginManager.PLUGIN_A, TestEvent.class,
+        (AwaitingEventExecutor<TestEvent>) event -> EventTask.withContinuation(continuation ->
+            new Thread(() -> {
+              try {
+                Thread.sleep(20);
+              } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              continuation.resume();
+            }).start()));
+    try {
+      eventManager.fire(new TestEvent()).get();
+      eventManager.setLatencySampling(false);
+      eventManager.fire(new TestEvent()).get();
+
+      final List<VelocityEventManager.HandlerLatency> latencies =
+          eventManager.getHandlerLatencies();
+      assertEquals(1, latencies.size());
+      assertEquals(TestEvent.class, latencies.get(0).eventType());
+      assertEquals(1, latencies.get(0).latency().count());
+      assertTrue(latencies.get(0).latency().maxNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+    } finally {
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+    }
+  }
+
+  @Test
+  void testOverdueContinuationIsSkipped() throws Exception {
+    final AtomicReference<Continuation> stuck = new AtomicReference<>();
+    final AtomicBoolean nextInvoked = new AtomicBoolean();
+    eventManager.register(FakePluginManager.PLUGIN_A, TestEvent.class, PostOrder.EARLY,
+        (AwaitingEventExecutor<TestEvent>) event -> EventTask.withContinuation(stuck::set));
+    eventManager.register(FakePluginManager.PLUGIN_B, TestEvent.class, PostOrder.LATE,
+        event -> nextInvoked.set(true));
+    eventManager.setHandlerDeadline(TestEvent.class, 50, TimeUnit.MILLISECONDS);
+    eventManager.setSkipOverdueHandlers(true);
+    try {
+      eventManager.fire(new TestEvent()).get(5, TimeUnit.SECONDS);
+      assertTrue(nextInvoked.get());
+      // The handler may still resume late without tripping the resume-once check
+      stuck.get().resume();
+    } finally {
+      eventManager.setHandlerDeadline(TestEvent.class, 0, TimeUnit.MILLISECONDS);
+      eventManager.setSkipOverdueHandlers(false);
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_B);
+    }
+  }
+
+  @Test
+  void testOverdueContinuationIsWaitedForUnlessSkipping() throws Exception {
+    final AtomicReference<Continuation> stuck = new AtomicReference<>();
+    eventManager.register(FakePluginManager.PLUGIN_A, TestEvent.class,
+        (AwaitingEventExecutor<TestEvent>) event -> EventTask.withContinuation(stuck::set));
+    eventManager.setHandlerDeadline(TestEvent.class, 10, TimeUnit.MILLISECONDS);
+    try {
+      final CompletableFuture<TestEvent> future = eventManager.fire(new TestEvent());
+      Thread.sleep(100);
+      assertFalse(future.isDone());
+      stuck.get().resume();
+      future.get(5, TimeUnit.SECONDS);
+    } finally {
+      eventManager.setHandlerDeadline(TestEvent.class, 0, TimeUnit.MILLISECONDS);
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+    }
+  }
+
   @Test
   void testAlwaysAsync() throws Exception {
     final AlwaysAsyncListener listener = new AlwaysAsyncListener();
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class HostnameCacheTest {
+
+  private static final InetAddress FIRST = address(10, 0, 0, 1);
+  private static final InetAddress SECOND = address(10, 0, 0, 2);
+
+  private final AtomicLong nanos = new AtomicLong(System.nanoTime());
+  private final AtomicInteger lookups = new AtomicInteger();
+  private final List<Runnable> pending = new ArrayList<>();
+  private volatile InetAddress answer = FIRST;
+
+  private static InetAddress address(final int a, final int b, final int c, final int d) {
+    try {
+      return InetAddress.getByAddress(new byte[] {(byte) a, (byte) b, (byte) c, (byte) d});
+    } catch (UnknownHostException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private HostnameCache create() {
+    return new HostnameCache(host -> {
+      lookups.incrementAndGet();
+      if (answer == null) {
+        throw new UnknownHostException(host);
+      }
+      return List.of(answer);
+    }, pending::add, 1000, 5000, nanos::get);
+  }
+
+  private void runPending() {
+    List<Runnable> tasks = new ArrayList<>(pending);
+    pending.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  @Test
+  void concurrentLookupsAreCoalesced() throws Exception {
+    HostnameCache cache = create();
+    CompletableFuture<List<InetAddress>> first = cache.resolve("backend");
+    CompletableFuture<List<InetAddress>> second = cache.resolve("backend");
+    assertSame(first, second);
+    assertEquals(1, pending.size());
+
+    runPending();
+    assertEquals(List.of(FIRST), first.get());
+    assertEquals(1, lookups.get());
+  }
+
+  @Test
+  void freshEntryIsServedFromCache() throws Exception {
+    HostnameCache cache = create();
+    cache.resolve("backend");
+    runPending();
+
+    CompletableFuture<List<InetAddress>> cached = cache.resolve("backend");
+    assertTrue(cached.isDone());
+    assertEquals(List.of(FIRST), cached.get());
+    assertTrue(pending.isEmpty());
+  }
+
+  @Test
+  void staleEntryIsServedWhileRefreshing() throws Exception {
+    HostnameCache cache = create();
+    cache.resolve("backend");
+    runPending();
+
+    answer = SECOND;
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+    CompletableFuture<List<InetAddress>> stale = cache.resolve("backend");
+    assertTrue(stale.isDone());
+    assertEquals(List.of(FIRST), stale.get());
+    // Only one refresh is started no matter how many callers see the stale entry.
+    cache.resolve("backend");
+    assertEquals(1, pending.size());
+
+    runPending();
+    assertEquals(List.of(SECOND), cache.resolve("backend").get());
+    assertEquals(2, lookups.get());
+  }
+
+  @Test
+  void failedRefreshKeepsStaleEntry() throws Exception {
+    HostnameCache cache = create();
+    cache.resolve("backend");
+    runPending();
+
+    answer = null;
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+    assertEquals(List.of(FIRST), cache.resolve("backend").get());
+    runPending();
+    assertEquals(List.of(FIRST), cache.resolve("backend").get());
+  }
+
+  @Test
+  void expiredEntryIsResolvedAgain() throws Exception {
+    HostnameCache cache = create();
+    cache.resolve("backend");
+    runPending();
+
+    answer = null;
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    CompletableFuture<List<InetAddress>> expired = cache.resolve("backend");
+    assertFalse(expired.isDone());
+    runPending();
+    ExecutionException e = assertThrows(ExecutionException.class, expired::get);
+    assertInstanceOf(UnknownHostException.class, e.getCause());
+    assertEquals(0, cache.size());
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.plugin.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ThreadPerTaskExecutorTest {
+
+  @Test
+  void limitsConcurrentTasks() throws Exception {
+    ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(Thread::new, 2);
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(5);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    for (int i = 0; i < 5; i++) {
+      executor.execute(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        running.decrementAndGet();
+        done.countDown();
+      });
+    }
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    assertEquals(5, executor.getLiveTasks());
+
+    release.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(2, maxRunning.get());
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(0, executor.getLiveTasks());
+  }
+
+  @Test
+  void shutdownNowInterruptsRunningAndReturnsQueued() throws Exception {
+    ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(Thread::new, 1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    executor.execute(() -> {
+      started.countDown();
+      try {
+        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+    });
+    Runnable queued = () -> { };
+    executor.execute(queued);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    assertEquals(List.of(queued), executor.shutdownNow());
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+  }
+
+  @Test
+  void failingTaskReleasesItsSlot() throws Exception {
+    ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(runnable -> {
+      Thread thread = new Thread(runnable);
+      thread.setUncaughtExceptionHandler((t, e) -> { });
+      return thread;
+    }, 1);
+    executor.execute(() -> {
+      throw new IllegalStateException("expected");
+    });
+    CountDownLatch ran = new CountDownLatch(1);
+    executor.execute(ran::countDown);
+    assertTrue(ran.await(5, TimeUnit.SECONDS));
+    executor.shutdown();
+  }
+}
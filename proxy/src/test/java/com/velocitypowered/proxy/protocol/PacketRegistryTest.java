@@ -31,8 +31,11 @@ import static com.velocitypowered.api.network.ProtocolVersion.MINECRAFT_1_16_2;
 import static com.velocitypowered.api.network.ProtocolVersion.MINECRAFT_1_8;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.velocitypowered.api.network.ProtocolVersion;
@@ -157,4 +160,24 @@ class PacketRegistryTest {
     assertEquals(HandshakePacket.class,
         Objects.requireNonNull(registry.getProtocolRegistry(MINECRAFT_1_14_2).createPacket(0x02)).getClass());
   }
-}
\ No newline at end of file
+
+  @Test
+  void identicalVersionsShareTables() {
+    StateRegistry.PacketRegistry registry = setupRegistry();
+    assertSame(registry.getProtocolRegistry(MINECRAFT_1_12).table,
+        registry.getProtocolRegistry(MINECRAFT_1_14_2).table);
+    assertNotSame(registry.getProtocolRegistry(MINECRAFT_1_11).table,
+        registry.getProtocolRegistry(MINECRAFT_1_12).table);
+    assertFalse(registry.getProtocolRegistry(MINECRAFT_1_12).containsPacketId(-1));
+    assertFalse(registry.getProtocolRegistry(MINECRAFT_1_12).containsPacket(new StatusPingPacket()));
+  }
+
+  @Test
+  void failOnRegisterAfterUse() {
+    StateRegistry.PacketRegistry registry = setupRegistry();
+    registry.getProtocolRegistry(MINECRAFT_1_12);
+    assertThrows(IllegalStateException.class,
+        () -> registry.register(StatusPingPacket.class, StatusPingPacket::new,
+            new StateRegistry.PacketMapping(0x02, MINECRAFT_1_8, null, false)));
+  }
+}
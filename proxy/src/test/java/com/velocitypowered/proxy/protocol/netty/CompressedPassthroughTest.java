@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.natives.compression.JavaVelocityCompressor;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.Test;
+
+class CompressedPassthroughTest {
+
+  private static final int THRESHOLD = 256;
+  private static final int UNKNOWN_PACKET_ID = 1000;
+
+  @Test
+  void unknownPacketIsForwardedWithoutRecompression() {
+    byte[] payload = createPayload(UNKNOWN_PACKET_ID, 1024);
+    byte[] wireFrame = compressedFrame(payload);
+
+    MinecraftCompressDecoder decoder = new MinecraftCompressDecoder(THRESHOLD,
+        JavaVelocityCompressor.FACTORY.create(-1));
+    decoder.setPassthroughDecoder(playDecoder());
+    EmbeddedChannel backend = new EmbeddedChannel(decoder);
+    assertTrue(backend.writeInbound(Unpooled.wrappedBuffer(wireFrame)));
+    CompressedFrame frame = assertInstanceOf(CompressedFrame.class, backend.readInbound());
+    assertEquals(payload.length, frame.uncompressedSize());
+
+    EmbeddedChannel client = new EmbeddedChannel(new MinecraftCompressorAndLengthEncoder(
+        THRESHOLD, JavaVelocityCompressor.FACTORY.create(-1)));
+    assertTrue(client.writeOutbound(frame));
+    ByteBuf out = client.readOutbound();
+    try {
+      assertEquals(wireFrame.length, ProtocolUtils.readVarInt(out));
+      assertArrayEquals(wireFrame, ByteBufUtil.getBytes(out));
+    } finally {
+      out.release();
+      backend.finishAndReleaseAll();
+      client.finishAndReleaseAll();
+    }
+  }
+
+  @Test
+  void passedThroughFrameCanBeInflatedLater() throws Exception {
+    byte[] payload = createPayload(UNKNOWN_PACKET_ID, 1024);
+
+    MinecraftCompressDecoder decoder = new MinecraftCompressDecoder(THRESHOLD,
+        JavaVelocityCompressor.FACTORY.create(-1));
+    decoder.setPassthroughDecoder(playDecoder());
+    EmbeddedChannel backend = new EmbeddedChannel(decoder);
+    assertTrue(backend.writeInbound(Unpooled.wrappedBuffer(compressedFrame(payload))));
+    CompressedFrame frame = assertInstanceOf(CompressedFrame.class, backend.readInbound());
+    ByteBuf inflated = decoder.inflate(backend.alloc(), frame);
+    try {
+      assertArrayEquals(payload, ByteBufUtil.getBytes(inflated));
+      assertEquals(1, frame.refCnt());
+    } finally {
+      inflated.release();
+      frame.release();
+      backend.finishAndReleaseAll();
+    }
+  }
+
+  @Test
+  void frameIsInflatedWhenPassthroughIsDisabled() {
+    byte[] payload = createPayload(UNKNOWN_PACKET_ID, 1024);
+
+    EmbeddedChannel backend = new EmbeddedChannel(new MinecraftCompressDecoder(THRESHOLD,
+        JavaVelocityCompressor.FACTORY.create(-1)));
+    assertTrue(backend.writeInbound(Unpooled.wrappedBuffer(compressedFrame(payload))));
+    ByteBuf inflated = assertInstanceOf(ByteBuf.class, backend.readInbound());
+    try {
+      assertArrayEquals(payload, ByteBufUtil.getBytes(inflated));
+    } finally {
+      inflated.release();
+      backend.finishAndReleaseAll();
+    }
+  }
+
+  @Test
+  void frameBelowReceiverThresholdIsSentUncompressed() {
+    byte[] payload = createPayload(UNKNOWN_PACKET_ID, 300);
+    ByteBuf compressed = Unpooled.wrappedBuffer(deflate(payload));
+
+    EmbeddedChannel client = new EmbeddedChannel(new MinecraftCompressorAndLengthEncoder(
+        THRESHOLD * 4, JavaVelocityCompressor.FACTORY.create(-1)));
+    assertTrue(client.writeOutbound(new CompressedFrame(payload.length, compressed)));
+    ByteBuf out = client.readOutbound();
+    try {
+      assertEquals(payload.length + 1, ProtocolUtils.readVarInt(out));
+      assertEquals(0, ProtocolUtils.readVarInt(out));
+      assertArrayEquals(payload, ByteBufUtil.getBytes(out));
+    } finally {
+      out.release();
+      client.finishAndReleaseAll();
+    }
+  }
+
+  private static MinecraftDecoder playDecoder() {
+    MinecraftDecoder decoder = new MinecraftDecoder(ProtocolUtils.Direction.CLIENTBOUND);
+    decoder.setState(StateRegistry.PLAY);
+    decoder.setProtocolVersion(ProtocolVersion.MAXIMUM_VERSION);
+    return decoder;
+  }
+
+  private static byte[] createPayload(final int packetId, final int length) {
+    ByteBuf buf = Unpooled.buffer(length);
+    ProtocolUtils.writeVarInt(buf, packetId);
+    while (buf.writerIndex() < length) {
+      buf.writeByte(buf.writerIndex() % 7);
+    }
+    return ByteBufUtil.getBytes(buf);
+  }
+
+  private static byte[] compressedFrame(final byte[] payload) {
+    ByteBuf buf = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(buf, payload.length);
+    buf.writeBytes(deflate(payload));
+    return ByteBufUtil.getBytes(buf);
+  }
+
+  private static byte[] deflate(final byte[] payload) {
+    Deflater deflater = new Deflater();
+    deflater.setInput(payload);
+    deflater.finish();
+    byte[] out = new byte[payload.length + 64];
+    int length = deflater.deflate(out);
+    deflater.end();
+    byte[] result = new byte[length];
+    System.arraycopy(out, 0, result, 0, length);
+    return result;
+  }
+}
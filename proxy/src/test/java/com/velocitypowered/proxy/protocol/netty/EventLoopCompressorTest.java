@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.velocitypowered.natives.compression.JavaVelocityCompressor;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.util.concurrent.FastThreadLocal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+import org.junit.jupiter.api.Test;
+
+class EventLoopCompressorTest {
+
+  @Test
+  void closingOneHandleDoesNotAffectOthers() throws Exception {
+    EventLoopCompressor first = new EventLoopCompressor(JavaVelocityCompressor.FACTORY, 6);
+    EventLoopCompressor second = new EventLoopCompressor(JavaVelocityCompressor.FACTORY, 6);
+    byte[] data = data();
+    roundTrip(first, data);
+    int contexts = EventLoopCompressor.liveContexts();
+
+    first.close();
+    assertThrows(IllegalStateException.class, () -> first.deflate(Unpooled.EMPTY_BUFFER,
+        Unpooled.directBuffer()));
+
+    try {
+      roundTrip(second, data);
+    } finally {
+      second.close();
+    }
+
+    // Both handles were served by the context of this thread.
+    assertEquals(contexts, EventLoopCompressor.liveContexts());
+  }
+
+  @Test
+  void failedCallDoesNotLeaveStateBehind() throws Exception {
+    EventLoopCompressor failing = new EventLoopCompressor(JavaVelocityCompressor.FACTORY, 6);
+    EventLoopCompressor next = new EventLoopCompressor(JavaVelocityCompressor.FACTORY, 6);
+    byte[] data = data();
+    roundTrip(next, data);
+    int contexts = EventLoopCompressor.liveContexts();
+
+    ByteBuf source = Unpooled.directBuffer().writeBytes(data);
+    ByteBuf tooSmall = Unpooled.directBuffer(4, 4);
+    ByteBuf compressed = Unpooled.directBuffer();
+    ByteBuf inflated = Unpooled.directBuffer();
+    try {
+      assertThrows(IndexOutOfBoundsException.class, () -> failing.deflate(source, tooSmall));
+
+      source.readerIndex(0);
+      next.deflate(source, compressed);
+      next.inflate(compressed, inflated, data.length);
+      assertArrayEquals(data, ByteBufUtil.getBytes(inflated));
+    } finally {
+      source.release();
+      tooSmall.release();
+      compressed.release();
+      inflated.release();
+      failing.close();
+      next.close();
+    }
+
+    // The broken context was replaced rather than leaked.
+    assertEquals(contexts, EventLoopCompressor.liveContexts());
+  }
+
+  @Test
+  void rejectsInvalidLevel() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new EventLoopCompressor(JavaVelocityCompressor.FACTORY, 13));
+  }
+
+  @Test
+  void createsContextOnFirstUse() throws Exception {
+    AtomicInteger created = new AtomicInteger(-1);
+    AtomicInteger used = new AtomicInteger(-1);
+    // A fresh thread has no context yet, whatever the other tests left behind.
+    Thread thread = new Thread(() -> {
+      int before = EventLoopCompressor.liveContexts();
+      EventLoopCompressor compressor = new EventLoopCompressor(JavaVelocityCompressor.FACTORY, 6);
+      created.set(EventLoopCompressor.liveContexts() - before);
+      try {
+        roundTrip(compressor, data());
+      } catch (DataFormatException e) {
+        throw new AssertionError(e);
+      }
+      used.set(EventLoopCompressor.liveContexts() - before);
+      compressor.close();
+      FastThreadLocal.removeAll();
+    });
+    thread.start();
+    thread.join();
+
+    assertEquals(0, created.get());
+    assertEquals(1, used.get());
+  }
+
+  private static byte[] data() {
+    byte[] data = new byte[4096];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i % 13);
+    }
+    return data;
+  }
+
+  private static void roundTrip(final EventLoopCompressor compressor, final byte[] data)
+      throws DataFormatException {
+    ByteBuf source = Unpooled.directBuffer().writeBytes(data);
+    ByteBuf compressed = Unpooled.directBuffer();
+    ByteBuf inflated = Unpooled.directBuffer();
+    try {
+      compressor.deflate(source, compressed);
+      compressor.inflate(compressed, inflated, data.length);
+      assertArrayEquals(data, ByteBufUtil.getBytes(inflated));
+    } finally {
+      source.release();
+      compressed.release();
+      inflated.release();
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class FlushCoalescingHandlerTest {
+
+  private static final long NO_DELAY_LIMIT = Long.MAX_VALUE;
+
+  @Test
+  void flushesDuringReadAreDeferredUntilReadComplete() {
+    FlushCounter counter = new FlushCounter();
+    EmbeddedChannel channel = new EmbeddedChannel(counter, new FlushCoalescingHandler(256, NO_DELAY_LIMIT));
+
+    channel.pipeline().fireChannelRead(Unpooled.EMPTY_BUFFER);
+    for (int i = 0; i < 10; i++) {
+      channel.writeAndFlush(Unpooled.buffer(1).writeByte(i));
+    }
+    assertEquals(0, counter.flushes);
+
+    channel.pipeline().fireChannelReadComplete();
+    assertEquals(1, counter.flushes);
+    assertEquals(10, channel.outboundMessages().size());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void flushesOutsideReadAreDeferredUntilEndOfTask() {
+    FlushCounter counter = new FlushCounter();
+    EmbeddedChannel channel = new EmbeddedChannel(counter, new FlushCoalescingHandler(256, NO_DELAY_LIMIT));
+
+    for (int i = 0; i < 10; i++) {
+      channel.writeAndFlush(Unpooled.buffer(1).writeByte(i));
+    }
+    assertEquals(0, counter.flushes);
+
+    channel.runPendingTasks();
+    assertEquals(1, counter.flushes);
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void flushIsForcedOnceLimitIsReached() {
+    FlushCounter counter = new FlushCounter();
+    EmbeddedChannel channel = new EmbeddedChannel(counter, new FlushCoalescingHandler(4, NO_DELAY_LIMIT));
+
+    channel.pipeline().fireChannelRead(Unpooled.EMPTY_BUFFER);
+    for (int i = 0; i < 10; i++) {
+      channel.writeAndFlush(Unpooled.buffer(1).writeByte(i));
+    }
+    assertEquals(2, counter.flushes);
+
+    channel.pipeline().fireChannelReadComplete();
+    assertEquals(3, counter.flushes);
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void flushIsForcedOnceDelayHasPassed() throws InterruptedException {
+    FlushCounter counter = new FlushCounter();
+    EmbeddedChannel channel = new EmbeddedChannel(counter,
+        new FlushCoalescingHandler(256, TimeUnit.MILLISECONDS.toNanos(1)));
+
+    channel.pipeline().fireChannelRead(Unpooled.EMPTY_BUFFER);
+    channel.writeAndFlush(Unpooled.buffer(1).writeByte(1));
+    Thread.sleep(5);
+
+    // Still in the same read, but the first flush has waited long enough.
+    channel.pipeline().fireChannelRead(Unpooled.EMPTY_BUFFER);
+    assertEquals(1, counter.flushes);
+
+    channel.writeAndFlush(Unpooled.buffer(1).writeByte(2));
+    Thread.sleep(5);
+    channel.writeAndFlush(Unpooled.buffer(1).writeByte(3));
+    assertEquals(2, counter.flushes);
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void pendingFlushIsPerformedBeforeClose() {
+    FlushCounter counter = new FlushCounter();
+    EmbeddedChannel channel = new EmbeddedChannel(counter, new FlushCoalescingHandler(256, NO_DELAY_LIMIT));
+
+    channel.writeAndFlush(Unpooled.buffer(1).writeByte(1));
+    channel.close();
+    assertEquals(1, counter.flushes);
+    channel.finishAndReleaseAll();
+  }
+
+  private static final class FlushCounter extends ChannelOutboundHandlerAdapter {
+
+    private int flushes;
+
+    @Override
+    public void flush(final ChannelHandlerContext ctx) {
+      flushes++;
+      ctx.flush();
+    }
+  }
+}
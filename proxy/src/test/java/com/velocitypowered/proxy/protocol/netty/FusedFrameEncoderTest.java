@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.api.network.HandshakeIntent;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.natives.compression.JavaVelocityCompressor;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.packet.HandshakePacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+class FusedFrameEncoderTest {
+
+  private static final int THRESHOLD = 64;
+
+  @Test
+  void packetUnderThresholdMatchesUnfusedFrame() {
+    HandshakePacket packet = handshake("localhost");
+    assertArrayEquals(encode(packet, false), encode(packet, true));
+  }
+
+  @Test
+  void packetOverThresholdMatchesUnfusedFrame() {
+    HandshakePacket packet = handshake("a".repeat(THRESHOLD * 4) + ".example.com");
+    assertArrayEquals(encode(packet, false), encode(packet, true));
+  }
+
+  private static HandshakePacket handshake(final String address) {
+    HandshakePacket packet = new HandshakePacket();
+    packet.setProtocolVersion(ProtocolVersion.MAXIMUM_VERSION);
+    packet.setServerAddress(address);
+    packet.setPort(25565);
+    packet.setIntent(HandshakeIntent.LOGIN);
+    return packet;
+  }
+
+  private static byte[] encode(final HandshakePacket packet, final boolean fused) {
+    MinecraftCompressorAndLengthEncoder compressionEncoder = new MinecraftCompressorAndLengthEncoder(
+        THRESHOLD, JavaVelocityCompressor.FACTORY.create(-1));
+    MinecraftEncoder encoder = new MinecraftEncoder(ProtocolUtils.Direction.SERVERBOUND);
+    if (fused) {
+      encoder.setCompressionEncoder(compressionEncoder);
+    }
+
+    EmbeddedChannel channel = new EmbeddedChannel(compressionEncoder, encoder);
+    try {
+      assertTrue(channel.writeOutbound(packet));
+      ByteBuf out = channel.readOutbound();
+      try {
+        return ByteBufUtil.getBytes(out);
+      } finally {
+        out.release();
+      }
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.natives.encryption.JavaVelocityCipher;
+import com.velocitypowered.natives.encryption.VelocityCipher;
+import com.velocitypowered.natives.util.BufferPreference;
+import com.velocitypowered.proxy.network.Connections;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.security.GeneralSecurityException;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+
+class MinecraftCipherEncoderTest {
+
+  private static final byte[] KEY = new byte[16];
+
+  @Test
+  void framesBetweenFlushesAreEncryptedTogether() throws GeneralSecurityException {
+    byte[] first = bytes(100, 1);
+    byte[] second = bytes(37, 2);
+
+    EmbeddedChannel channel = new EmbeddedChannel(new MinecraftCipherEncoder(cipher()));
+    ChannelFuture firstWrite = channel.write(Unpooled.wrappedBuffer(first.clone()));
+    ChannelFuture secondWrite = channel.write(Unpooled.wrappedBuffer(second.clone()));
+    assertNull(channel.readOutbound());
+    channel.flush();
+
+    assertTrue(firstWrite.isSuccess());
+    assertTrue(secondWrite.isSuccess());
+    ByteBuf out = channel.readOutbound();
+    try {
+      assertArrayEquals(encrypt(concat(first, second)), ByteBufUtil.getBytes(out));
+      assertNull(channel.readOutbound());
+    } finally {
+      out.release();
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  @Test
+  void largeFrameIsEncryptedInOrder() throws GeneralSecurityException {
+    byte[] small = bytes(10, 3);
+    byte[] large = bytes(65536, 4);
+
+    EmbeddedChannel channel = new EmbeddedChannel(new MinecraftCipherEncoder(cipher()));
+    channel.write(Unpooled.wrappedBuffer(small.clone()));
+    channel.writeAndFlush(Unpooled.wrappedBuffer(large.clone()));
+
+    ByteBuf smallOut = channel.readOutbound();
+    ByteBuf largeOut = channel.readOutbound();
+    try {
+      assertArrayEquals(encrypt(concat(small, large)),
+          concat(ByteBufUtil.getBytes(smallOut), ByteBufUtil.getBytes(largeOut)));
+    } finally {
+      smallOut.release();
+      largeOut.release();
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  @Test
+  void packetsFlushedOneByOneAreEncryptedTogetherInThePipeline()
+      throws GeneralSecurityException {
+    CountingCipher cipher = new CountingCipher(cipher());
+    EmbeddedChannel channel = pipeline(cipher);
+
+    byte[] expected = new byte[0];
+    for (int i = 0; i < 10; i++) {
+      byte[] packet = bytes(20 + i, i);
+      // MinecraftConnection.write flushes after every packet.
+      channel.writeAndFlush(Unpooled.wrappedBuffer(packet.clone()));
+      expected = concat(expected, frame(packet));
+    }
+    channel.runPendingTasks();
+
+    assertEquals(1, cipher.calls);
+    assertArrayEquals(encrypt(expected), readAll(channel));
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void sharedLargeFrameIsNotEncryptedInPlace() throws GeneralSecurityException {
+    // As PacketBroadcaster does, hand each connection a duplicate of one encoded packet.
+    byte[] packet = bytes(40_000, 5);
+    ByteBuf encoded = Unpooled.directBuffer(packet.length).writeBytes(packet);
+    EmbeddedChannel first = pipeline(cipher());
+    EmbeddedChannel second = pipeline(cipher());
+    first.writeAndFlush(encoded.retainedDuplicate());
+    second.writeAndFlush(encoded.retainedDuplicate());
+    first.runPendingTasks();
+    second.runPendingTasks();
+
+    try {
+      assertArrayEquals(packet, ByteBufUtil.getBytes(encoded));
+      byte[] expected = encrypt(frame(packet));
+      assertArrayEquals(expected, readAll(first));
+      assertArrayEquals(expected, readAll(second));
+    } finally {
+      encoded.release();
+      first.finishAndReleaseAll();
+      second.finishAndReleaseAll();
+    }
+  }
+
+  // Same order as the real pipeline, with the cipher added once encryption is enabled.
+  private static EmbeddedChannel pipeline(final VelocityCipher cipher) {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channel.pipeline()
+        .addLast(Connections.FRAME_ENCODER, MinecraftVarintLengthEncoder.INSTANCE)
+        .addLast(Connections.MINECRAFT_ENCODER,
+            new MinecraftEncoder(ProtocolUtils.Direction.CLIENTBOUND))
+        .addLast(Connections.FLUSH_COALESCER,
+            new FlushCoalescingHandler(256, Long.MAX_VALUE));
+    channel.pipeline().addBefore(Connections.FRAME_ENCODER, Connections.CIPHER_ENCODER,
+        new MinecraftCipherEncoder(cipher));
+    return channel;
+  }
+
+  private static byte[] readAll(final EmbeddedChannel channel) {
+    byte[] result = new byte[0];
+    ByteBuf out;
+    while ((out = channel.readOutbound()) != null) {
+      result = concat(result, ByteBufUtil.getBytes(out));
+      out.release();
+    }
+    return result;
+  }
+
+  private static VelocityCipher cipher() throws GeneralSecurityException {
+    return JavaVelocityCipher.FACTORY.forEncryption(new SecretKeySpec(KEY, "AES"));
+  }
+
+  private static byte[] encrypt(final byte[] data) throws GeneralSecurityException {
+    ByteBuf buf = Unpooled.wrappedBuffer(data.clone());
+    cipher().process(buf);
+    return ByteBufUtil.getBytes(buf);
+  }
+
+  private static byte[] bytes(final int length, final int seed) {
+    byte[] data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) (i * 31 + seed);
+    }
+    return data;
+  }
+
+  private static byte[] frame(final byte[] packet) {
+    ByteBuf buf = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(buf, packet.length);
+    buf.writeBytes(packet);
+    return ByteBufUtil.getBytes(buf);
+  }
+
+  private static byte[] concat(final byte[] a, final byte[] b) {
+    byte[] result = new byte[a.length + b.length];
+    System.arraycopy(a, 0, result, 0, a.length);
+    System.arraycopy(b, 0, result, a.length, b.length);
+    return result;
+  }
+
+  private static final class CountingCipher implements VelocityCipher {
+
+    private final VelocityCipher delegate;
+    private int calls;
+
+    CountingCipher(final VelocityCipher delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void process(final ByteBuf source) {
+      calls++;
+      delegate.process(source);
+    }
+
+    @Override
+    public BufferPreference preferredBufferType() {
+      return delegate.preferredBufferType();
+    }
+
+    @Override
+    public void close() {
+      delegate.close();
+    }
+  }
+}
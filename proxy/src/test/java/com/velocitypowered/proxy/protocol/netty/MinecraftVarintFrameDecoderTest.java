@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.natives.compression.JavaVelocityCompressor;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.util.except.QuietDecoderException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.Random;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.Test;
+
+class MinecraftVarintFrameDecoderTest {
+
+  @Test
+  void emitsEveryFrameInOneRead() {
+    byte[] first = payload(5);
+    byte[] second = payload(300);
+    byte[] third = payload(1);
+
+    EmbeddedChannel channel = channel(ProtocolUtils.Direction.CLIENTBOUND);
+    ByteBuf in = Unpooled.buffer();
+    in.writeBytes(frame(first)).writeByte(0).writeBytes(frame(second)).writeBytes(frame(third));
+    assertTrue(channel.writeInbound(in));
+
+    assertFrame(first, channel.readInbound());
+    assertFrame(second, channel.readInbound());
+    assertFrame(third, channel.readInbound());
+    assertNull(channel.readInbound());
+    assertFalse(channel.finishAndReleaseAll());
+  }
+
+  @Test
+  void reassemblesLargeFrameSplitAcrossReads() {
+    byte[] large = payload(100_000);
+    byte[] small = payload(20);
+    byte[] wire = concat(frame(large), frame(small));
+
+    EmbeddedChannel channel = channel(ProtocolUtils.Direction.CLIENTBOUND);
+    for (int offset = 0; offset < wire.length; offset += 7_000) {
+      int length = Math.min(7_000, wire.length - offset);
+      channel.writeInbound(Unpooled.wrappedBuffer(wire, offset, length));
+    }
+
+    assertFrame(large, channel.readInbound());
+    assertFrame(small, channel.readInbound());
+    assertNull(channel.readInbound());
+    assertFalse(channel.finishAndReleaseAll());
+  }
+
+  @Test
+  void largeCompressedFrameSplitAcrossReadsCanBeInflated() {
+    // Random data barely compresses, so the compressed frame is well past the composite threshold.
+    byte[] payload = new byte[200_000];
+    new Random(42).nextBytes(payload);
+    byte[] wire = frame(compress(payload));
+
+    EmbeddedChannel channel = new EmbeddedChannel(
+        new MinecraftVarintFrameDecoder(ProtocolUtils.Direction.CLIENTBOUND),
+        new MinecraftCompressDecoder(256, JavaVelocityCompressor.FACTORY.create(-1)));
+    for (int offset = 0; offset < wire.length; offset += 7_000) {
+      int length = Math.min(7_000, wire.length - offset);
+      channel.writeInbound(Unpooled.directBuffer(length).writeBytes(wire, offset, length));
+    }
+
+    assertFrame(payload, channel.readInbound());
+    assertNull(channel.readInbound());
+    assertFalse(channel.finishAndReleaseAll());
+  }
+
+  @Test
+  void reassemblesLengthSplitAcrossReads() {
+    byte[] data = payload(200);
+    byte[] wire = frame(data);
+
+    EmbeddedChannel channel = channel(ProtocolUtils.Direction.CLIENTBOUND);
+    assertFalse(channel.writeInbound(Unpooled.wrappedBuffer(wire, 0, 1)));
+    assertTrue(channel.writeInbound(Unpooled.wrappedBuffer(wire, 1, wire.length - 1)));
+
+    assertFrame(data, channel.readInbound());
+    assertFalse(channel.finishAndReleaseAll());
+  }
+
+  @Test
+  void rejectsOversizeHandshakeFrameBeforeBuffering() {
+    EmbeddedChannel channel = channel(ProtocolUtils.Direction.SERVERBOUND);
+    ByteBuf in = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(in, 1 << 20);
+    assertThrows(QuietDecoderException.class, () -> channel.writeInbound(in));
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void acceptsLargeFramesOnceLoggingIn() {
+    byte[] data = payload(10_000);
+    MinecraftVarintFrameDecoder decoder =
+        new MinecraftVarintFrameDecoder(ProtocolUtils.Direction.SERVERBOUND);
+    decoder.setState(StateRegistry.LOGIN);
+
+    EmbeddedChannel channel = new EmbeddedChannel(decoder);
+    assertTrue(channel.writeInbound(Unpooled.wrappedBuffer(frame(data))));
+    assertFrame(data, channel.readInbound());
+    assertFalse(channel.finishAndReleaseAll());
+  }
+
+  @Test
+  void defaultDecoderAppliesNoHandshakeLimit() {
+    byte[] data = payload(10_000);
+    EmbeddedChannel channel = new EmbeddedChannel(new MinecraftVarintFrameDecoder());
+    assertTrue(channel.writeInbound(Unpooled.wrappedBuffer(frame(data))));
+    assertFrame(data, channel.readInbound());
+    assertFalse(channel.finishAndReleaseAll());
+  }
+
+  private static EmbeddedChannel channel(final ProtocolUtils.Direction direction) {
+    return new EmbeddedChannel(new MinecraftVarintFrameDecoder(direction));
+  }
+
+  private static void assertFrame(final byte[] expected, final ByteBuf frame) {
+    try {
+      assertArrayEquals(expected, ByteBufUtil.getBytes(frame));
+    } finally {
+      frame.release();
+    }
+  }
+
+  private static byte[] payload(final int length) {
+    byte[] data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) (i % 251 + 1);
+    }
+    return data;
+  }
+
+  private static byte[] frame(final byte[] payload) {
+    ByteBuf buf = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(buf, payload.length);
+    buf.writeBytes(payload);
+    return ByteBufUtil.getBytes(buf);
+  }
+
+  private static byte[] compress(final byte[] payload) {
+    Deflater deflater = new Deflater();
+    deflater.setInput(payload);
+    deflater.finish();
+    byte[] buffer = new byte[payload.length + 1024];
+    int length = deflater.deflate(buffer);
+    deflater.end();
+
+    ByteBuf buf = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(buf, payload.length);
+    buf.writeBytes(buffer, 0, length);
+    return ByteBufUtil.getBytes(buf);
+  }
+
+  private static byte[] concat(final byte[] a, final byte[] b) {
+    byte[] result = new byte[a.length + b.length];
+    System.arraycopy(a, 0, result, 0, a.length);
+    System.arraycopy(b, 0, result, a.length, b.length);
+    return result;
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.connection.MinecraftSessionHandler;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.Test;
+
+class PacketSizeHintsTest {
+
+  private static final ProtocolUtils.Direction DIRECTION = ProtocolUtils.Direction.CLIENTBOUND;
+  private static final ProtocolVersion VERSION = ProtocolVersion.MAXIMUM_VERSION;
+
+  @Test
+  void unseenPacketUsesDefaultSize() {
+    assertEquals(PacketSizeHints.DEFAULT_SIZE,
+        PacketSizeHints.initialCapacity(new UnseenPacket(), DIRECTION, VERSION));
+  }
+
+  @Test
+  void hintGrowsImmediatelyAndShrinksSlowly() {
+    LearnedPacket packet = new LearnedPacket();
+    PacketSizeHints.record(packet, 1000, true);
+    assertEquals(1000, PacketSizeHints.initialCapacity(packet, DIRECTION, VERSION));
+
+    PacketSizeHints.record(packet, 104, false);
+    assertEquals(944, PacketSizeHints.initialCapacity(packet, DIRECTION, VERSION));
+
+    PacketSizeHints.record(packet, 2000, false);
+    assertEquals(2000, PacketSizeHints.initialCapacity(packet, DIRECTION, VERSION));
+  }
+
+  @Test
+  void packetEstimateTakesPrecedence() {
+    EstimatedPacket packet = new EstimatedPacket();
+    PacketSizeHints.record(packet, 1000, false);
+    assertEquals(45, PacketSizeHints.initialCapacity(packet, DIRECTION, VERSION));
+  }
+
+  private abstract static class TestPacket implements MinecraftPacket {
+
+    @Override
+    public void decode(final ByteBuf buf, final ProtocolUtils.Direction direction,
+        final ProtocolVersion protocolVersion) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void encode(final ByteBuf buf, final ProtocolUtils.Direction direction,
+        final ProtocolVersion protocolVersion) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean handle(final MinecraftSessionHandler handler) {
+      return false;
+    }
+  }
+
+  private static final class UnseenPacket extends TestPacket {
+  }
+
+  private static final class LearnedPacket extends TestPacket {
+  }
+
+  private static final class EstimatedPacket extends TestPacket {
+
+    @Override
+    public int encodedSizeHint(final ProtocolUtils.Direction direction,
+        final ProtocolVersion version) {
+      return 40;
+    }
+  }
+}
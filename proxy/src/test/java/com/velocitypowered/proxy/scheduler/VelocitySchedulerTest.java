@@ -18,13 +18,24 @@
 package com.velocitypowered.proxy.scheduler;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.plugin.PluginContainer;
+import com.velocitypowered.api.plugin.PluginManager;
 import com.velocitypowered.api.scheduler.ScheduledTask;
 import com.velocitypowered.api.scheduler.TaskStatus;
 import com.velocitypowered.proxy.scheduler.VelocityScheduler.VelocityTask;
 import com.velocitypowered.proxy.testutil.FakePluginManager;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -133,4 +144,99 @@ class VelocitySchedulerTest {
 
   }
 
+  @Test
+  void tracksTaskCounts() {
+    FakePluginManager pluginManager = new FakePluginManager();
+    VelocityScheduler scheduler = new VelocityScheduler(pluginManager);
+    PluginContainer container = pluginManager.fromInstance(FakePluginManager.PLUGIN_A)
+        .orElseThrow();
+    List<ScheduledTask> tasks = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      tasks.add(scheduler.buildTask(FakePluginManager.PLUGIN_A, () -> { })
+          .delay(100, TimeUnit.SECONDS)
+          .schedule());
+    }
+    assertEquals(10_000, scheduler.getTaskCount(container));
+    assertEquals(10_000, scheduler.tasksByPlugin(FakePluginManager.PLUGIN_A).size());
+
+    tasks.forEach(ScheduledTask::cancel);
+    assertEquals(0, scheduler.getTaskCount(container));
+    assertTrue(scheduler.tasksByPlugin(FakePluginManager.PLUGIN_A).isEmpty());
+  }
+
+  @Test
+  void countsOverruns() throws Exception {
+    FakePluginManager pluginManager = new FakePluginManager();
+    VelocityScheduler scheduler = new VelocityScheduler(pluginManager);
+    PluginContainer container = pluginManager.fromInstance(FakePluginManager.PLUGIN_A)
+        .orElseThrow();
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ScheduledTask task = scheduler.buildTask(FakePluginManager.PLUGIN_A, () -> {
+      running.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }).delay(1, TimeUnit.HOURS).repeat(1, TimeUnit.HOURS).schedule();
+
+    // Fire the task by hand rather than waiting for the timer.
+    ((VelocityTask) task).run(null);
+    running.await();
+    assertEquals(0, scheduler.getTaskOverruns(container));
+    ((VelocityTask) task).run(null);
+    assertEquals(1, scheduler.getTaskOverruns(container));
+
+    task.cancel();
+    release.countDown();
+    assertEquals(0, scheduler.getTaskCount(container));
+  }
+
+  @Test
+  void countsOverrunsOfQueuedRuns() {
+    Object plugin = new Object();
+    List<Runnable> queued = new ArrayList<>();
+    ExecutorService executor = mock(ExecutorService.class);
+    doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(executor).execute(any());
+    PluginContainer container = mock(PluginContainer.class);
+    when(container.getExecutorService()).thenReturn(executor);
+    PluginManager pluginManager = mock(PluginManager.class);
+    when(pluginManager.fromInstance(plugin)).thenReturn(Optional.of(container));
+
+    VelocityScheduler scheduler = new VelocityScheduler(pluginManager);
+    ScheduledTask task = scheduler.buildTask(plugin, () -> { })
+        .delay(1, TimeUnit.HOURS).repeat(1, TimeUnit.HOURS).schedule();
+    ((VelocityTask) task).run(null);
+    ((VelocityTask) task).run(null);
+    assertEquals(2, queued.size());
+    assertEquals(1, scheduler.getTaskOverruns(container));
+
+    queued.forEach(Runnable::run);
+    ((VelocityTask) task).run(null);
+    assertEquals(1, scheduler.getTaskOverruns(container));
+    task.cancel();
+  }
+
+  @Test
+  void cancelInterruptsOverlappingRuns() throws Exception {
+    VelocityScheduler scheduler = new VelocityScheduler(new FakePluginManager());
+    CountDownLatch running = new CountDownLatch(2);
+    CountDownLatch interrupted = new CountDownLatch(2);
+    ScheduledTask task = scheduler.buildTask(FakePluginManager.PLUGIN_A, () -> {
+      running.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+    }).delay(1, TimeUnit.HOURS).repeat(1, TimeUnit.HOURS).schedule();
+
+    ((VelocityTask) task).run(null);
+    ((VelocityTask) task).run(null);
+    running.await();
+    task.cancel();
+    interrupted.await();
+    assertEquals(TaskStatus.CANCELLED, task.status());
+  }
 }
\ No newline at end of file
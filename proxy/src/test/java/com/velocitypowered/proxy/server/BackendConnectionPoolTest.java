@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.velocitypowered.proxy.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BackendConnectionPoolTest {
+
+  private static final String NAME = "pool-test";
+
+  private final List<Channel> accepted = new CopyOnWriteArrayList<>();
+  private volatile int readTimeout = 30_000;
+  private EventLoopGroup group;
+  private EventLoop eventLoop;
+  private Channel listener;
+  private VelocityRegisteredServer target;
+  private BackendConnectionPool pool;
+
+  @BeforeEach
+  void setUp() {
+    System.setProperty("velocity.backend-pool-size." + NAME, "2");
+    group = new NioEventLoopGroup(1);
+    eventLoop = group.next();
+    listener = new ServerBootstrap()
+        .group(group)
+        .channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<>() {
+          @Override
+          protected void initChannel(final Channel ch) {
+            accepted.add(ch);
+          }
+        })
+        .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+        .syncUninterruptibly()
+        .channel();
+    target = new VelocityRegisteredServer(null,
+        new ServerInfo(NAME, (InetSocketAddress) listener.localAddress()));
+
+    VelocityConfiguration configuration = mock(VelocityConfiguration.class);
+    when(configuration.getReadTimeout()).thenAnswer(invocation -> readTimeout);
+    VelocityServer server = mock(VelocityServer.class);
+    when(server.getConfiguration()).thenReturn(configuration);
+    when(server.getServer(NAME)).thenReturn(Optional.<RegisteredServer>of(target));
+    when(server.getBackendChannelInitializer()).thenReturn(new ChannelInitializer<>() {
+      @Override
+      protected void initChannel(final Channel ch) {
+      }
+    });
+    when(server.createBootstrap(any(), any())).thenAnswer(invocation -> new Bootstrap()
+        .group(invocation.<EventLoopGroup>getArgument(0))
+        .channel(NioSocketChannel.class));
+    pool = new BackendConnectionPool(server);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdown();
+    listener.close().syncUninterruptibly();
+    group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    System.clearProperty("velocity.backend-pool-size." + NAME);
+  }
+
+  @Test
+  void refillsAfterHandingOutChannel() throws Exception {
+    fillPool();
+
+    Channel channel = null;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (channel == null && System.nanoTime() < deadline) {
+      channel = poll();
+      Thread.sleep(10);
+    }
+    assertNotNull(channel);
+    assertTrue(channel.isActive());
+
+    // Taking a channel opens a replacement straight away.
+    await(() -> accepted.size() == 3);
+    channel.close();
+  }
+
+  @Test
+  void expiresIdleChannels() throws Exception {
+    // Channels are kept for at most half the read timeout.
+    readTimeout = 100;
+    fillPool();
+    Thread.sleep(200);
+
+    long expired = BackendConnectionPool.expired();
+    assertNull(poll());
+    assertEquals(expired + 2, BackendConnectionPool.expired());
+    await(() -> accepted.stream().noneMatch(Channel::isActive));
+  }
+
+  @Test
+  void doesNotHandOutClosedChannel() throws Exception {
+    fillPool();
+    Thread.sleep(200);
+
+    // The backend hangs up on both idle channels.
+    for (Channel channel : accepted) {
+      channel.close().syncUninterruptibly();
+    }
+    Thread.sleep(200);
+
+    long hits = BackendConnectionPool.hits();
+    assertNull(poll());
+    assertEquals(hits, BackendConnectionPool.hits());
+  }
+
+  private void fillPool() throws Exception {
+    // Enough recent demand for the pool to aim for its maximum size of two.
+    for (int i = 0; i < 8; i++) {
+      assertNull(poll());
+    }
+    pool.maintain();
+    await(() -> accepted.size() == 2);
+  }
+
+  private Channel poll() throws Exception {
+    return eventLoop.submit(() -> pool.poll(target, eventLoop)).get(10, TimeUnit.SECONDS);
+  }
+
+  private static void await(final BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean()) {
+      assertFalse(System.nanoTime() > deadline, "timed out");
+      Thread.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class BackendHealthTest {
+
+  private final AtomicLong nanos = new AtomicLong(System.nanoTime());
+
+  private BackendHealth create() {
+    return new BackendHealth(3, 1000, nanos::get);
+  }
+
+  @Test
+  void opensAfterConsecutiveFailures() {
+    BackendHealth health = create();
+    health.recordFailure();
+    health.recordFailure();
+    assertTrue(health.tryAcquire());
+    health.recordFailure();
+    assertEquals(BackendHealth.Status.OPEN, health.getStatus());
+    assertFalse(health.isAvailable());
+    assertFalse(health.tryAcquire());
+  }
+
+  @Test
+  void successResetsFailures() {
+    BackendHealth health = create();
+    health.recordFailure();
+    health.recordFailure();
+    health.recordSuccess(TimeUnit.MILLISECONDS.toNanos(5));
+    health.recordFailure();
+    assertEquals(BackendHealth.Status.CLOSED, health.getStatus());
+    assertEquals(1, health.getConsecutiveFailures());
+    assertEquals(1, health.getConnectLatency().count());
+  }
+
+  @Test
+  void letsOneProbeThroughOnceOpenTimeElapsed() {
+    BackendHealth health = create();
+    for (int i = 0; i < 3; i++) {
+      health.recordFailure();
+    }
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertTrue(health.isAvailable());
+    assertTrue(health.tryAcquire());
+    assertEquals(BackendHealth.Status.HALF_OPEN, health.getStatus());
+    assertFalse(health.tryAcquire());
+
+    health.recordSuccess();
+    assertEquals(BackendHealth.Status.CLOSED, health.getStatus());
+    assertTrue(health.tryAcquire());
+  }
+
+  @Test
+  void failedProbeReopens() {
+    BackendHealth health = create();
+    for (int i = 0; i < 3; i++) {
+      health.recordFailure();
+    }
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertTrue(health.tryAcquire());
+    health.recordFailure();
+    assertEquals(BackendHealth.Status.OPEN, health.getStatus());
+    assertFalse(health.tryAcquire());
+  }
+
+  @Test
+  void lostProbeIsRetried() {
+    BackendHealth health = create();
+    for (int i = 0; i < 3; i++) {
+      health.recordFailure();
+    }
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertTrue(health.tryAcquire());
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertTrue(health.tryAcquire());
+  }
+
+  @Test
+  void lastResortProbesOpenCircuit() {
+    BackendHealth health = create();
+    for (int i = 0; i < 3; i++) {
+      health.recordFailure();
+    }
+    assertFalse(health.tryAcquire());
+    assertTrue(health.tryAcquire(true));
+    assertEquals(BackendHealth.Status.HALF_OPEN, health.getStatus());
+    assertFalse(health.tryAcquire());
+
+    health.recordSuccess();
+    assertEquals(BackendHealth.Status.CLOSED, health.getStatus());
+  }
+
+  @Test
+  void zeroThresholdDisablesBreaker() {
+    BackendHealth health = new BackendHealth(0, 1000, nanos::get);
+    for (int i = 0; i < 10; i++) {
+      health.recordFailure();
+    }
+    assertEquals(BackendHealth.Status.CLOSED, health.getStatus());
+    assertTrue(health.tryAcquire());
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import io.netty.bootstrap.Bootstrap;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+class BackendStatusPollerTest {
+
+  private static final ProtocolVersion MODERN = ProtocolVersion.MINECRAFT_1_21;
+  private static final ProtocolVersion OLDER = ProtocolVersion.MINECRAFT_1_20_3;
+
+  private final AtomicLong nanos = new AtomicLong(System.nanoTime());
+  private final VelocityRegisteredServer lobby = mock(VelocityRegisteredServer.class);
+  private final BackendStatusPoller poller;
+
+  BackendStatusPollerTest() {
+    VelocityServer server = mock(VelocityServer.class);
+    when(server.getConfiguration()).thenReturn(mock(VelocityConfiguration.class));
+    when(server.createBootstrap(any())).thenReturn(mock(Bootstrap.class));
+    when(server.getServer("lobby")).thenReturn(Optional.of(lobby));
+    when(lobby.getServerInfo()).thenReturn(
+        new ServerInfo("lobby", InetSocketAddress.createUnresolved("localhost", 25566)));
+    this.poller = new BackendStatusPoller(server, nanos::get);
+  }
+
+  private static ServerPing ping(final ProtocolVersion version) {
+    return ServerPing.builder()
+        .version(new ServerPing.Version(version.getProtocol(), version.getVersionIntroducedIn()))
+        .description(Component.text("lobby"))
+        .build();
+  }
+
+  private void answer(final ProtocolVersion version, final CompletableFuture<ServerPing> result) {
+    when(lobby.ping(any(Bootstrap.class), eq(version))).thenReturn(result);
+  }
+
+  @Test
+  void keepsSnapshotPerProtocolVersion() {
+    ServerPing modern = ping(MODERN);
+    ServerPing older = ping(OLDER);
+    answer(MODERN, CompletableFuture.completedFuture(modern));
+    answer(OLDER, CompletableFuture.completedFuture(older));
+
+    // The first request for each version pings the backend, later ones use the snapshot.
+    assertSame(modern, poller.getLatestPing("lobby", MODERN).join());
+    assertSame(older, poller.getLatestPing("lobby", OLDER).join());
+    assertSame(modern, poller.getLatestPing("lobby", MODERN).join());
+    assertSame(older, poller.getLatestPing("lobby", OLDER).join());
+    verify(lobby, times(1)).ping(any(Bootstrap.class), eq(MODERN));
+    verify(lobby, times(1)).ping(any(Bootstrap.class), eq(OLDER));
+
+    Map<ProtocolVersion, BackendStatusPoller.BackendStatus> statuses =
+        poller.getStatuses().get("lobby");
+    assertEquals(2, statuses.size());
+    assertSame(modern, statuses.get(MODERN).ping());
+    assertSame(older, statuses.get(OLDER).ping());
+  }
+
+  @Test
+  void expiredSnapshotIsNotServed() {
+    answer(MODERN, CompletableFuture.completedFuture(ping(MODERN)));
+    poller.getLatestPing("lobby", MODERN).join();
+
+    nanos.addAndGet(BackendStatusPoller.MAX_AGE_NANOS);
+    assertFalse(poller.getLatestPing("lobby", MODERN).isCompletedExceptionally());
+    assertEquals(TimeUnit.NANOSECONDS.toMillis(BackendStatusPoller.MAX_AGE_NANOS),
+        poller.getAgeMillis(poller.getStatuses().get("lobby").get(MODERN)));
+
+    nanos.addAndGet(1);
+    assertTrue(poller.getLatestPing("lobby", MODERN).isCompletedExceptionally());
+  }
+
+  @Test
+  void failedPollIsNotServed() {
+    answer(MODERN, CompletableFuture.failedFuture(new RuntimeException("offline")));
+    assertTrue(poller.getLatestPing("lobby", MODERN).isCompletedExceptionally());
+    assertTrue(poller.getLatestPing("lobby", MODERN).isCompletedExceptionally());
+
+    BackendStatusPoller.BackendStatus status = poller.getStatuses().get("lobby").get(MODERN);
+    assertEquals(1, status.consecutiveFailures());
+    assertEquals(-1, poller.getAgeMillis(status));
+  }
+}
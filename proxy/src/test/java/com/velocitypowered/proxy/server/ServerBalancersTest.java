@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ServerBalancersTest {
+
+  private static RegisteredServer server(final String name, final int players) {
+    final var server = mock(RegisteredServer.class);
+    when(server.getServerInfo()).thenReturn(
+        new ServerInfo(name, InetSocketAddress.createUnresolved("localhost", 25565)));
+    when(server.getPlayersConnected()).thenReturn(
+        Collections.<Player>nCopies(players, mock(Player.class)));
+    return server;
+  }
+
+  @Test
+  void emptyCandidates() {
+    assertNull(ServerBalancers.LEAST_CONNECTIONS.select(List.of()));
+    assertNull(ServerBalancers.MOST_CONNECTIONS.select(List.of()));
+    assertNull(ServerBalancers.POWER_OF_TWO_CHOICES.select(List.of()));
+    assertNull(ServerBalancers.WEIGHTED.select(List.of()));
+  }
+
+  @Test
+  void leastConnectionsPrefersEarlierServerOnTie() {
+    final RegisteredServer first = server("first", 3);
+    final RegisteredServer second = server("second", 1);
+    final RegisteredServer third = server("third", 1);
+    assertSame(second, ServerBalancers.LEAST_CONNECTIONS.select(List.of(first, second, third)));
+  }
+
+  @Test
+  void mostConnections() {
+    final RegisteredServer first = server("first", 3);
+    final RegisteredServer second = server("second", 5);
+    assertSame(second, ServerBalancers.MOST_CONNECTIONS.select(List.of(first, second)));
+  }
+
+  @Test
+  void powerOfTwoChoicesNeverPicksTheBusiestOfTwo() {
+    final RegisteredServer idle = server("idle", 0);
+    final RegisteredServer busy = server("busy", 10);
+    for (int i = 0; i < 100; i++) {
+      assertSame(idle, ServerBalancers.POWER_OF_TWO_CHOICES.select(List.of(busy, idle)));
+    }
+  }
+
+  @Test
+  void powerOfTwoChoicesAvoidsTheBusiestServer() {
+    final RegisteredServer busy = server("busy", 100);
+    final List<RegisteredServer> candidates = List.of(busy, server("a", 1), server("b", 2));
+    for (int i = 0; i < 100; i++) {
+      assertNotSame(busy, ServerBalancers.POWER_OF_TWO_CHOICES.select(candidates));
+    }
+  }
+
+  @Test
+  void weightedAccountsForServerWeight() {
+    System.setProperty("velocity.server-weight.large", "4");
+    try {
+      final RegisteredServer small = server("small", 2);
+      final RegisteredServer large = server("large", 6);
+      assertSame(large, ServerBalancers.WEIGHTED.select(List.of(small, large)));
+    } finally {
+      System.clearProperty("velocity.server-weight.large");
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.network.TransportType;
+import com.velocitypowered.proxy.util.AddressUtil;
+import org.junit.jupiter.api.Test;
+
+class ServerMapTest {
+
+  private static final ServerInfo UNIX_SERVER =
+      new ServerInfo("lobby", AddressUtil.parseAddress("unix:/run/minecraft/lobby.sock"));
+
+  private static ServerMap create(final TransportType transport) {
+    VelocityServer server = mock(VelocityServer.class);
+    when(server.getTransportType()).thenReturn(transport);
+    return new ServerMap(server);
+  }
+
+  @Test
+  void rejectsDomainSocketServerWithoutSupportingTransport() {
+    ServerMap map = create(TransportType.NIO);
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> map.register(UNIX_SERVER));
+    assertTrue(e.getMessage().contains("-Dvelocity.transport=epoll"));
+    assertEquals(0, map.getAllServers().size());
+  }
+
+  @Test
+  void allowsDomainSocketServerWithSupportingTransport() {
+    ServerMap map = create(TransportType.EPOLL);
+    assertEquals(UNIX_SERVER, map.createRawRegisteredServer(UNIX_SERVER).getServerInfo());
+  }
+
+  @Test
+  void allowsTcpServerWithAnyTransport() {
+    ServerMap map = create(TransportType.NIO);
+    ServerInfo info = new ServerInfo("hub", AddressUtil.parseAddress("127.0.0.1:25566"));
+    assertEquals(info, map.createRawRegisteredServer(info).getServerInfo());
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.channel.unix.DomainSocketAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import org.junit.jupiter.api.Test;
+
+class AddressUtilTest {
+
+  @Test
+  void parsesHostAndPort() {
+    InetSocketAddress address = AddressUtil.parseAddress("127.0.0.1:25566");
+    assertEquals("127.0.0.1", address.getHostString());
+    assertEquals(25566, address.getPort());
+    assertFalse(AddressUtil.isDomainSocket(address));
+    assertSame(address, AddressUtil.toConnectAddress(address));
+    assertSame(address, AddressUtil.toHandshakeAddress(address));
+  }
+
+  @Test
+  void parsesDomainSocket() {
+    InetSocketAddress address = AddressUtil.parseAddress("unix:/run/minecraft/lobby.sock");
+    assertTrue(AddressUtil.isDomainSocket(address));
+
+    SocketAddress target = AddressUtil.toConnectAddress(address);
+    assertEquals("/run/minecraft/lobby.sock", ((DomainSocketAddress) target).path());
+
+    InetSocketAddress handshake = AddressUtil.toHandshakeAddress(address);
+    assertEquals("localhost", handshake.getHostString());
+    assertEquals(25565, handshake.getPort());
+  }
+
+  @Test
+  void rejectsEmptyDomainSocketPath() {
+    assertThrows(IllegalArgumentException.class, () -> AddressUtil.parseAddress("unix:"));
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2026 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class LoginAdmissionControllerTest {
+
+  private final AtomicLong nanos = new AtomicLong(System.nanoTime());
+
+  private LoginAdmissionController create(final long ratelimitMillis, final int maxInFlight,
+      final int queueSize) {
+    return new LoginAdmissionController(ratelimitMillis, 1, 4, 2, maxInFlight, queueSize, 64,
+        nanos::get);
+  }
+
+  private static InetAddress address(final String address) throws UnknownHostException {
+    return InetAddress.getByName(address);
+  }
+
+  @Test
+  void attemptZero() throws Exception {
+    LoginAdmissionController controller = create(0, 1, 1);
+    assertTrue(controller.attempt(address("127.0.0.1")));
+    assertTrue(controller.attempt(address("127.0.0.1")));
+  }
+
+  @Test
+  void attemptRefillsPerAddress() throws Exception {
+    LoginAdmissionController controller = create(1000, 1, 1);
+    assertTrue(controller.attempt(address("127.0.0.1")));
+    assertFalse(controller.attempt(address("127.0.0.1")));
+    assertTrue(controller.attempt(address("10.0.0.1")));
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+    assertTrue(controller.attempt(address("127.0.0.1")));
+  }
+
+  @Test
+  void attemptLimitsSubnet() throws Exception {
+    LoginAdmissionController controller = create(1000, 1, 1);
+    for (int i = 1; i <= 4; i++) {
+      assertTrue(controller.attempt(address("192.168.1." + i)));
+    }
+    assertFalse(controller.attempt(address("192.168.1.5")));
+    assertTrue(controller.attempt(address("192.168.2.1")));
+    // The subnet earns two logins per period.
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+    assertTrue(controller.attempt(address("192.168.1.6")));
+    assertFalse(controller.attempt(address("192.168.1.7")));
+  }
+
+  @Test
+  void noisyAddressDoesNotUseUpSubnet() throws Exception {
+    LoginAdmissionController controller = create(1000, 1, 1);
+    assertTrue(controller.attempt(address("192.168.1.1")));
+    for (int i = 0; i < 10; i++) {
+      assertFalse(controller.attempt(address("192.168.1.1")));
+    }
+    // Only the first attempt counted against the subnet, which holds four logins.
+    for (int i = 2; i <= 4; i++) {
+      assertTrue(controller.attempt(address("192.168.1." + i)));
+    }
+  }
+
+  @Test
+  void attemptLimitsIpv6Subnet() throws Exception {
+    LoginAdmissionController controller = create(1000, 1, 1);
+    for (int i = 1; i <= 4; i++) {
+      assertTrue(controller.attempt(address("2001:db8::" + i)));
+    }
+    assertFalse(controller.attempt(address("2001:db8::5")));
+    assertTrue(controller.attempt(address("2001:db9::1")));
+  }
+
+  @Test
+  void admitQueuesInOrder() {
+    LoginAdmissionController controller = create(0, 1, 4);
+    List<Integer> admitted = new ArrayList<>();
+    List<Runnable> releases = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      int id = i;
+      assertTrue(controller.admit(release -> {
+        admitted.add(id);
+        releases.add(release);
+      }));
+    }
+    assertEquals(List.of(0), admitted);
+    assertEquals(1, controller.inFlight());
+    assertEquals(2, controller.waiting());
+
+    releases.get(0).run();
+    // Releasing twice must not hand out a second slot.
+    releases.get(0).run();
+    assertEquals(List.of(0, 1), admitted);
+    assertEquals(1, controller.inFlight());
+
+    releases.get(1).run();
+    releases.get(2).run();
+    assertEquals(List.of(0, 1, 2), admitted);
+    assertEquals(0, controller.inFlight());
+    assertEquals(0, controller.waiting());
+  }
+
+  @Test
+  void admitRejectsWhenQueueFull() {
+    LoginAdmissionController controller = create(0, 1, 1);
+    assertTrue(controller.admit(release -> { }));
+    assertTrue(controller.admit(release -> { }));
+    assertFalse(controller.admit(release -> { }));
+    assertEquals(1, controller.waiting());
+  }
+
+  @Test
+  void admitReleasesSlotWhenCallbackFails() {
+    LoginAdmissionController controller = create(0, 1, 1);
+    assertTrue(controller.admit(release -> {
+      throw new IllegalStateException("expected");
+    }));
+    assertEquals(0, controller.inFlight());
+    List<Runnable> releases = new ArrayList<>();
+    assertTrue(controller.admit(releases::add));
+    assertEquals(1, releases.size());
+  }
+}